@@ -21,6 +21,7 @@ import io.cloudslang.lang.entities.SensitivityLevel;
 import io.cloudslang.lang.entities.SystemProperty;
 import io.cloudslang.lang.entities.bindings.values.Value;
 import io.cloudslang.lang.runtime.env.RunEnvironment;
+import io.cloudslang.lang.runtime.events.LanguageEventSubscriptions;
 import io.cloudslang.score.api.Score;
 import io.cloudslang.score.api.TriggeringProperties;
 import io.cloudslang.score.events.EventBus;
@@ -181,12 +182,14 @@ public class SlangImpl implements Slang {
 
     @Override
     public void subscribeOnEvents(ScoreEventListener eventListener, Set<String> eventTypes) {
+        LanguageEventSubscriptions.subscribe(eventListener, eventTypes);
         eventBus.subscribe(eventListener, eventTypes);
     }
 
     @Override
     public void unSubscribeOnEvents(ScoreEventListener eventListener) {
         eventBus.unsubscribe(eventListener);
+        LanguageEventSubscriptions.unsubscribe(eventListener);
     }
 
     @Override
@@ -0,0 +1,49 @@
+/*******************************************************************************
+ * (c) Copyright 2016 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.lang.commons.services.api;
+
+import io.cloudslang.lang.compiler.SlangSource;
+
+import java.io.File;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Discovers and loads CloudSlang sources from content folders.
+ * Directories are walked once and files are read in parallel with a bounded number of threads.
+ */
+public interface SlangSourceLoadingService {
+    String SLANG_SOURCE_LOADER_THREAD_COUNT = "cslang.source.loader.thread.count";
+
+    /**
+     * @return the canonical files with one of the given extensions under the directory
+     */
+    List<File> listFiles(final File directory, final String[] extensions, final boolean recursive);
+
+    /**
+     * @return the canonical .sl files under the directory, excluding .prop.sl files
+     */
+    List<File> listSlangFiles(final File directory, final boolean recursive);
+
+    /**
+     * @return lazy sources, see {@link SlangSource#lazyFromCanonicalPath(java.nio.file.Path)}
+     */
+    Set<SlangSource> loadSlangSourcesFromFolders(final List<String> folders);
+
+    /**
+     * Applies the loader to the files in parallel, the loader must be thread safe.
+     * If loading fails for several files, the exception of the first one in iteration order is thrown.
+     *
+     * @return the loaded values, in the iteration order of the files
+     */
+    <T> List<T> loadFiles(final Collection<File> files, final Function<File, T> fileLoader);
+}
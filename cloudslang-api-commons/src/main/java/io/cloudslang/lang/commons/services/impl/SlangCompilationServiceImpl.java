@@ -12,6 +12,7 @@ package io.cloudslang.lang.commons.services.impl;
 import io.cloudslang.lang.api.Slang;
 import io.cloudslang.lang.commons.services.api.CompilationHelper;
 import io.cloudslang.lang.commons.services.api.SlangCompilationService;
+import io.cloudslang.lang.commons.services.api.SlangSourceLoadingService;
 import io.cloudslang.lang.compiler.Extension;
 import io.cloudslang.lang.compiler.PrecompileStrategy;
 import io.cloudslang.lang.compiler.SlangSource;
@@ -19,12 +20,8 @@ import io.cloudslang.lang.compiler.modeller.result.CompilationModellingResult;
 import java.io.File;
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
-import org.apache.commons.io.FileUtils;
-import org.apache.commons.io.filefilter.IOFileFilter;
-import org.apache.commons.io.filefilter.TrueFileFilter;
 import org.apache.commons.lang3.Validate;
 import org.apache.log4j.Logger;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -38,6 +35,9 @@ public class SlangCompilationServiceImpl implements SlangCompilationService {
     @Autowired
     private Slang slang;
 
+    @Autowired
+    private SlangSourceLoadingService slangSourceLoadingService;
+
     @Override
     public List<CompilationModellingResult> compileFolders(final List<String> foldersPaths,
                                                            final CompilationHelper compilationHelper) {
@@ -75,32 +75,11 @@ public class SlangCompilationServiceImpl implements SlangCompilationService {
 
     @Override
     public Set<SlangSource> getSourcesFromFolders(final List<String> dependencies) {
-        Set<SlangSource> dependencySources = new HashSet<>();
-        for (String dependency : dependencies) {
-            Collection<File> dependenciesFiles = listSlangFiles(new File(dependency), true);
-            for (File dependencyCandidate : dependenciesFiles) {
-                SlangSource source = SlangSource.fromFile(dependencyCandidate);
-                dependencySources.add(source);
-            }
-        }
-        return dependencySources;
+        return slangSourceLoadingService.loadSlangSourcesFromFolders(dependencies);
     }
 
     @Override
     public Collection<File> listSlangFiles(File directory, boolean recursive) {
-        Validate.isTrue(directory.isDirectory(), "Parameter '" + directory.getPath() +
-                INVALID_DIRECTORY_ERROR_MESSAGE_SUFFIX);
-        return FileUtils.listFiles(directory,
-                new IOFileFilter() {
-                    @Override
-                    public boolean accept(File file) {
-                        return Extension.SL == Extension.findExtension(file.getName());
-                    }
-
-                    @Override
-                    public boolean accept(File file, String name) {
-                        return Extension.SL == Extension.findExtension(name);
-                    }
-                }, recursive ? TrueFileFilter.INSTANCE : null);
+        return slangSourceLoadingService.listSlangFiles(directory, recursive);
     }
 }
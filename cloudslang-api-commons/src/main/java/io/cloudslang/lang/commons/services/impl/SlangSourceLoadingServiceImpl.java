@@ -0,0 +1,215 @@
+/*******************************************************************************
+ * (c) Copyright 2016 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.lang.commons.services.impl;
+
+import io.cloudslang.lang.commons.services.api.SlangSourceLoadingService;
+import io.cloudslang.lang.compiler.Extension;
+import io.cloudslang.lang.compiler.SlangSource;
+import org.apache.commons.lang3.Validate;
+import org.apache.log4j.Logger;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.FileVisitOption;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static io.cloudslang.lang.commons.services.api.SlangCompilationService.INVALID_DIRECTORY_ERROR_MESSAGE_SUFFIX;
+import static java.lang.Integer.parseInt;
+import static java.lang.String.valueOf;
+import static java.lang.System.getProperty;
+import static java.util.concurrent.Executors.newFixedThreadPool;
+
+@Service
+public class SlangSourceLoadingServiceImpl implements SlangSourceLoadingService, DisposableBean {
+
+    private static final Logger logger = Logger.getLogger(SlangSourceLoadingServiceImpl.class);
+    private static final int DEFAULT_MAX_THREAD_COUNT = 8;
+
+    private ExecutorService readerExecutor;
+
+    @PostConstruct
+    public void initialize() {
+        int defaultThreadCount = Math.min(Runtime.getRuntime().availableProcessors(), DEFAULT_MAX_THREAD_COUNT);
+        int threadCount = Math.max(1, parseInt(getProperty(SLANG_SOURCE_LOADER_THREAD_COUNT,
+                valueOf(defaultThreadCount))));
+        readerExecutor = newFixedThreadPool(threadCount, new SourceReaderThreadFactory());
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        readerExecutor.shutdown();
+    }
+
+    @Override
+    public List<File> listFiles(File directory, final String[] extensions, boolean recursive) {
+        return toFiles(walk(directory, new FileNameFilter() {
+            @Override
+            public boolean accept(String fileName) {
+                for (String extension : extensions) {
+                    if (fileName.endsWith("." + extension)) {
+                        return true;
+                    }
+                }
+                return false;
+            }
+        }, recursive));
+    }
+
+    @Override
+    public List<File> listSlangFiles(File directory, boolean recursive) {
+        return toFiles(walk(directory, new SlangFileNameFilter(), recursive));
+    }
+
+    @Override
+    public Set<SlangSource> loadSlangSourcesFromFolders(List<String> folders) {
+        List<Path> paths = new ArrayList<>();
+        for (String folder : folders) {
+            paths.addAll(walk(new File(folder), new SlangFileNameFilter(), true));
+        }
+        return new HashSet<>(readSources(paths));
+    }
+
+    @Override
+    public <T> List<T> loadFiles(Collection<File> files, Function<File, T> fileLoader) {
+        return submitAll(files, fileLoader);
+    }
+
+    private List<SlangSource> readSources(List<Path> paths) {
+        return submitAll(paths, SlangSource::lazyFromCanonicalPath);
+    }
+
+    private <S, T> List<T> submitAll(Collection<S> inputs, final Function<S, T> loader) {
+        List<Future<T>> futures = new ArrayList<>(inputs.size());
+        for (final S input : inputs) {
+            futures.add(readerExecutor.submit(() -> loader.apply(input)));
+        }
+
+        List<T> results = new ArrayList<>(inputs.size());
+        try {
+            for (Future<T> future : futures) {
+                results.add(future.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while loading files", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            throw cause instanceof RuntimeException ? (RuntimeException) cause : new RuntimeException(cause);
+        } finally {
+            for (Future<T> future : futures) {
+                future.cancel(false);
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Walks the directory resolved to its real path, so every discovered path is already canonical.
+     * Symbolic links are resolved individually when encountered, as the commons-io listing used to follow them.
+     */
+    private List<Path> walk(File directory, FileNameFilter filter, boolean recursive) {
+        Validate.isTrue(directory.isDirectory(), "Parameter '" + directory.getPath() +
+                INVALID_DIRECTORY_ERROR_MESSAGE_SUFFIX);
+        List<Path> result = new ArrayList<>();
+        try {
+            Path root = directory.toPath().toRealPath();
+            walk(root, filter, recursive, new HashSet<Path>(), result);
+        } catch (IOException e) {
+            throw new RuntimeException("There was a problem listing the files under: " + directory.getPath(), e);
+        }
+        return result;
+    }
+
+    private void walk(Path root, final FileNameFilter filter, final boolean recursive,
+                      final Set<Path> visitedDirectories, final List<Path> result) throws IOException {
+        if (!visitedDirectories.add(root)) {
+            return;
+        }
+        final List<Path> linkedDirectories = new ArrayList<>();
+        Files.walkFileTree(root, EnumSet.noneOf(FileVisitOption.class), recursive ? Integer.MAX_VALUE : 1,
+                new SimpleFileVisitor<Path>() {
+                    @Override
+                    public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+                        if (attrs.isSymbolicLink()) {
+                            Path target = file.toRealPath();
+                            if (Files.isDirectory(target)) {
+                                if (recursive) {
+                                    linkedDirectories.add(target);
+                                }
+                            } else if (Files.isRegularFile(target) && filter.accept(file.getFileName().toString())) {
+                                result.add(target);
+                            }
+                        } else if (attrs.isRegularFile() && filter.accept(file.getFileName().toString())) {
+                            result.add(file);
+                        }
+                        return FileVisitResult.CONTINUE;
+                    }
+
+                    @Override
+                    public FileVisitResult visitFileFailed(Path file, IOException exc) {
+                        logger.warn("Skipping unreadable path: " + file + ". Nested exception is: " +
+                                exc.getMessage());
+                        return FileVisitResult.CONTINUE;
+                    }
+                });
+        for (Path linkedDirectory : linkedDirectories) {
+            walk(linkedDirectory, filter, true, visitedDirectories, result);
+        }
+    }
+
+    private List<File> toFiles(List<Path> paths) {
+        List<File> files = new ArrayList<>(paths.size());
+        for (Path path : paths) {
+            files.add(path.toFile());
+        }
+        return files;
+    }
+
+    private interface FileNameFilter {
+        boolean accept(String fileName);
+    }
+
+    private static class SlangFileNameFilter implements FileNameFilter {
+        @Override
+        public boolean accept(String fileName) {
+            return Extension.SL == Extension.findExtension(fileName);
+        }
+    }
+
+    private static class SourceReaderThreadFactory implements ThreadFactory {
+        private final AtomicInteger threadNumber = new AtomicInteger(1);
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "slang-source-loader-" + threadNumber.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -12,6 +12,7 @@ package io.cloudslang.lang.commons.services.impl;
 import io.cloudslang.lang.api.Slang;
 import io.cloudslang.lang.commons.services.api.CompilationHelper;
 import io.cloudslang.lang.commons.services.api.SlangCompilationService;
+import io.cloudslang.lang.commons.services.api.SlangSourceLoadingService;
 import io.cloudslang.lang.compiler.PrecompileStrategy;
 import io.cloudslang.lang.compiler.SlangSource;
 import java.io.File;
@@ -98,6 +99,11 @@ public class SlangCompilationServiceImplTest {
             return new SlangCompilationServiceImpl();
         }
 
+        @Bean
+        public SlangSourceLoadingService slangSourceLoadingService() {
+            return new SlangSourceLoadingServiceImpl();
+        }
+
         @Bean
         public CompilationHelper compilationHelper() {
             return mock(CompilationHelper.class);
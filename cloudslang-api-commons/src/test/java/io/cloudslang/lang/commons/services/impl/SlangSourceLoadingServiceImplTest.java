@@ -0,0 +1,136 @@
+/*******************************************************************************
+ * (c) Copyright 2016 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.lang.commons.services.impl;
+
+import io.cloudslang.lang.commons.services.api.SlangSourceLoadingService;
+import io.cloudslang.lang.compiler.SlangSource;
+import java.io.File;
+import java.net.URISyntaxException;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(SpringJUnit4ClassRunner.class)
+@ContextConfiguration(classes = SlangSourceLoadingServiceImplTest.Config.class)
+public class SlangSourceLoadingServiceImplTest {
+
+    @Rule
+    public ExpectedException exception = ExpectedException.none();
+
+    @Autowired
+    private SlangSourceLoadingService slangSourceLoadingService;
+
+    @Test
+    public void testListSlangFilesRecursive() throws Exception {
+        List<File> files = slangSourceLoadingService.listSlangFiles(getExecutablesFolder(), true);
+
+        Set<String> names = new HashSet<>();
+        for (File file : files) {
+            names.add(file.getName());
+            assertEquals(file.getCanonicalFile(), file);
+        }
+        assertEquals(4, files.size());
+        assertTrue(names.contains("flow.sl"));
+        assertTrue(names.contains("test_op.sl"));
+    }
+
+    @Test
+    public void testListSlangFilesNotRecursive() throws URISyntaxException {
+        File folder = new File(getClass().getResource("/executables/dir3").toURI());
+        List<File> files = slangSourceLoadingService.listSlangFiles(folder, false);
+
+        assertEquals(1, files.size());
+        assertEquals("flow.sl", files.get(0).getName());
+    }
+
+    @Test
+    public void testListFilesByExtension() throws URISyntaxException {
+        List<File> files = slangSourceLoadingService.listFiles(getExecutablesFolder(), new String[]{"yaml"}, true);
+
+        assertEquals(2, files.size());
+    }
+
+    @Test
+    public void testListSlangFilesInvalidDirectory() throws URISyntaxException {
+        File file = new File(getClass().getResource("/executables/dir3/flow.sl").toURI());
+        exception.expect(IllegalArgumentException.class);
+        exception.expectMessage("' is not a directory");
+
+        slangSourceLoadingService.listSlangFiles(file, true);
+    }
+
+    @Test
+    public void testLoadSlangSourcesMatchesFromFile() throws URISyntaxException {
+        File folder = getExecutablesFolder();
+        Set<SlangSource> sources =
+                slangSourceLoadingService.loadSlangSourcesFromFolders(Collections.singletonList(folder.getPath()));
+
+        Set<SlangSource> expected = new HashSet<>();
+        for (File file : slangSourceLoadingService.listSlangFiles(folder, true)) {
+            expected.add(SlangSource.fromFile(file));
+        }
+        assertEquals(4, sources.size());
+        assertEquals(expected, sources);
+    }
+
+    @Test
+    public void testLoadFilesKeepsOrder() throws URISyntaxException {
+        List<File> files =
+                slangSourceLoadingService.listFiles(getExecutablesFolder(), new String[]{"sl", "yaml"}, true);
+
+        List<String> names = slangSourceLoadingService.loadFiles(files, File::getName);
+
+        assertEquals(files.size(), names.size());
+        for (int i = 0; i < files.size(); i++) {
+            assertEquals(files.get(i).getName(), names.get(i));
+        }
+    }
+
+    @Test
+    public void testLoadFilesRethrowsFirstFailure() throws URISyntaxException {
+        List<File> files = slangSourceLoadingService.listSlangFiles(getExecutablesFolder(), true);
+        exception.expect(IllegalStateException.class);
+        exception.expectMessage(files.get(1).getName());
+
+        slangSourceLoadingService.loadFiles(files, file -> {
+            if (file.equals(files.get(0))) {
+                return file;
+            }
+            throw new IllegalStateException(file.getName());
+        });
+    }
+
+    private File getExecutablesFolder() throws URISyntaxException {
+        return new File(getClass().getResource("/executables").toURI());
+    }
+
+    @Configuration
+    static class Config {
+
+        @Bean
+        public SlangSourceLoadingService slangSourceLoadingService() {
+            return new SlangSourceLoadingServiceImpl();
+        }
+
+    }
+}
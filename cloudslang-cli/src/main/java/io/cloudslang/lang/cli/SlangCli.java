@@ -19,6 +19,7 @@ import io.cloudslang.lang.entities.ScoreLangConstants;
 import io.cloudslang.lang.entities.SystemProperty;
 import io.cloudslang.lang.entities.bindings.Input;
 import io.cloudslang.lang.entities.bindings.values.Value;
+import io.cloudslang.lang.runtime.events.EventContextReconstructor;
 import io.cloudslang.lang.runtime.events.LanguageEventData;
 import io.cloudslang.score.events.EventConstants;
 import io.cloudslang.score.events.ScoreEvent;
@@ -96,6 +97,8 @@ public class SlangCli implements CommandMarker {
      */
     private Boolean triggerAsync = false;
 
+    private final EventContextReconstructor contextReconstructor = new EventContextReconstructor();
+
     @CliCommand(value = "run", help = RUN_HELP)
     public String run(
             @CliOption(key = {"", "f", "file"}, mandatory = true, help = FILE_HELP) final File file,
@@ -313,9 +316,16 @@ public class SlangCli implements CommandMarker {
 
     private void logSlangEvent(ScoreEvent event) {
         LanguageEventData eventData = (LanguageEventData) event.getData();
+        // the raw data of the delta verbosity holds only the changed context, so the full context is logged as well
+        String context = eventData.getContextSnapshot() == null ? "" :
+                ", Context: " + contextReconstructor.reconstruct(eventData);
         logger.info(("[ " + eventData.getPath() + " - " + eventData.getStepName() + " ] " +
                 event.getEventType() + " - Inputs: " + eventData.getInputs() + ", Outputs: " + eventData.getOutputs() +
-                ", Result: " + eventData.getResult() + ", Raw Data: " + event.getData()));
+                ", Result: " + eventData.getResult() + context + ", Raw Data: " + event.getData()));
+        if (ScoreLangConstants.EVENT_EXECUTION_FINISHED.equals(event.getEventType()) &&
+                eventData.getBranchId() == null) {
+            contextReconstructor.removeExecution(eventData.getExecutionId());
+        }
     }
 
     private void logScoreEvent(ScoreEvent event) {
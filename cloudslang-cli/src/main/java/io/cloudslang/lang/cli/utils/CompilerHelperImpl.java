@@ -13,6 +13,7 @@ import ch.lambdaj.function.convert.Converter;
 import io.cloudslang.lang.api.Slang;
 import io.cloudslang.lang.commons.services.api.CompilationHelper;
 import io.cloudslang.lang.commons.services.api.SlangCompilationService;
+import io.cloudslang.lang.commons.services.api.SlangSourceLoadingService;
 import io.cloudslang.lang.commons.services.api.SlangSourceService;
 import io.cloudslang.lang.compiler.Extension;
 import io.cloudslang.lang.compiler.SlangSource;
@@ -23,9 +24,9 @@ import io.cloudslang.lang.entities.bindings.values.Value;
 import io.cloudslang.lang.entities.utils.SetUtils;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.collections4.MapUtils;
-import org.apache.commons.io.FileUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.log4j.Logger;
+import org.springframework.beans.factory.ObjectFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 import org.yaml.snakeyaml.Yaml;
@@ -37,7 +38,9 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
 
@@ -61,7 +64,7 @@ public class CompilerHelperImpl implements CompilerHelper {
     private Slang slang;
 
     @Autowired
-    private Yaml yaml;
+    private ObjectFactory<Yaml> yamlFactory;
 
     @Autowired
     private SlangSourceService slangSourceService;
@@ -72,6 +75,9 @@ public class CompilerHelperImpl implements CompilerHelper {
     @Autowired
     private SlangCompilationService slangCompilationService;
 
+    @Autowired
+    private SlangSourceLoadingService slangSourceLoadingService;
+
     @Override
     public CompilationArtifact compile(String filePath, List<String> dependencies) {
         File file = slangCompilationService.getFile(filePath);
@@ -154,30 +160,31 @@ public class CompilerHelperImpl implements CompilerHelper {
             fileCollection = files;
         }
         Map<String, Value> result = new HashMap<>();
-        for (File inputFile : fileCollection) {
-            logger.info("Loading file: " + inputFile);
-            try {
-                String inputsFileContent = SlangSource.fromFile(inputFile).getContent();
-                Boolean emptyContent = true;
-                if (StringUtils.isNotEmpty(inputsFileContent)) {
-                    @SuppressWarnings("unchecked") Map<String, ? extends Serializable> inputFileYamlContent =
-                            (Map<String, ? extends Serializable>) yaml.load(inputsFileContent);
-                    if (MapUtils.isNotEmpty(inputFileYamlContent)) {
-                        emptyContent = false;
-                        result.putAll(slangSourceService
-                                .convertInputFromMap(inputFileYamlContent, inputFile.getName()));
-                    }
-                }
-                if (emptyContent) {
-                    throw new RuntimeException("Inputs file: " + inputFile +
-                            " is empty or does not contain valid YAML content.");
+        for (Map<String, Value> inputsFromFile : slangSourceLoadingService.loadFiles(fileCollection,
+                this::loadInputsFromSingleFile)) {
+            result.putAll(inputsFromFile);
+        }
+        return result;
+    }
+
+    private Map<String, Value> loadInputsFromSingleFile(File inputFile) {
+        logger.info("Loading file: " + inputFile);
+        try {
+            String inputsFileContent = SlangSource.fromFile(inputFile).getContent();
+            if (StringUtils.isNotEmpty(inputsFileContent)) {
+                // Yaml instances are not thread safe, every file is parsed with its own
+                @SuppressWarnings("unchecked") Map<String, ? extends Serializable> inputFileYamlContent =
+                        (Map<String, ? extends Serializable>) yamlFactory.getObject().load(inputsFileContent);
+                if (MapUtils.isNotEmpty(inputFileYamlContent)) {
+                    return slangSourceService.convertInputFromMap(inputFileYamlContent, inputFile.getName());
                 }
-            } catch (RuntimeException ex) {
-                logger.error("Error loading file: " + inputFile + ". Nested exception is: " + ex.getMessage(), ex);
-                throw new RuntimeException(ex);
             }
+            throw new RuntimeException("Inputs file: " + inputFile +
+                    " is empty or does not contain valid YAML content.");
+        } catch (RuntimeException ex) {
+            logger.error("Error loading file: " + inputFile + ". Nested exception is: " + ex.getMessage(), ex);
+            throw new RuntimeException(ex);
         }
-        return result;
     }
 
     private Set<SystemProperty> loadPropertiesFromFiles(List<File> files, String[] extensions, String directory) {
@@ -193,39 +200,49 @@ public class CompilerHelperImpl implements CompilerHelper {
                 Extension.validatePropertiesFileExtension(propertyFileCandidate.getName());
             }
         }
-        Map<File, Set<SystemProperty>> loadedProperties = new HashMap<>();
-        for (File propFile : fileCollection) {
-            try {
-                SlangSource source = SlangSource.fromFile(propFile);
-                logger.info("Loading file: " + propFile);
-                Set<SystemProperty> propsFromFile = slang.loadSystemProperties(source);
-                mergeSystemProperties(loadedProperties, propsFromFile, propFile);
-            } catch (Throwable ex) {
-                String errorMessage = "Error loading file: " + propFile + " nested exception is " + ex.getMessage();
-                logger.error(errorMessage, ex);
-                throw new RuntimeException(errorMessage, ex);
-            }
+        List<Set<SystemProperty>> propertiesByFile =
+                slangSourceLoadingService.loadFiles(fileCollection, this::loadPropertiesFromSingleFile);
+
+        Map<String, File> fileByFqn = new HashMap<>();
+        Iterator<File> propFiles = fileCollection.iterator();
+        for (Set<SystemProperty> propsFromFile : propertiesByFile) {
+            indexSystemProperties(fileByFqn, propsFromFile, propFiles.next());
+        }
+        return SetUtils.mergeSets(propertiesByFile);
+    }
+
+    private Set<SystemProperty> loadPropertiesFromSingleFile(File propFile) {
+        try {
+            SlangSource source = SlangSource.fromFile(propFile);
+            logger.info("Loading file: " + propFile);
+            return slang.loadSystemProperties(source);
+        } catch (Throwable ex) {
+            String errorMessage = "Error loading file: " + propFile + " nested exception is " + ex.getMessage();
+            logger.error(errorMessage, ex);
+            throw new RuntimeException(errorMessage, ex);
         }
-        return SetUtils.mergeSets(loadedProperties.values());
     }
 
-    private void mergeSystemProperties(
-            Map<File, Set<SystemProperty>> target,
+    /**
+     * Indexes the properties by their lower case fully qualified name,
+     * failing on properties already declared in another file.
+     */
+    private void indexSystemProperties(
+            Map<String, File> fileByFqn,
             Set<SystemProperty> propertiesFromFile,
             File sourceFile) {
-        for (Map.Entry<File, Set<SystemProperty>> entry : target.entrySet()) {
-            for (SystemProperty propertyFromFile : propertiesFromFile) {
-                if (SetUtils.containsIgnoreCaseBasedOnFqn(entry.getValue(), propertyFromFile)) {
-                    throw new RuntimeException(
-                            DUPLICATE_SYSTEM_PROPERTY_ERROR_MESSAGE_PREFIX + propertyFromFile.getFullyQualifiedName() +
-                                    "' in the following files: " +
-                                    entry.getKey().getPath() + ", " + sourceFile.getPath()
-
-                    );
-                }
+        for (SystemProperty propertyFromFile : propertiesFromFile) {
+            String fqn = propertyFromFile.getFullyQualifiedName();
+            File previousFile = fileByFqn.putIfAbsent(fqn.toLowerCase(Locale.ENGLISH), sourceFile);
+            // the same path given twice is still a duplicate, only repetitions within one file are ignored
+            if (previousFile != null && previousFile != sourceFile) {
+                throw new RuntimeException(
+                        DUPLICATE_SYSTEM_PROPERTY_ERROR_MESSAGE_PREFIX + fqn +
+                                "' in the following files: " +
+                                previousFile.getPath() + ", " + sourceFile.getPath()
+                );
             }
         }
-        target.put(sourceFile, propertiesFromFile);
     }
 
     private Collection<File> loadDefaultFiles(String[] extensions, String directory, boolean recursive) {
@@ -234,7 +251,7 @@ public class CompilerHelperImpl implements CompilerHelper {
         String defaultDirectoryPath = appHome + File.separator + directory;
         File defaultDirectory = new File(defaultDirectoryPath);
         if (defaultDirectory.isDirectory()) {
-            files = FileUtils.listFiles(defaultDirectory, extensions, recursive);
+            files = slangSourceLoadingService.listFiles(defaultDirectory, extensions, recursive);
         } else {
             files = Collections.emptyList();
         }
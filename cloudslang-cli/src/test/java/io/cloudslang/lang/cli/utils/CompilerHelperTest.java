@@ -15,8 +15,10 @@ import io.cloudslang.lang.api.Slang;
 import io.cloudslang.lang.cli.services.ConsolePrinter;
 import io.cloudslang.lang.commons.services.api.CompilationHelper;
 import io.cloudslang.lang.commons.services.api.SlangCompilationService;
+import io.cloudslang.lang.commons.services.api.SlangSourceLoadingService;
 import io.cloudslang.lang.commons.services.api.SlangSourceService;
 import io.cloudslang.lang.commons.services.impl.SlangCompilationServiceImpl;
+import io.cloudslang.lang.commons.services.impl.SlangSourceLoadingServiceImpl;
 import io.cloudslang.lang.commons.services.impl.SlangSourceServiceImpl;
 import io.cloudslang.lang.compiler.PrecompileStrategy;
 import io.cloudslang.lang.compiler.SlangSource;
@@ -49,6 +51,7 @@ import org.mockito.InOrder;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Scope;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
 import org.yaml.snakeyaml.Yaml;
@@ -361,6 +364,7 @@ public class CompilerHelperTest {
         }
 
         @Bean
+        @Scope("prototype")
         public Yaml yaml() {
             Yaml yaml = new Yaml();
             yaml.setBeanAccess(BeanAccess.FIELD);
@@ -387,6 +391,11 @@ public class CompilerHelperTest {
             return new SlangCompilationServiceImpl();
         }
 
+        @Bean
+        public SlangSourceLoadingService slangSourceLoadingService() {
+            return new SlangSourceLoadingServiceImpl();
+        }
+
     }
 
     private Matcher<String> containsIgnoreCase(final String element) {
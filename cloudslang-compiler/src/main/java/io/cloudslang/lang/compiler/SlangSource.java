@@ -10,6 +10,7 @@
 package io.cloudslang.lang.compiler;
 
 import io.cloudslang.lang.entities.properties.SlangSystemPropertyConstant;
+import org.apache.commons.codec.digest.DigestUtils;
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.Validate;
@@ -18,9 +19,12 @@ import org.apache.commons.lang3.builder.HashCodeBuilder;
 
 import java.io.File;
 import java.io.IOException;
+import java.lang.ref.SoftReference;
 import java.net.URI;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 
 public class SlangSource {
 
@@ -29,12 +33,24 @@ public class SlangSource {
     private final String filePath;
     private final Extension fileExtension;
 
+    /**
+     * only set for lazy sources, which keep their content in {@link #contentReference}
+     */
+    private final Path contentPath;
+    private final Charset contentCharset;
+    private final int contentLength;
+    private volatile String contentDigest;
+    private volatile SoftReference<String> contentReference;
+
     public SlangSource(String content, String name) {
         Validate.notNull(content, "Source cannot be null");
         this.content = content;
         this.name = name;
         this.filePath = null;
         this.fileExtension = null;
+        this.contentPath = null;
+        this.contentCharset = null;
+        this.contentLength = content.length();
     }
 
     private SlangSource(String content, String name, String filePath, Extension fileExtension) {
@@ -44,6 +60,21 @@ public class SlangSource {
         this.name = name;
         this.filePath = filePath;
         this.fileExtension = fileExtension;
+        this.contentPath = null;
+        this.contentCharset = null;
+        this.contentLength = content.length();
+    }
+
+    private SlangSource(String content, Path contentPath, Charset contentCharset, Extension fileExtension) {
+        this.content = null;
+        this.name = contentPath.getFileName().toString();
+        this.filePath = contentPath.toString();
+        this.fileExtension = fileExtension;
+        this.contentPath = contentPath;
+        this.contentCharset = contentCharset;
+        this.contentLength = content.length();
+        this.contentDigest = DigestUtils.sha256Hex(content);
+        this.contentReference = new SoftReference<>(content);
     }
 
     public static SlangSource fromFile(File file) {
@@ -70,6 +101,22 @@ public class SlangSource {
         return fromFile(new File(uri));
     }
 
+    /**
+     * Creates a source that keeps only its path, length and digest strongly reachable.
+     * The content is held through a soft reference and read again from the file when it was reclaimed,
+     * so large sets of dependency sources do not pin all of their content on the heap.
+     *
+     * @param path a file path that is already known to be canonical, for example a file discovered
+     *             while walking a directory that was resolved to its real path
+     */
+    public static SlangSource lazyFromCanonicalPath(Path path) {
+        Validate.notNull(path, "Path cannot be null");
+
+        Charset charset = getCloudSlangCharset();
+        String content = readPathToString(path, charset);
+        return new SlangSource(content, path, charset, Extension.findExtension(path.getFileName().toString()));
+    }
+
     public static SlangSource fromBytes(byte[] bytes, String name) {
         return new SlangSource(new String(bytes, getCloudSlangCharset()), name);
     }
@@ -86,6 +133,14 @@ public class SlangSource {
         return FileUtils.readFileToString(file, charset);
     }
 
+    private static String readPathToString(Path path, Charset charset) {
+        try {
+            return new String(Files.readAllBytes(path), charset);
+        } catch (IOException e) {
+            throw new RuntimeException("There was a problem reading the file: " + path.getFileName(), e);
+        }
+    }
+
     private static String getCanonicalFilePath(File file) {
         String filePath;
         try {
@@ -97,7 +152,39 @@ public class SlangSource {
     }
 
     public String getContent() {
-        return content;
+        if (content != null) {
+            return content;
+        }
+        String loadedContent = contentReference.get();
+        if (loadedContent == null) {
+            loadedContent = readPathToString(contentPath, contentCharset);
+            if (loadedContent.length() != contentLength ||
+                    !DigestUtils.sha256Hex(loadedContent).equals(contentDigest)) {
+                throw new RuntimeException("File: " + name + " was modified after it was loaded");
+            }
+            contentReference = new SoftReference<>(loadedContent);
+        }
+        return loadedContent;
+    }
+
+    /**
+     * @return the SHA-256 hex digest of the content, computed once
+     */
+    public String getContentDigest() {
+        String digest = contentDigest;
+        if (digest == null) {
+            digest = DigestUtils.sha256Hex(content);
+            contentDigest = digest;
+        }
+        return digest;
+    }
+
+    public int getContentLength() {
+        return contentLength;
+    }
+
+    public boolean isLazy() {
+        return contentPath != null;
     }
 
     public String getName() {
@@ -115,7 +202,7 @@ public class SlangSource {
     @Override
     public String toString() {
         return "SlangSource{" +
-                "content='" + content + '\'' +
+                (isLazy() ? "contentDigest='" + contentDigest + '\'' : "content='" + content + '\'') +
                 ", name='" + name + '\'' +
                 ", filePath='" + filePath + '\'' +
                 ", fileExtension=" + fileExtension +
@@ -135,20 +222,27 @@ public class SlangSource {
         SlangSource that = (SlangSource) o;
 
         return new EqualsBuilder()
-                .append(content, that.content)
+                .append(contentLength, that.contentLength)
                 .append(name, that.name)
                 .append(filePath, that.filePath)
                 .append(fileExtension, that.fileExtension)
-                .isEquals();
+                .isEquals() && contentEquals(that);
+    }
+
+    private boolean contentEquals(SlangSource that) {
+        if (!isLazy() && !that.isLazy()) {
+            return content.equals(that.content);
+        }
+        return getContentDigest().equals(that.getContentDigest());
     }
 
     @Override
     public int hashCode() {
         return new HashCodeBuilder(17, 37)
-                .append(content)
+                .append(contentLength)
                 .append(name)
                 .append(filePath)
                 .append(fileExtension)
                 .toHashCode();
     }
-}
\ No newline at end of file
+}
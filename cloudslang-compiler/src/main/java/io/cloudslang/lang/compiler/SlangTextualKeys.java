@@ -66,6 +66,7 @@ public interface SlangTextualKeys {
     String PUBLISH_KEY = "publish";
     String NAVIGATION_KEY = "navigate";
     String PARALLEL_LOOP_KEY = "parallel_loop";
+    String MAX_CONCURRENCY_KEY = "max_concurrency";
     String WORKER_GROUP = "worker_group"; //&& flow
 
     //seq step
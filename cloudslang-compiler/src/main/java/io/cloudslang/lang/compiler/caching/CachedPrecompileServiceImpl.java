@@ -14,7 +14,6 @@ import com.google.common.cache.CacheBuilder;
 import io.cloudslang.lang.compiler.SlangSource;
 import io.cloudslang.lang.compiler.modeller.result.ExecutableModellingResult;
 import java.util.concurrent.TimeUnit;
-import org.apache.commons.codec.digest.DigestUtils;
 
 import javax.annotation.PostConstruct;
 
@@ -74,11 +73,8 @@ public class CachedPrecompileServiceImpl implements CachedPrecompileService {
     }
 
     boolean hasChangedSinceCached(SlangSource source1, SlangSource source2) {
-        String source1AsStr = source1.toString();
-        String source2AsStr = source2.toString();
-        return (source1AsStr.length() != source2AsStr.length()) ||
-                (!DigestUtils.md5Hex(source1AsStr).equals(DigestUtils.md5Hex(source2AsStr))) ||
-                (!DigestUtils.sha256Hex(source1AsStr).equals(DigestUtils.sha256Hex(source2AsStr)));
+        // compares length and digest first, without loading the content of lazy sources
+        return !source1.equals(source2);
     }
 
 }
@@ -40,6 +40,7 @@ import io.cloudslang.lang.compiler.modeller.transformers.JavaActionTransformer;
 import io.cloudslang.lang.compiler.modeller.transformers.NavigateTransformer;
 import io.cloudslang.lang.compiler.modeller.SystemPropertiesHelper;
 import io.cloudslang.lang.compiler.modeller.transformers.OutputsTransformer;
+import io.cloudslang.lang.compiler.modeller.transformers.MaxConcurrencyTransformer;
 import io.cloudslang.lang.compiler.modeller.transformers.ParallelLoopForTransformer;
 import io.cloudslang.lang.compiler.modeller.transformers.PublishTransformer;
 import io.cloudslang.lang.compiler.modeller.transformers.PythonActionTransformer;
@@ -390,6 +391,11 @@ public class SlangCompilerSpringConfig {
         return parallelLoopForTransformer;
     }
 
+    @Bean
+    public MaxConcurrencyTransformer maxConcurrencyTransformer() {
+        return new MaxConcurrencyTransformer();
+    }
+
     @Bean
     public ForTransformer forTransformer() {
         ForTransformer forTransformer = new ForTransformer();
@@ -433,6 +439,7 @@ public class SlangCompilerSpringConfig {
         return Lists.newArrayList(
                 pythonActionTransformer(),
                 parallelLoopForTransformer(),
+                maxConcurrencyTransformer(),
                 publishTransformer(),
                 externalPublishTransformer(),
                 navigateTransformer(),
@@ -61,6 +61,7 @@ import static ch.lambdaj.Lambda.on;
 import static io.cloudslang.lang.compiler.SlangTextualKeys.DO_EXTERNAL_KEY;
 import static io.cloudslang.lang.compiler.SlangTextualKeys.DO_KEY;
 import static io.cloudslang.lang.compiler.SlangTextualKeys.FOR_KEY;
+import static io.cloudslang.lang.compiler.SlangTextualKeys.MAX_CONCURRENCY_KEY;
 import static io.cloudslang.lang.compiler.SlangTextualKeys.NAVIGATION_KEY;
 import static io.cloudslang.lang.compiler.SlangTextualKeys.ON_FAILURE_KEY;
 import static io.cloudslang.lang.compiler.SlangTextualKeys.PARALLEL_LOOP_KEY;
@@ -77,6 +78,8 @@ import static io.cloudslang.lang.entities.ScoreLangConstants.SUCCESS_RESULT;
 import static io.cloudslang.lang.entities.ScoreLangConstants.WARNING_RESULT;
 import static io.cloudslang.lang.compiler.utils.SlangSourceUtils.getNavigationStepName;
 import static io.cloudslang.lang.compiler.utils.SlangSourceUtils.getNavigationTarget;
+import static io.cloudslang.lang.compiler.utils.ModelInternUtils.intern;
+import static io.cloudslang.lang.compiler.utils.ModelInternUtils.internParams;
 import static java.util.Arrays.asList;
 import static java.util.Collections.singletonList;
 import static org.apache.commons.collections4.MapUtils.isNotEmpty;
@@ -121,7 +124,8 @@ public class ExecutableBuilder {
 
     private List<String> stepAdditionalKeyWords = asList(LOOP_KEY, DO_KEY, DO_EXTERNAL_KEY, NAVIGATION_KEY,
             WORKER_GROUP);
-    private List<String> parallelLoopValidKeywords = asList(DO_KEY, DO_EXTERNAL_KEY, FOR_KEY, WORKER_GROUP);
+    private List<String> parallelLoopValidKeywords = asList(DO_KEY, DO_EXTERNAL_KEY, FOR_KEY, WORKER_GROUP,
+            MAX_CONCURRENCY_KEY);
 
     private List<String> seqSupportedResults = asList(SUCCESS_RESULT, WARNING_RESULT, FAILURE_RESULT);
 
@@ -260,12 +264,12 @@ public class ExecutableBuilder {
                         preExecutableActionData,
                         postExecutableActionData,
                         workflow,
-                        namespace,
-                        execName,
-                        workerGroup,
-                        inputs,
-                        outputs,
-                        results,
+                        intern(namespace),
+                        intern(execName),
+                        intern(workerGroup),
+                        internParams(inputs),
+                        internParams(outputs),
+                        internParams(results),
                         executableDependencies,
                         externalExecutableDependencies,
                         systemPropertyDependencies
@@ -318,11 +322,11 @@ public class ExecutableBuilder {
                         preExecutableActionData,
                         postExecutableActionData,
                         action,
-                        namespace,
-                        execName,
-                        inputs,
-                        outputs,
-                        results,
+                        intern(namespace),
+                        intern(execName),
+                        internParams(inputs),
+                        internParams(outputs),
+                        internParams(results),
                         executableDependencies,
                         systemPropertyDependencies
                 );
@@ -346,11 +350,11 @@ public class ExecutableBuilder {
                 executable = new Decision(
                         preExecutableActionData,
                         postExecutableActionData,
-                        namespace,
-                        execName,
-                        inputs,
-                        outputs,
-                        results,
+                        intern(namespace),
+                        intern(execName),
+                        internParams(inputs),
+                        internParams(outputs),
+                        internParams(results),
                         Collections.<String>emptySet(),
                         systemPropertyDependencies
                 );
@@ -518,6 +522,10 @@ public class ExecutableBuilder {
                 if (isNotEmpty(stepRawDataValue)) {
                     boolean loopKeyFound = stepRawDataValue.containsKey(LOOP_KEY);
                     boolean parallelLoopKeyFound = stepRawDataValue.containsKey(PARALLEL_LOOP_KEY);
+                    if (stepRawDataValue.containsKey(MAX_CONCURRENCY_KEY)) {
+                        errors.add(new RuntimeException("Step: " + stepName + " syntax is illegal.\n'" +
+                                MAX_CONCURRENCY_KEY + "' can only be used below the 'parallel_loop' keyword."));
+                    }
                     if (loopKeyFound) {
                         if (parallelLoopKeyFound) {
                             errors.add(new RuntimeException("Step: " + stepName +
@@ -672,24 +680,24 @@ public class ExecutableBuilder {
                             Map<String, Serializable> postStepData, List<Argument> arguments,
                             String workerGroup, String refId, List<Map<String, Serializable>> navigationStrings) {
         if (preStepData.containsKey(DO_EXTERNAL_KEY)) {
-            return new ExternalStep(stepName,
+            return new ExternalStep(intern(stepName),
                     preStepData,
                     postStepData,
-                    arguments,
+                    internParams(arguments),
                     navigationStrings,
-                    refId,
-                    workerGroup,
+                    intern(refId),
+                    intern(workerGroup),
                     preStepData.containsKey(SlangTextualKeys.PARALLEL_LOOP_KEY),
                     onFailureSection);
         } else {
             return new Step(
-                    stepName,
+                    intern(stepName),
                     preStepData,
                     postStepData,
-                    arguments,
+                    internParams(arguments),
                     navigationStrings,
-                    refId,
-                    workerGroup,
+                    intern(refId),
+                    intern(workerGroup),
                     preStepData.containsKey(SlangTextualKeys.PARALLEL_LOOP_KEY),
                     onFailureSection);
         }
@@ -0,0 +1,55 @@
+/*******************************************************************************
+ * (c) Copyright 2016 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.lang.compiler.modeller.transformers;
+
+import io.cloudslang.lang.compiler.CompilerConstants;
+import io.cloudslang.lang.compiler.SlangTextualKeys;
+import io.cloudslang.lang.compiler.modeller.result.BasicTransformModellingResult;
+import io.cloudslang.lang.compiler.modeller.result.TransformModellingResult;
+import io.cloudslang.lang.entities.SensitivityLevel;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The maximum number of branches of a parallel loop that run at the same time.
+ */
+public class MaxConcurrencyTransformer implements Transformer<Integer, Integer> {
+
+    public static final String MAX_CONCURRENCY_MUST_BE_POSITIVE =
+            "'" + SlangTextualKeys.MAX_CONCURRENCY_KEY + "' should be a positive integer, but was: ";
+
+    @Override
+    public TransformModellingResult<Integer> transform(Integer rawData) {
+        return transform(rawData, CompilerConstants.DEFAULT_SENSITIVITY_LEVEL);
+    }
+
+    @Override
+    public TransformModellingResult<Integer> transform(Integer rawData, SensitivityLevel sensitivityLevel) {
+        if (rawData == null) {
+            return new BasicTransformModellingResult<>(null, Collections.emptyList());
+        }
+        if (rawData <= 0) {
+            return new BasicTransformModellingResult<>(null,
+                    Collections.singletonList(new RuntimeException(MAX_CONCURRENCY_MUST_BE_POSITIVE + rawData)));
+        }
+        return new BasicTransformModellingResult<>(rawData, Collections.emptyList());
+    }
+
+    @Override
+    public List<Scope> getScopes() {
+        return Collections.singletonList(Scope.BEFORE_STEP);
+    }
+
+    @Override
+    public String keyToTransform() {
+        return SlangTextualKeys.MAX_CONCURRENCY_KEY;
+    }
+}
@@ -179,8 +179,8 @@ public class ExecutionPlanBuilder {
             stepExecutionSteps.add(createFinishStepStep(currentId++, step, new HashMap<>(),
                     inheritWorkerGroupFromFlow(step, compiledFlow), true));
             stepExecutionSteps.add(
-                    stepFactory.createJoinBranchesStep(currentId, step.getPostStepActionData(),
-                            navigationValues, stepName)
+                    stepFactory.createJoinBranchesStep(currentId, stepReferences.get(stepName),
+                            step.getPostStepActionData(), navigationValues, stepName)
             );
         } else {
             stepExecutionSteps.add(createFinishStepStep(currentId, step, navigationValues,
@@ -27,6 +27,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
+import static io.cloudslang.lang.compiler.utils.ModelInternUtils.internActionData;
 import static org.apache.commons.collections4.MapUtils.isNotEmpty;
 
 public class ExecutionStepFactory {
@@ -167,17 +168,23 @@ public class ExecutionStepFactory {
         actionData.put(ScoreLangConstants.BRANCH_BEGIN_STEP_ID_KEY, branchBeginStepId);
         actionData.put(ScoreLangConstants.PARALLEL_LOOP_STATEMENT_KEY,
                 preStepData.get(SlangTextualKeys.PARALLEL_LOOP_KEY));
+        Serializable maxConcurrency = preStepData.get(SlangTextualKeys.MAX_CONCURRENCY_KEY);
+        if (maxConcurrency != null) {
+            actionData.put(ScoreLangConstants.MAX_CONCURRENCY_KEY, maxConcurrency);
+        }
         ExecutionStep executionStep =
                 createGeneralStep(currentStepId, PARALLEL_LOOP_STEPS_CLASS, "addBranches", actionData);
         executionStep.setSplitStep(true);
         return executionStep;
     }
 
-    public ExecutionStep createJoinBranchesStep(Long index, Map<String, Serializable> postStepData,
+    public ExecutionStep createJoinBranchesStep(Long index, Long addBranchesStepId,
+                                                Map<String, Serializable> postStepData,
                                                 Map<String, ResultNavigation> navigationValues, String stepName) {
         Validate.notNull(postStepData, "postStepData is null");
         Validate.notNull(navigationValues, "navigationValues is null");
         Map<String, Serializable> actionData = new HashMap<>();
+        actionData.put(ScoreLangConstants.ADD_BRANCHES_STEP_ID_KEY, addBranchesStepId);
         actionData.put(ScoreLangConstants.STEP_PUBLISH_KEY, postStepData.get(SlangTextualKeys.PUBLISH_KEY));
         actionData.put(ScoreLangConstants.STEP_NAVIGATION_KEY, new HashMap<>(navigationValues));
         actionData.put(ScoreLangConstants.NODE_NAME_KEY, stepName);
@@ -193,7 +200,7 @@ public class ExecutionStepFactory {
 
         ExecutionStep step = new ExecutionStep(stepId);
         step.setAction(new ControlActionMetadata(actionClassName, actionMethodName));
-        step.setActionData(actionData);
+        step.setActionData(internActionData(actionData));
 
         step.setNavigation(new ControlActionMetadata(NAVIGATION_ACTIONS_CLASS, SIMPLE_NAVIGATION_METHOD));
         step.setNavigationData(new HashMap<>());
@@ -0,0 +1,98 @@
+/*******************************************************************************
+ * (c) Copyright 2016 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.lang.compiler.utils;
+
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
+import io.cloudslang.lang.entities.bindings.InOutParam;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Deduplicates strings and structurally equal inputs, outputs, results and arguments of compiled models,
+ * so that long-lived registries of compilation artifacts share them instead of keeping one copy per executable.
+ * Entries are held weakly and disappear once no model references them anymore.
+ * Sensitive values are mutable (they get encrypted and decrypted in place) and are therefore never shared.
+ */
+public abstract class ModelInternUtils {
+
+    private static final Interner<Object> INTERNER = Interners.newWeakInterner();
+
+    @SuppressWarnings("unchecked")
+    private static <T> T internObject(T object) {
+        return (T) INTERNER.intern(object);
+    }
+
+    public static String intern(String value) {
+        return value == null ? null : internObject(value);
+    }
+
+    public static <T extends InOutParam> T internParam(T param) {
+        if (param == null || param.isSensitive()) {
+            return param;
+        }
+        return internObject(param);
+    }
+
+    /**
+     * @return a shared list with interned elements, or a new list with interned non sensitive elements
+     *     when one of the elements is sensitive; empty lists are returned as they are
+     */
+    public static <T extends InOutParam> List<T> internParams(List<T> params) {
+        if (params == null || params.isEmpty()) {
+            return params;
+        }
+        boolean shareable = true;
+        ArrayList<T> internedParams = new ArrayList<>(params.size());
+        for (T param : params) {
+            shareable &= param == null || !param.isSensitive();
+            internedParams.add(internParam(param));
+        }
+        return shareable ? internObject(internedParams) : internedParams;
+    }
+
+    /**
+     * Interns the string values and the lists of inputs, outputs, results or arguments of execution step data.
+     */
+    public static Map<String, Serializable> internActionData(Map<String, Serializable> actionData) {
+        Map<String, Serializable> internedActionData = new HashMap<>(actionData.size());
+        for (Map.Entry<String, Serializable> entry : actionData.entrySet()) {
+            internedActionData.put(intern(entry.getKey()), internActionDataValue(entry.getValue()));
+        }
+        return internedActionData;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Serializable internActionDataValue(Serializable value) {
+        if (value instanceof String) {
+            return intern((String) value);
+        }
+        if (value instanceof List && isListOfParams((List<?>) value)) {
+            return (Serializable) internParams((List<InOutParam>) value);
+        }
+        return value;
+    }
+
+    private static boolean isListOfParams(List<?> list) {
+        if (list.isEmpty()) {
+            return false;
+        }
+        for (Object element : list) {
+            if (!(element instanceof InOutParam)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -29,10 +29,13 @@ import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
 
 import java.io.Serializable;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Deque;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -399,13 +402,13 @@ public class PreCompileValidatorImpl extends AbstractValidator implements PreCom
             Set<String> reachableResultNames = new HashSet<>();
             List<String> resultNames = getResultNames(compiledFlow);
             Deque<Step> steps = compiledFlow.getWorkflow().getSteps();
+            WorkflowGraph workflowGraph = new WorkflowGraph(steps);
 
             List<RuntimeException> validationErrors = new ArrayList<>();
 
             validateNavigation(
-                    compiledFlow.getWorkflow().getSteps().getFirst(),
-                    steps,
-                    resultNames,
+                    workflowGraph,
+                    new HashSet<>(resultNames),
                     reachableStepNames,
                     reachableResultNames,
                     validationErrors
@@ -425,44 +428,38 @@ public class PreCompileValidatorImpl extends AbstractValidator implements PreCom
         }
     }
 
+    /**
+     * Walks the navigation graph depth first from the first step, in the same order the steps and their
+     * navigations are declared, so errors are reported in declaration order.
+     * The walk keeps its own stack, so the depth of the workflow is not limited by the thread stack.
+     */
     private void validateNavigation(
-            Step currentStep,
-            Deque<Step> steps,
-            List<String> resultNames,
+            WorkflowGraph workflowGraph,
+            Set<String> resultNames,
             Set<String> reachableStepNames,
             Set<String> reachableResultNames,
             List<RuntimeException> errors) {
-        validateNavigation(
-                currentStep,
-                steps,
-                resultNames,
-                reachableStepNames,
-                reachableResultNames,
-                errors,
-                new ArrayList<>()
-        );
-    }
-
-    private void validateNavigation(
-            Step currentStep,
-            Deque<Step> steps,
-            List<String> resultNames,
-            Set<String> reachableStepNames,
-            Set<String> reachableResultNames,
-            List<RuntimeException> errors,
-            List<String> stepResultCollisionNames) {
-        String currentStepName = currentStep.getName();
-        reachableStepNames.add(currentStepName);
-        for (Map<String, Serializable> map : currentStep.getNavigationStrings()) {
-            Map.Entry<String, Serializable> entry = map.entrySet().iterator().next();
-            String navigationTarget = getNavigationStepName(entry.getValue());
+        Set<String> stepResultCollisionNames = new HashSet<>();
+        Deque<NavigationCursor> stack = new ArrayDeque<>();
+
+        Step firstStep = workflowGraph.getFirstStep();
+        reachableStepNames.add(firstStep.getName());
+        stack.push(new NavigationCursor(firstStep, workflowGraph.getNavigations(firstStep)));
+
+        while (!stack.isEmpty()) {
+            NavigationCursor cursor = stack.peek();
+            if (!cursor.hasNext()) {
+                stack.pop();
+                continue;
+            }
+            Navigation navigation = cursor.next();
+            String navigationTarget = navigation.getTarget();
 
             boolean isResult = resultNames.contains(navigationTarget);
-            Step nextStepToCompile = selectNextStepToCompile(steps, navigationTarget);
+            Step nextStepToCompile = workflowGraph.getStep(navigationTarget);
             boolean isStep = nextStepToCompile != null;
 
-            if (isStep && isResult && !stepResultCollisionNames.contains(navigationTarget)) {
-                stepResultCollisionNames.add(navigationTarget);
+            if (isStep && isResult && stepResultCollisionNames.add(navigationTarget)) {
                 errors.add(
                         new RuntimeException(
                                 "Navigation target: '" + navigationTarget +
@@ -475,22 +472,16 @@ public class PreCompileValidatorImpl extends AbstractValidator implements PreCom
             }
             if (!isProcessed(navigationTarget, isStep, reachableStepNames, reachableResultNames)) {
                 if (isStep) {
-                    validateNavigation(
-                            nextStepToCompile,
-                            steps,
-                            resultNames,
-                            reachableStepNames,
-                            reachableResultNames,
-                            errors,
-                            stepResultCollisionNames
-                    );
+                    reachableStepNames.add(nextStepToCompile.getName());
+                    stack.push(new NavigationCursor(nextStepToCompile,
+                            workflowGraph.getNavigations(nextStepToCompile)));
                 } else if (!isResult) {
                     errors.add(
                             new RuntimeException(
-                                    "Failed to compile step: " + currentStepName +
-                                            ". The step/result name: " + entry.getValue() +
-                                            " of navigation: " + entry.getKey() + " -> " + entry.getValue() +
-                                            " is missing"
+                                    "Failed to compile step: " + cursor.getStep().getName() +
+                                            ". The step/result name: " + navigation.getValue() +
+                                            " of navigation: " + navigation.getKey() + " -> " +
+                                            navigation.getValue() + " is missing"
                             )
                     );
                 }
@@ -498,15 +489,6 @@ public class PreCompileValidatorImpl extends AbstractValidator implements PreCom
         }
     }
 
-    private Step selectNextStepToCompile(Deque<Step> steps, String navigationTarget) {
-        for (Step step : steps) {
-            if (org.apache.commons.lang.StringUtils.equals(step.getName(), navigationTarget)) {
-                return step;
-            }
-        }
-        return null;
-    }
-
     private boolean isProcessed(
             String navigationTarget,
             boolean pointsToStep,
@@ -587,4 +569,88 @@ public class PreCompileValidatorImpl extends AbstractValidator implements PreCom
     public void setExecutableValidator(ExecutableValidator executableValidator) {
         this.executableValidator = executableValidator;
     }
+
+    /**
+     * Adjacency list of a workflow, built once: steps are indexed by name and every step's navigations
+     * are resolved to their target names.
+     */
+    private static class WorkflowGraph {
+        private final Step firstStep;
+        private final Map<String, Step> stepsByName;
+        private final Map<Step, List<Navigation>> navigationsByStep;
+
+        WorkflowGraph(Deque<Step> steps) {
+            firstStep = steps.getFirst();
+            stepsByName = new HashMap<>();
+            navigationsByStep = new IdentityHashMap<>();
+            for (Step step : steps) {
+                // the first step declared with a name wins, as duplicates are reported elsewhere
+                stepsByName.putIfAbsent(step.getName(), step);
+                List<Navigation> navigations = new ArrayList<>(step.getNavigationStrings().size());
+                for (Map<String, Serializable> navigationString : step.getNavigationStrings()) {
+                    Map.Entry<String, Serializable> entry = navigationString.entrySet().iterator().next();
+                    navigations.add(new Navigation(entry.getKey(), entry.getValue()));
+                }
+                navigationsByStep.put(step, navigations);
+            }
+        }
+
+        Step getFirstStep() {
+            return firstStep;
+        }
+
+        Step getStep(String name) {
+            return stepsByName.get(name);
+        }
+
+        List<Navigation> getNavigations(Step step) {
+            return navigationsByStep.get(step);
+        }
+    }
+
+    private static class Navigation {
+        private final String key;
+        private final Serializable value;
+        private final String target;
+
+        Navigation(String key, Serializable value) {
+            this.key = key;
+            this.value = value;
+            this.target = getNavigationStepName(value);
+        }
+
+        String getKey() {
+            return key;
+        }
+
+        Serializable getValue() {
+            return value;
+        }
+
+        String getTarget() {
+            return target;
+        }
+    }
+
+    private static class NavigationCursor {
+        private final Step step;
+        private final Iterator<Navigation> navigations;
+
+        NavigationCursor(Step step, List<Navigation> navigations) {
+            this.step = step;
+            this.navigations = navigations.iterator();
+        }
+
+        Step getStep() {
+            return step;
+        }
+
+        boolean hasNext() {
+            return navigations.hasNext();
+        }
+
+        Navigation next() {
+            return navigations.next();
+        }
+    }
 }
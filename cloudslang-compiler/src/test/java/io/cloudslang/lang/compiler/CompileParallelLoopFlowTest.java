@@ -450,6 +450,53 @@ public class CompileParallelLoopFlowTest {
         compiler.compile(SlangSource.fromFile(flow), path);
     }
 
+    @Test
+    public void testCompileParallelLoopFlowMaxConcurrency() throws Exception {
+        final URI flow = getClass().getResource("/loops/parallel_loop/parallel_loop_max_concurrency.sl").toURI();
+        final URI operation = getClass().getResource("/loops/parallel_loop/print_branch.sl").toURI();
+        Set<SlangSource> path = new HashSet<>();
+        path.add(SlangSource.fromFile(operation));
+        CompilationArtifact artifact = compiler.compile(SlangSource.fromFile(flow), path);
+        assertNotNull("artifact is null", artifact);
+
+        ExecutionPlan executionPlan = artifact.getExecutionPlan();
+        ExecutionStep addBranchesStep = executionPlan.getStep(3L);
+        Map<String, ?> addBranchesActionData = addBranchesStep.getActionData();
+        verifyParallelLoopStatement(addBranchesActionData);
+        assertEquals(3, addBranchesActionData.get(ScoreLangConstants.MAX_CONCURRENCY_KEY));
+
+        ExecutionStep joinBranchesStep = executionPlan.getStep(6L);
+        assertEquals(3L, joinBranchesStep.getActionData().get(ScoreLangConstants.ADD_BRANCHES_STEP_ID_KEY));
+    }
+
+    @Test
+    public void testMaxConcurrencyMustBePositive() throws Exception {
+        final URI flow = getClass()
+                .getResource("/corrupted/loops/parallel_loop/parallel_loop_max_concurrency_zero.sl").toURI();
+        final URI operation = getClass().getResource("/loops/parallel_loop/print_branch.sl").toURI();
+        Set<SlangSource> path = new HashSet<>();
+        path.add(SlangSource.fromFile(operation));
+
+        expectedException.expect(RuntimeException.class);
+        expectedException.expectMessage("'max_concurrency' should be a positive integer, but was: 0");
+
+        compiler.compile(SlangSource.fromFile(flow), path);
+    }
+
+    @Test
+    public void testMaxConcurrencyOutsideParallelLoopThrowsException() throws Exception {
+        final URI flow = getClass()
+                .getResource("/corrupted/loops/parallel_loop/parallel_loop_max_concurrency_outside_loop.sl").toURI();
+        final URI operation = getClass().getResource("/loops/parallel_loop/print_branch.sl").toURI();
+        Set<SlangSource> path = new HashSet<>();
+        path.add(SlangSource.fromFile(operation));
+
+        expectedException.expect(RuntimeException.class);
+        expectedException.expectMessage("'max_concurrency' can only be used below the 'parallel_loop' keyword.");
+
+        compiler.compile(SlangSource.fromFile(flow), path);
+    }
+
     private void verifyPublishValues(Map<String, ?> joinBranchesActionData) {
         assertTrue(joinBranchesActionData.containsKey(ScoreLangConstants.STEP_PUBLISH_KEY));
         @SuppressWarnings("unchecked") List<Output> actualPublishOutputs =
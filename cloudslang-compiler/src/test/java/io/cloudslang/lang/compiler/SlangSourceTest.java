@@ -217,6 +217,38 @@ public class SlangSourceTest {
         Assert.assertEquals(filename, result.getName());
     }
 
+    @Test
+    public void testLazyFromCanonicalPath() throws Exception {
+        File file = folder.newFile(name);
+        FileUtils.writeStringToFile(file, content);
+
+        SlangSource lazySource = SlangSource.lazyFromCanonicalPath(file.getCanonicalFile().toPath());
+        SlangSource source = SlangSource.fromFile(file);
+
+        Assert.assertTrue(lazySource.isLazy());
+        Assert.assertFalse(source.isLazy());
+        Assert.assertEquals(content, lazySource.getContent());
+        Assert.assertEquals(name, lazySource.getName());
+        Assert.assertEquals(extension, lazySource.getFileExtension());
+        Assert.assertEquals(source.getFilePath(), lazySource.getFilePath());
+        Assert.assertEquals(source.getContentDigest(), lazySource.getContentDigest());
+        Assert.assertEquals(source, lazySource);
+        Assert.assertEquals(source.hashCode(), lazySource.hashCode());
+    }
+
+    @Test
+    public void testLazySourcesWithDifferentContentAreNotEqual() throws Exception {
+        File file = folder.newFile(name);
+        FileUtils.writeStringToFile(file, content);
+        SlangSource lazySource = SlangSource.lazyFromCanonicalPath(file.getCanonicalFile().toPath());
+
+        FileUtils.writeStringToFile(file, "other_content");
+        SlangSource changedLazySource = SlangSource.lazyFromCanonicalPath(file.getCanonicalFile().toPath());
+
+        Assert.assertNotEquals(lazySource, changedLazySource);
+        Assert.assertNotEquals(SlangSource.fromFile(file), lazySource);
+    }
+
     @Test
     public void testFromBytes() throws Exception {
         assertSourceEquals(content.getBytes(getCharset()), name);
@@ -185,10 +185,10 @@ public class ExecutionPlanBuilderTest {
                 .thenReturn(new ExecutionStep(stepId));
     }
 
-    private void mockJoinBranchesStep(Long stepId, Step step) {
+    private void mockJoinBranchesStep(Long stepId, Long addBranchesStepId, Step step) {
         Map<String, Serializable> postStepActionData = step.getPostStepActionData();
         String stepName = step.getName();
-        when(stepFactory.createJoinBranchesStep(eq(stepId), eq(postStepActionData),
+        when(stepFactory.createJoinBranchesStep(eq(stepId), eq(addBranchesStepId), eq(postStepActionData),
                 anyMapOf(String.class, ResultNavigation.class), eq(stepName)))
                 .thenReturn(new ExecutionStep(stepId));
     }
@@ -276,7 +276,7 @@ public class ExecutionPlanBuilderTest {
         mockAddBranchesStep(3L, 6L, 4L, step, compiledFlow);
         mockBeginStep(4L, step);
         mockFinishParallelLoopStep(5L, step);
-        mockJoinBranchesStep(6L, step);
+        mockJoinBranchesStep(6L, 3L, step);
         final ExecutionPlan executionPlan = executionPlanBuilder.createFlowExecutionPlan(compiledFlow);
 
         verify(stepFactory).createAddBranchesStep(
@@ -294,7 +294,7 @@ public class ExecutionPlanBuilderTest {
                         anyMapOf(String.class, ResultNavigation.class), eq(step.getName()),
                         eq(step.getWorkerGroup()), eq(step.isParallelLoop()));
         verify(stepFactory)
-                .createJoinBranchesStep(eq(6L), eq(step.getPostStepActionData()),
+                .createJoinBranchesStep(eq(6L), eq(3L), eq(step.getPostStepActionData()),
                         anyMapOf(String.class, ResultNavigation.class), eq(step.getName()));
 
         assertEquals("different number of execution steps than expected", 7, executionPlan.getSteps().size());
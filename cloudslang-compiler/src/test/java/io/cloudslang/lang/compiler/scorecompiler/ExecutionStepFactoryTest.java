@@ -226,6 +226,17 @@ public class ExecutionStepFactoryTest {
         Assert.assertSame("parallel loop statement in not correctly set under the key", statement, actualStatement);
     }
 
+    @Test
+    public void testCreateAddBranchesStepPutMaxConcurrencyUnderTheRightKey() throws Exception {
+        HashMap<String, Serializable> preStepData = new HashMap<>();
+        preStepData.put(SlangTextualKeys.MAX_CONCURRENCY_KEY, 3);
+        ExecutionStep startStep = factory.createAddBranchesStep(2L, 5L, 3L, preStepData, "refID", "evenCoolerStep");
+        Assert.assertEquals(3, startStep.getActionData().get(ScoreLangConstants.MAX_CONCURRENCY_KEY));
+
+        startStep = factory.createAddBranchesStep(2L, 5L, 3L, new HashMap<>(), "refID", "evenCoolerStep");
+        Assert.assertFalse(startStep.getActionData().containsKey(ScoreLangConstants.MAX_CONCURRENCY_KEY));
+    }
+
     @Test
     public void testCreateJoinBranchesStep() throws Exception {
         Map<String, Serializable> postStepData = new HashMap<>();
@@ -233,6 +244,7 @@ public class ExecutionStepFactoryTest {
 
         ExecutionStep executionStep = factory.createJoinBranchesStep(
                 0L,
+                2L,
                 postStepData,
                 new HashMap<String, ResultNavigation>(),
                 "joinStep");
@@ -242,6 +254,7 @@ public class ExecutionStepFactoryTest {
         Assert.assertTrue(actionData.containsKey(ScoreLangConstants.STEP_PUBLISH_KEY));
         Assert.assertTrue(actionData.containsKey(ScoreLangConstants.STEP_NAVIGATION_KEY));
         Assert.assertTrue(actionData.containsKey(ScoreLangConstants.NODE_NAME_KEY));
+        Assert.assertEquals(2L, actionData.get(ScoreLangConstants.ADD_BRANCHES_STEP_ID_KEY));
     }
 
     @Test
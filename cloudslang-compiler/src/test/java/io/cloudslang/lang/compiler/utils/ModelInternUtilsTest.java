@@ -0,0 +1,116 @@
+/*******************************************************************************
+ * (c) Copyright 2016 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.lang.compiler.utils;
+
+import io.cloudslang.lang.entities.ScoreLangConstants;
+import io.cloudslang.lang.entities.bindings.Argument;
+import io.cloudslang.lang.entities.bindings.Input;
+import io.cloudslang.lang.entities.bindings.Result;
+import io.cloudslang.lang.entities.bindings.values.ValueFactory;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+public class ModelInternUtilsTest {
+
+    @Test
+    public void testInternStringReturnsSharedInstance() {
+        String namespace = new String("io.cloudslang.base");
+
+        String interned = ModelInternUtils.intern(namespace);
+
+        assertEquals(namespace, interned);
+        assertSame(interned, ModelInternUtils.intern(new String("io.cloudslang.base")));
+    }
+
+    @Test
+    public void testInternParamsSharesEqualLists() {
+        List<Result> results1 = createResults();
+        List<Result> results2 = createResults();
+
+        List<Result> interned1 = ModelInternUtils.internParams(results1);
+        List<Result> interned2 = ModelInternUtils.internParams(results2);
+
+        assertEquals(results1, interned1);
+        assertSame(interned1, interned2);
+        assertSame(interned1.get(0), interned2.get(0));
+    }
+
+    @Test
+    public void testSensitiveParamsAreNotShared() {
+        Input sensitiveInput1 = new Input.InputBuilder("password", "secret", true).build();
+        Input sensitiveInput2 = new Input.InputBuilder("password", "secret", true).build();
+        Input input1 = new Input.InputBuilder("host", "localhost").build();
+        Input input2 = new Input.InputBuilder("host", "localhost").build();
+
+        List<Input> interned1 = ModelInternUtils.internParams(new ArrayList<>(Arrays.asList(input1, sensitiveInput1)));
+        List<Input> interned2 = ModelInternUtils.internParams(new ArrayList<>(Arrays.asList(input2, sensitiveInput2)));
+
+        assertNotSame(interned1, interned2);
+        assertSame(interned1.get(0), interned2.get(0));
+        assertSame(sensitiveInput1, interned1.get(1));
+        assertSame(sensitiveInput2, interned2.get(1));
+    }
+
+    @Test
+    public void testArgumentsDifferingInPrivacyAreNotMerged() {
+        Argument privateArgument = new Argument("arg", ValueFactory.create(null));
+        Argument notPrivateArgument = new Argument("arg");
+
+        assertSame(privateArgument, ModelInternUtils.internParam(privateArgument));
+        assertSame(notPrivateArgument, ModelInternUtils.internParam(notPrivateArgument));
+    }
+
+    @Test
+    public void testEmptyListIsReturnedAsIs() {
+        List<Input> inputs = new ArrayList<>();
+
+        assertSame(inputs, ModelInternUtils.internParams(inputs));
+    }
+
+    @Test
+    public void testInternActionData() {
+        Map<String, Serializable> actionData1 = createActionData();
+        Map<String, Serializable> actionData2 = createActionData();
+
+        Map<String, Serializable> interned1 = ModelInternUtils.internActionData(actionData1);
+        Map<String, Serializable> interned2 = ModelInternUtils.internActionData(actionData2);
+
+        assertEquals(actionData1, interned1);
+        assertSame(interned1.get(ScoreLangConstants.NODE_NAME_KEY), interned2.get(ScoreLangConstants.NODE_NAME_KEY));
+        assertSame(interned1.get(ScoreLangConstants.EXECUTABLE_RESULTS_KEY),
+                interned2.get(ScoreLangConstants.EXECUTABLE_RESULTS_KEY));
+        assertSame(actionData1.get(ScoreLangConstants.NEXT_STEP_ID_KEY),
+                interned1.get(ScoreLangConstants.NEXT_STEP_ID_KEY));
+    }
+
+    private Map<String, Serializable> createActionData() {
+        Map<String, Serializable> actionData = new HashMap<>();
+        actionData.put(ScoreLangConstants.NODE_NAME_KEY, new String("print_text"));
+        actionData.put(ScoreLangConstants.EXECUTABLE_RESULTS_KEY, (Serializable) createResults());
+        actionData.put(ScoreLangConstants.NEXT_STEP_ID_KEY, 2L);
+        return actionData;
+    }
+
+    private List<Result> createResults() {
+        List<Result> results = new ArrayList<>();
+        results.add(new Result(new String(ScoreLangConstants.SUCCESS_RESULT), ValueFactory.create(true)));
+        results.add(new Result(new String(ScoreLangConstants.FAILURE_RESULT), ValueFactory.create(true)));
+        return results;
+    }
+}
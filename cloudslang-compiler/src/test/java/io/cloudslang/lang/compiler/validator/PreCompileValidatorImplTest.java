@@ -0,0 +1,104 @@
+/*******************************************************************************
+ * (c) Copyright 2016 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.lang.compiler.validator;
+
+import io.cloudslang.lang.compiler.Extension;
+import io.cloudslang.lang.compiler.modeller.model.Flow;
+import io.cloudslang.lang.compiler.modeller.model.Step;
+import io.cloudslang.lang.compiler.modeller.model.Workflow;
+import io.cloudslang.lang.compiler.modeller.result.ExecutableModellingResult;
+import io.cloudslang.lang.compiler.parser.model.ParsedSlang;
+import io.cloudslang.lang.entities.ScoreLangConstants;
+import io.cloudslang.lang.entities.bindings.Result;
+import org.junit.Test;
+
+import java.io.Serializable;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class PreCompileValidatorImplTest {
+
+    private static final String FLOW_NAME = "flow";
+
+    private PreCompileValidator preCompileValidator = new PreCompileValidatorImpl();
+
+    @Test(timeout = 10000)
+    public void testValidateLongChainOfSteps() {
+        int numberOfSteps = 20000;
+        Deque<Step> steps = new ArrayDeque<>();
+        for (int i = 0; i < numberOfSteps; i++) {
+            String next = i == numberOfSteps - 1 ? ScoreLangConstants.SUCCESS_RESULT : "step_" + (i + 1);
+            steps.add(createStep("step_" + i, navigation(ScoreLangConstants.SUCCESS_RESULT, next),
+                    navigation(ScoreLangConstants.FAILURE_RESULT, ScoreLangConstants.FAILURE_RESULT)));
+        }
+
+        ExecutableModellingResult result = validate(steps);
+
+        assertTrue(result.getErrors().isEmpty());
+    }
+
+    @Test
+    public void testValidateReportsErrorsInDeclarationOrder() {
+        Deque<Step> steps = new ArrayDeque<>();
+        steps.add(createStep("step_1", navigation(ScoreLangConstants.SUCCESS_RESULT, "step_2"),
+                navigation(ScoreLangConstants.FAILURE_RESULT, "missing_1")));
+        steps.add(createStep("step_2", navigation(ScoreLangConstants.SUCCESS_RESULT, "missing_2"),
+                navigation(ScoreLangConstants.FAILURE_RESULT, ScoreLangConstants.FAILURE_RESULT)));
+        steps.add(createStep("step_3", navigation(ScoreLangConstants.SUCCESS_RESULT,
+                ScoreLangConstants.SUCCESS_RESULT)));
+
+        ExecutableModellingResult result = validate(steps);
+
+        assertEquals(1, result.getErrors().size());
+        assertEquals("Flow " + FLOW_NAME + " has errors:" +
+                "\nFailed to compile step: step_2. The step/result name: missing_2 " +
+                "of navigation: SUCCESS -> missing_2 is missing" +
+                "\nFailed to compile step: step_1. The step/result name: missing_1 " +
+                "of navigation: FAILURE -> missing_1 is missing" +
+                "\nStep 'step_3' is unreachable." +
+                "\nThe following results are not wired: [SUCCESS].",
+                result.getErrors().get(0).getMessage());
+    }
+
+    private ExecutableModellingResult validate(Deque<Step> steps) {
+        List<Result> results = Arrays.asList(new Result(ScoreLangConstants.SUCCESS_RESULT, null),
+                new Result(ScoreLangConstants.FAILURE_RESULT, null));
+        Flow flow = new Flow(new HashMap<>(), new HashMap<>(), new Workflow(steps), "user.flows", FLOW_NAME,
+                null, new ArrayList<>(), new ArrayList<>(), results, Collections.emptySet(), Collections.emptySet());
+
+        ParsedSlang parsedSlang = new ParsedSlang();
+        parsedSlang.setName(FLOW_NAME);
+        parsedSlang.setFileExtension(Extension.SL);
+
+        return preCompileValidator.validateResult(parsedSlang, FLOW_NAME,
+                new ExecutableModellingResult(flow, new ArrayList<>()));
+    }
+
+    @SafeVarargs
+    private final Step createStep(String name, Map<String, Serializable>... navigations) {
+        return new Step(name, new HashMap<>(), new HashMap<>(), new ArrayList<>(), Arrays.asList(navigations),
+                "user.ops.op", null, false, false);
+    }
+
+    private Map<String, Serializable> navigation(String key, String target) {
+        Map<String, Serializable> navigation = new HashMap<>();
+        navigation.put(key, target);
+        return navigation;
+    }
+}
@@ -10,6 +10,7 @@
 package io.cloudslang.lang.tools.build.tester;
 
 import io.cloudslang.lang.api.Slang;
+import io.cloudslang.lang.commons.services.api.SlangSourceLoadingService;
 import io.cloudslang.lang.compiler.SlangSource;
 import io.cloudslang.lang.compiler.modeller.DependenciesHelper;
 import io.cloudslang.lang.compiler.modeller.model.Executable;
@@ -36,7 +37,6 @@ import io.cloudslang.lang.tools.build.tester.runconfiguration.strategy.Sequentia
 import io.cloudslang.score.events.EventConstants;
 import java.io.File;
 import java.io.Serializable;
-import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
@@ -48,7 +48,6 @@ import java.util.concurrent.Future;
 import java.util.concurrent.TimeoutException;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.collections4.MapUtils;
-import org.apache.commons.io.FileUtils;
 import org.apache.commons.lang3.BooleanUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.Validate;
@@ -96,6 +95,9 @@ public class SlangTestRunner {
     @Autowired
     private LoggingSlangTestCaseEventListener loggingSlangTestCaseEventListener;
 
+    @Autowired
+    private SlangSourceLoadingService slangSourceLoadingService;
+
     private String[] testCaseFileExtensions = {"yaml", "yml"};
     private static final String TEST_CASE_PASSED = "Test case passed: ";
     private static final String TEST_CASE_FAILED = "Test case failed: ";
@@ -113,7 +115,7 @@ public class SlangTestRunner {
         File testPathDir = new File(testPath);
         Validate.isTrue(testPathDir.isDirectory(),
                 "Directory path argument \'" + testPath + "\' does not lead to a directory");
-        Collection<File> testCasesFiles = FileUtils.listFiles(testPathDir, testCaseFileExtensions, true);
+        List<File> testCasesFiles = slangSourceLoadingService.listFiles(testPathDir, testCaseFileExtensions, true);
 
         loggingService.logEvent(Level.INFO, "");
         loggingService.logEvent(Level.INFO, "--- parsing test cases ---");
@@ -122,12 +124,13 @@ public class SlangTestRunner {
 
         Map<String, SlangTestCase> testCases = new HashMap<>();
         Set<SlangTestCase> testCasesWithMissingReference = new HashSet<>();
-        for (File testCaseFile : testCasesFiles) {
+        List<SlangSource> testCasesSources = slangSourceLoadingService.loadFiles(testCasesFiles, testCaseFile -> {
             Validate.isTrue(testCaseFile.isFile(),
                     "file path \'" + testCaseFile.getAbsolutePath() + "\' must lead to a file");
-
-            Map<String, SlangTestCase> testCasesFromCurrentFile =
-                    parser.parseTestCases(SlangSource.fromFile(testCaseFile));
+            return SlangSource.fromFile(testCaseFile);
+        });
+        for (SlangSource testCasesSource : testCasesSources) {
+            Map<String, SlangTestCase> testCasesFromCurrentFile = parser.parseTestCases(testCasesSource);
             for (Map.Entry<String, SlangTestCase> currentTestCaseEntry : testCasesFromCurrentFile.entrySet()) {
                 SlangTestCase currentTestCase = currentTestCaseEntry.getValue();
                 String currentTestCaseName = currentTestCaseEntry.getKey();
@@ -9,7 +9,7 @@
  *******************************************************************************/
 package io.cloudslang.lang.tools.build.verifier;
 
-import io.cloudslang.lang.commons.services.api.SlangCompilationService;
+import io.cloudslang.lang.commons.services.api.SlangSourceLoadingService;
 import io.cloudslang.lang.compiler.MetadataExtractor;
 import io.cloudslang.lang.compiler.SlangCompiler;
 import io.cloudslang.lang.compiler.SlangSource;
@@ -59,7 +59,7 @@ public class SlangContentVerifier {
     private LoggingService loggingService;
 
     @Autowired
-    private SlangCompilationService slangCompilationService;
+    private SlangSourceLoadingService slangSourceLoadingService;
 
     public PreCompileResult createModelsAndValidate(String directoryPath, boolean shouldValidateDescription,
                                                     boolean shouldValidateCheckstyle) {
@@ -67,13 +67,16 @@ public class SlangContentVerifier {
         Validate.isTrue(new File(directoryPath).isDirectory(), "Directory path argument \'" +
                 directoryPath + "\' does not lead to a directory");
         Map<String, Executable> slangModels = new HashMap<>();
-        Collection<File> slangFiles = slangCompilationService.listSlangFiles(new File(directoryPath), true);
+        List<File> slangFiles = slangSourceLoadingService.listSlangFiles(new File(directoryPath), true);
         loggingService.logEvent(Level.INFO, "Start compiling all slang files under: " + directoryPath);
         loggingService.logEvent(Level.INFO, slangFiles.size() + " .sl files were found");
         loggingService.logEvent(Level.INFO, "");
         Queue<RuntimeException> exceptions = new ArrayDeque<>();
         String errorMessagePrefixMetadata = "";
-        for (File slangFile: slangFiles) {
+        List<SlangSource> slangSources = slangSourceLoadingService.loadFiles(slangFiles,
+                SlangContentVerifier::readSlangSource);
+        for (int i = 0; i < slangFiles.size(); i++) {
+            File slangFile = slangFiles.get(i);
             Executable sourceModel = null;
             try {
                 errorMessagePrefixMetadata = "Failed to extract metadata for file: \'" +
@@ -83,7 +86,9 @@ public class SlangContentVerifier {
 
                 Validate.isTrue(slangFile.isFile(), "file path \'" + slangFile.getAbsolutePath() +
                         "\' must lead to a file");
-                SlangSource slangSource = SlangSource.fromFile(slangFile);
+                // a file that could not be read is read again, to report its error with the file name
+                SlangSource slangSource = slangSources.get(i) != null ? slangSources.get(i) :
+                        SlangSource.fromFile(slangFile);
 
                 ExecutableModellingResult preCompileResult = slangCompiler.preCompileSource(slangSource);
                 sourceModel = preCompileResult.getExecutable();
@@ -122,6 +127,14 @@ public class SlangContentVerifier {
         return preCompileResult;
     }
 
+    private static SlangSource readSlangSource(File slangFile) {
+        try {
+            return SlangSource.fromFile(slangFile);
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
     private Collection<RuntimeException> prependPrefix(Collection<RuntimeException> errors, String prefix) {
         List<RuntimeException> result = new ArrayList<>();
         for (RuntimeException ex : errors) {
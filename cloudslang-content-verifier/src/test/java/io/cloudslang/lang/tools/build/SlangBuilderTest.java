@@ -12,8 +12,10 @@ package io.cloudslang.lang.tools.build;
 import com.google.common.collect.Maps;
 import io.cloudslang.lang.api.Slang;
 import io.cloudslang.lang.commons.services.api.SlangCompilationService;
+import io.cloudslang.lang.commons.services.api.SlangSourceLoadingService;
 import io.cloudslang.lang.commons.services.api.SlangSourceService;
 import io.cloudslang.lang.commons.services.impl.SlangCompilationServiceImpl;
+import io.cloudslang.lang.commons.services.impl.SlangSourceLoadingServiceImpl;
 import io.cloudslang.lang.compiler.MetadataExtractor;
 import io.cloudslang.lang.compiler.SlangCompiler;
 import io.cloudslang.lang.compiler.SlangSource;
@@ -823,6 +825,11 @@ public class SlangBuilderTest {
             return new SlangCompilationServiceImpl();
         }
 
+        @Bean
+        public SlangSourceLoadingService slangSourceLoadingService() {
+            return new SlangSourceLoadingServiceImpl();
+        }
+
         @Bean
         public LoggingSlangTestCaseEventListener loggingSlangTestCaseEventListener() {
             return new LoggingSlangTestCaseEventListener();
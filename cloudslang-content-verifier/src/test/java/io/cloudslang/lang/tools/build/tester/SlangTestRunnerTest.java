@@ -11,7 +11,9 @@ package io.cloudslang.lang.tools.build.tester;
 
 import com.google.common.collect.Lists;
 import io.cloudslang.lang.api.Slang;
+import io.cloudslang.lang.commons.services.api.SlangSourceLoadingService;
 import io.cloudslang.lang.commons.services.api.SlangSourceService;
+import io.cloudslang.lang.commons.services.impl.SlangSourceLoadingServiceImpl;
 import io.cloudslang.lang.compiler.SlangSource;
 import io.cloudslang.lang.compiler.modeller.DependenciesHelper;
 import io.cloudslang.lang.compiler.modeller.ExecutableBuilder;
@@ -834,6 +836,11 @@ public class SlangTestRunnerTest {
             return mock(SlangSourceService.class);
         }
 
+        @Bean
+        public SlangSourceLoadingService slangSourceLoadingService() {
+            return new SlangSourceLoadingServiceImpl();
+        }
+
         @Bean
         public TestCaseEventDispatchService testCaseEventDispatchService() {
             return mock(TestCaseEventDispatchService.class);
@@ -69,6 +69,8 @@ public interface ScoreLangConstants {
     String PARALLEL_LOOP_KEY = "parallelLoop";
     String PARALLEL_LOOP_STATEMENT_KEY = "parallelLoopStatement";
     String BRANCH_BEGIN_STEP_ID_KEY = "branchBeginStep";
+    String ADD_BRANCHES_STEP_ID_KEY = "addBranchesStep";
+    String MAX_CONCURRENCY_KEY = "maxConcurrency";
     String BRANCH_RESULT_KEY = "branch_result";
 
     // Events types
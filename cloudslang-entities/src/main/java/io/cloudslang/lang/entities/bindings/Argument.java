@@ -12,6 +12,8 @@ package io.cloudslang.lang.entities.bindings;
 import io.cloudslang.lang.entities.bindings.values.Value;
 import io.cloudslang.lang.entities.bindings.values.ValueFactory;
 import java.util.Set;
+import org.apache.commons.lang3.builder.EqualsBuilder;
+import org.apache.commons.lang3.builder.HashCodeBuilder;
 
 /**
  * @author Bonczidai Levente
@@ -19,6 +21,8 @@ import java.util.Set;
  */
 public class Argument extends InOutParam {
 
+    private static final long serialVersionUID = -3682733518845740162L;
+
     private boolean privateArgument;
 
     public Argument(String name, Value value) {
@@ -61,4 +65,30 @@ public class Argument extends InOutParam {
         return privateArgument;
     }
 
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+
+        Argument that = (Argument) o;
+
+        return new EqualsBuilder()
+                .appendSuper(super.equals(o))
+                .append(privateArgument, that.privateArgument)
+                .isEquals();
+    }
+
+    @Override
+    public int hashCode() {
+        return new HashCodeBuilder(17, 37)
+                .appendSuper(super.hashCode())
+                .append(privateArgument)
+                .toHashCode();
+    }
+
 }
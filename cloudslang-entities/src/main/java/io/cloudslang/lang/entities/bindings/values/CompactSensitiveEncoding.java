@@ -0,0 +1,81 @@
+/*******************************************************************************
+ * (c) Copyright 2016 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.lang.entities.bindings.values;
+
+import java.io.Serializable;
+
+/**
+ * Encodes strings and primitive wrappers of sensitive values as text, instead of Base64 of their java serialization.
+ * <p>
+ * An encoded content is {@code ~<version><type><text>}. Base64 of a java serialization stream always starts with
+ * {@code rO0AB}, so the contents encoded by java serialization are still recognized and decoded.
+ */
+final class CompactSensitiveEncoding {
+
+    private static final char MARKER = '~';
+    private static final char VERSION = '1';
+    private static final int HEADER_LENGTH = 3;
+
+    private static final char STRING = 'S';
+    private static final char INTEGER = 'I';
+    private static final char LONG = 'L';
+    private static final char BOOLEAN = 'B';
+
+    private CompactSensitiveEncoding() {
+    }
+
+    /**
+     * @return the encoded content, or null if the content is not supported by this encoding
+     */
+    static char[] encode(Serializable content) {
+        char type;
+        if (content instanceof String) {
+            type = STRING;
+        } else if (content instanceof Integer) {
+            type = INTEGER;
+        } else if (content instanceof Long) {
+            type = LONG;
+        } else if (content instanceof Boolean) {
+            type = BOOLEAN;
+        } else {
+            return null;
+        }
+        String text = content.toString();
+        char[] encoded = new char[HEADER_LENGTH + text.length()];
+        encoded[0] = MARKER;
+        encoded[1] = VERSION;
+        encoded[2] = type;
+        text.getChars(0, text.length(), encoded, HEADER_LENGTH);
+        return encoded;
+    }
+
+    static boolean isEncoded(char[] encoded) {
+        return encoded.length >= HEADER_LENGTH && encoded[0] == MARKER;
+    }
+
+    static Serializable decode(char[] encoded) {
+        if (encoded[1] != VERSION) {
+            throw new RuntimeException("Unsupported sensitive value encoding version: " + encoded[1]);
+        }
+        String text = new String(encoded, HEADER_LENGTH, encoded.length - HEADER_LENGTH);
+        switch (encoded[2]) {
+            case STRING:
+                return text;
+            case INTEGER:
+                return Integer.valueOf(text);
+            case LONG:
+                return Long.valueOf(text);
+            case BOOLEAN:
+                return Boolean.valueOf(text);
+            default:
+                throw new RuntimeException("Unsupported sensitive value encoding type: " + encoded[2]);
+        }
+    }
+}
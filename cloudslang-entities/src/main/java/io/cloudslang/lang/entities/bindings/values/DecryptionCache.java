@@ -0,0 +1,87 @@
+/*******************************************************************************
+ * (c) Copyright 2016 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.lang.entities.bindings.values;
+
+import java.io.Serializable;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Caches the decrypted content of sensitive values for the current thread, while an execution step is running,
+ * so that a sensitive value read by several expressions of the step is decrypted once.
+ * <p>
+ * The cache is active only between {@link #open()} and the matching {@link #close()}, and only caches immutable
+ * contents, as every read of an encrypted value used to return its own copy of the content.
+ */
+public final class DecryptionCache {
+
+    private static final ThreadLocal<DecryptionCache> CURRENT = new ThreadLocal<>();
+
+    // the same content is decrypted differently by the different kinds of sensitive values
+    private final Map<Class<? extends SensitiveValue>, Map<String, Serializable>> decryptedContents = new HashMap<>();
+    private int depth;
+
+    private DecryptionCache() {
+    }
+
+    /**
+     * Activates the cache for the current thread, until the matching {@link #close()}.
+     */
+    public static void open() {
+        DecryptionCache cache = CURRENT.get();
+        if (cache == null) {
+            cache = new DecryptionCache();
+            CURRENT.set(cache);
+        }
+        cache.depth++;
+    }
+
+    /**
+     * Deactivates the cache of the current thread, dropping its contents, unless an outer scope is still open.
+     */
+    public static void close() {
+        DecryptionCache cache = CURRENT.get();
+        if (cache != null && --cache.depth == 0) {
+            cache.decryptedContents.clear();
+            CURRENT.remove();
+        }
+    }
+
+    /**
+     * Drops the contents of the cache of the current thread, e.g. when the values are encrypted again.
+     */
+    public static void clear() {
+        DecryptionCache cache = CURRENT.get();
+        if (cache != null) {
+            cache.decryptedContents.clear();
+        }
+    }
+
+    static Serializable get(Class<? extends SensitiveValue> valueClass, String content) {
+        DecryptionCache cache = CURRENT.get();
+        if (cache == null) {
+            return null;
+        }
+        Map<String, Serializable> decryptedValues = cache.decryptedContents.get(valueClass);
+        return decryptedValues == null ? null : decryptedValues.get(content);
+    }
+
+    static void put(Class<? extends SensitiveValue> valueClass, String content, Serializable decryptedContent) {
+        DecryptionCache cache = CURRENT.get();
+        if (cache != null && isImmutable(decryptedContent)) {
+            cache.decryptedContents.computeIfAbsent(valueClass, key -> new HashMap<>()).put(content, decryptedContent);
+        }
+    }
+
+    private static boolean isImmutable(Serializable decryptedContent) {
+        return decryptedContent instanceof String || decryptedContent instanceof Boolean ||
+                decryptedContent instanceof Integer || decryptedContent instanceof Long;
+    }
+}
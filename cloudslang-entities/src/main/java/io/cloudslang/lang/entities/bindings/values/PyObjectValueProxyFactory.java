@@ -15,9 +15,6 @@ import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReadWriteLock;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
 import javassist.util.proxy.MethodFilter;
 import javassist.util.proxy.MethodHandler;
 import javassist.util.proxy.Proxy;
@@ -35,12 +32,12 @@ import org.python.core.PyType;
  */
 public class PyObjectValueProxyFactory {
 
-    private static final ReadWriteLock readWriteLock = new ReentrantReadWriteLock();
-    private static final Lock writeLock = readWriteLock.writeLock();
-
     public static final String PROXY_CLASS_SUFFIX = "Value";
 
-    private static ConcurrentMap<String, PyObjectValueProxyClass> proxyClasses = new ConcurrentHashMap<>();
+    private static ConcurrentMap<Class<?>, PyObjectValueProxyClass> proxyClasses = new ConcurrentHashMap<>();
+
+    // the implementing method of every proxied method, resolved once for every implementing class
+    private static final ClassValue<ConcurrentMap<Method, Method>> dispatchTables = new DispatchTables();
 
     public static PyObjectValue create(Serializable content, boolean sensitive) {
         PyObject pyObject = Py.java2py(content);
@@ -56,29 +53,38 @@ public class PyObjectValueProxyFactory {
         }
     }
 
-    private static PyObjectValueProxyClass getProxyClass(PyObject pyObject) throws Exception {
-        String proxyClassName = pyObject.getClass() + PROXY_CLASS_SUFFIX;
-        PyObjectValueProxyClass proxyClass = proxyClasses.get(proxyClassName);
+    private static PyObjectValueProxyClass getProxyClass(PyObject pyObject) {
+        PyObjectValueProxyClass proxyClass = proxyClasses.get(pyObject.getClass());
         if (proxyClass == null) {
-            writeLock.lock();
-            try {
-                proxyClass = proxyClasses.get(proxyClassName);
-                if (proxyClass == null) {
-                    ProxyFactory factory = new ProxyFactory();
-                    factory.setSuperclass(pyObject.getClass());
-                    factory.setInterfaces(new Class[]{PyObjectValue.class});
-                    factory.setFilter(new PyObjectValueMethodFilter());
-                    factory.setUseWriteReplace(false);
-                    proxyClasses.putIfAbsent(proxyClassName, createProxyClass(factory.createClass(), pyObject));
-                    proxyClass = proxyClasses.get(proxyClassName);
+            // only the first proxy of a class waits for the class to be created
+            proxyClass = proxyClasses.computeIfAbsent(pyObject.getClass(), pyObjectClass -> {
+                ProxyFactory factory = new ProxyFactory();
+                factory.setSuperclass(pyObjectClass);
+                factory.setInterfaces(new Class[]{PyObjectValue.class});
+                factory.setFilter(new PyObjectValueMethodFilter());
+                factory.setUseWriteReplace(false);
+                try {
+                    return createProxyClass(factory.createClass(), pyObject);
+                } catch (Exception e) {
+                    throw new RuntimeException("Failed to create a proxy class for " +
+                            pyObjectClass.getSimpleName() + PROXY_CLASS_SUFFIX, e);
                 }
-            } finally {
-                writeLock.unlock();
-            }
+            });
         }
         return proxyClass;
     }
 
+    private static Method getImplementingMethod(Class<?> implementingClass, Method method)
+            throws NoSuchMethodException {
+        ConcurrentMap<Method, Method> dispatchTable = dispatchTables.get(implementingClass);
+        Method implementingMethod = dispatchTable.get(method);
+        if (implementingMethod == null) {
+            implementingMethod = implementingClass.getMethod(method.getName(), method.getParameterTypes());
+            dispatchTable.putIfAbsent(method, implementingMethod);
+        }
+        return implementingMethod;
+    }
+
     private static PyObjectValueProxyClass createProxyClass(Class proxyClass, PyObject pyObject) throws Exception {
         Constructor<?> constructor = proxyClass.getConstructors()[0];
         for (Constructor<?> con : proxyClass.getConstructors()) {
@@ -107,6 +113,14 @@ public class PyObjectValueProxyFactory {
         }
     }
 
+    private static class DispatchTables extends ClassValue<ConcurrentMap<Method, Method>> {
+
+        @Override
+        protected ConcurrentMap<Method, Method> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    }
+
     private static class PyObjectValueMethodFilter implements MethodFilter {
 
         @Override
@@ -134,11 +148,9 @@ public class PyObjectValueProxyFactory {
             if (thisMethod.getName().equals(ACCESSED_GETTER_METHOD)) {
                 return accessed;
             } else if (Value.class.isAssignableFrom(thisMethod.getDeclaringClass())) {
-                Method valueMethod = value.getClass().getMethod(thisMethod.getName(), thisMethod.getParameterTypes());
-                return valueMethod.invoke(value, args);
+                return getImplementingMethod(value.getClass(), thisMethod).invoke(value, args);
             } else if (PyObject.class.isAssignableFrom(thisMethod.getDeclaringClass())) {
-                Method pyObjectMethod = pyObject.getClass()
-                        .getMethod(thisMethod.getName(), thisMethod.getParameterTypes());
+                Method pyObjectMethod = getImplementingMethod(pyObject.getClass(), thisMethod);
                 if (!thisMethod.getName().equals("toString")) {
                     accessed = true;
                 }
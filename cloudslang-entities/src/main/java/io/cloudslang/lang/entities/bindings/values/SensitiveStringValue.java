@@ -11,6 +11,7 @@ package io.cloudslang.lang.entities.bindings.values;
 
 import io.cloudslang.lang.entities.encryption.EncryptionProvider;
 import java.io.Serializable;
+import java.util.Arrays;
 
 /**
  * User: eisentha
@@ -18,6 +19,8 @@ import java.io.Serializable;
  */
 public class SensitiveStringValue extends SensitiveValue {
 
+    private static final long serialVersionUID = 1016328268790281844L;
+
     @SuppressWarnings("unused")
     public SensitiveStringValue() {
     }
@@ -26,6 +29,11 @@ public class SensitiveStringValue extends SensitiveValue {
         super(content, preEncrypted);
     }
 
+    @Override
+    protected SensitiveValue createEmptyCopy() {
+        return new SensitiveStringValue();
+    }
+
     @Override
     protected String encrypt(Serializable originalContent) {
         String plaintext = (String) originalContent;
@@ -35,6 +43,8 @@ public class SensitiveStringValue extends SensitiveValue {
     @Override
     protected Serializable decrypt(String content) {
         char[] decrypted = EncryptionProvider.get().decrypt(content);
-        return new String(decrypted);
+        String plaintext = new String(decrypted);
+        Arrays.fill(decrypted, '\0');
+        return plaintext;
     }
 }
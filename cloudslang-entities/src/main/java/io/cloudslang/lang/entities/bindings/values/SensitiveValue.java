@@ -17,6 +17,7 @@ import java.io.ByteArrayOutputStream;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.io.Serializable;
+import java.util.Arrays;
 
 import io.cloudslang.lang.spi.encryption.Encryption;
 import javassist.util.proxy.ProxyObjectInputStream;
@@ -31,6 +32,8 @@ import org.apache.commons.io.IOUtils;
  */
 public class SensitiveValue implements Value {
 
+    private static final long serialVersionUID = -229480158915718815L;
+
     public static final String SENSITIVE_VALUE_MASK = "********";
 
     private String content = null;
@@ -69,6 +72,42 @@ public class SensitiveValue implements Value {
         }
     }
 
+    /**
+     * Copies this value without encrypting its content again, as the encrypted content is immutable.
+     * A copy is encrypted by the default sensitivity level, so only an encrypted content is shared,
+     * and an obfuscated one is encrypted again.
+     *
+     * @return the copy sharing the encrypted content, or null if the content of this value is not encrypted
+     */
+    SensitiveValue copyEncrypted() {
+        return copyEncrypted(SensitivityLevel.ENCRYPTED);
+    }
+
+    /**
+     * @return the copy sharing the encrypted content, or null if the content of this value is not encrypted
+     *     by the given sensitivity level
+     */
+    SensitiveValue copyEncrypted(SensitivityLevel sensitivityLevel) {
+        if (content == null || originalContent != null || this.sensitivityLevel != sensitivityLevel) {
+            return null;
+        }
+        SensitiveValue copy = createEmptyCopy();
+        if (copy == null) {
+            return null;
+        }
+        copy.content = content;
+        copy.sensitivityLevel = sensitivityLevel;
+        return copy;
+    }
+
+    /**
+     * @return an empty value of the same class, or null if the copies must not share the encrypted content.
+     *     A subclass may encrypt its content differently, so it shares it only by overriding this method.
+     */
+    protected SensitiveValue createEmptyCopy() {
+        return getClass() == SensitiveValue.class ? new SensitiveValue() : null;
+    }
+
     public void encrypt() {
         if (originalContent != null) {
             content = encrypt(originalContent);
@@ -77,13 +116,19 @@ public class SensitiveValue implements Value {
     }
 
     protected String encrypt(Serializable originalContent) {
-        byte[] serialized = serialize(originalContent);
-        String serializedAsString = Base64.encodeBase64String(serialized);
+        char[] encoded = CompactSensitiveEncoding.encode(originalContent);
+        if (encoded == null) {
+            encoded = Base64.encodeBase64String(serialize(originalContent)).toCharArray();
+        }
         Encryption encryption = EncryptionProvider.get();
-        if (SensitivityLevel.OBFUSCATED == sensitivityLevel) {
-            return encryption.obfuscate(serializedAsString);
-        } else {
-            return encryption.encrypt(serializedAsString.toCharArray());
+        try {
+            if (SensitivityLevel.OBFUSCATED == sensitivityLevel) {
+                return encryption.obfuscate(new String(encoded));
+            } else {
+                return encryption.encrypt(encoded);
+            }
+        } finally {
+            Arrays.fill(encoded, '\0');
         }
     }
 
@@ -102,10 +147,22 @@ public class SensitiveValue implements Value {
         } else {
             decrypted = encryption.decrypt(content);
         }
+        if (CompactSensitiveEncoding.isEncoded(decrypted)) {
+            try {
+                return CompactSensitiveEncoding.decode(decrypted);
+            } finally {
+                Arrays.fill(decrypted, '\0');
+            }
+        }
         String serializedAsString = new String(decrypted);
+        Arrays.fill(decrypted, '\0');
 
         byte[] serialized = Base64.decodeBase64(serializedAsString);
-        return deserialize(serialized);
+        try {
+            return deserialize(serialized);
+        } finally {
+            Arrays.fill(serialized, (byte) 0);
+        }
     }
 
     public String getContent() {
@@ -118,7 +175,20 @@ public class SensitiveValue implements Value {
 
     @Override
     public Serializable get() {
-        return (originalContent != null) ? originalContent : ((content == null) ? null : decrypt(content));
+        return (originalContent != null) ? originalContent : ((content == null) ? null : decryptCached(content));
+    }
+
+    // obfuscated contents are cheap to restore, only the encrypted ones are worth caching
+    private Serializable decryptCached(String content) {
+        if (SensitivityLevel.ENCRYPTED != sensitivityLevel) {
+            return decrypt(content);
+        }
+        Serializable decryptedContent = DecryptionCache.get(getClass(), content);
+        if (decryptedContent == null) {
+            decryptedContent = decrypt(content);
+            DecryptionCache.put(getClass(), content, decryptedContent);
+        }
+        return decryptedContent;
     }
 
     @JsonIgnore
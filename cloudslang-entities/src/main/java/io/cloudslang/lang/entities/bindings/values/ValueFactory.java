@@ -24,7 +24,15 @@ public abstract class ValueFactory implements Serializable {
         return create(content, false);
     }
 
+    /**
+     * A copy of an encrypted sensitive value shares its encrypted content instead of encrypting it again.
+     */
     public static Value create(Serializable serializable, boolean sensitive) {
+        Value encryptedCopy = serializable instanceof SensitiveValue ?
+                ((SensitiveValue) serializable).copyEncrypted() : null;
+        if (encryptedCopy != null) {
+            return encryptedCopy;
+        }
         return serializable instanceof Value ?
                 ValueFactory.createValue(((Value) serializable).get(),
                         ((Value) serializable).isSensitive() || sensitive) :
@@ -32,6 +40,11 @@ public abstract class ValueFactory implements Serializable {
     }
 
     public static Value create(Serializable serializable, boolean sensitive, SensitivityLevel sensitivityLevel) {
+        Value encryptedCopy = serializable instanceof SensitiveValue ?
+                ((SensitiveValue) serializable).copyEncrypted(sensitivityLevel) : null;
+        if (encryptedCopy != null) {
+            return encryptedCopy;
+        }
         return serializable instanceof Value ?
                 ValueFactory.createValue(((Value) serializable).get(),
                         ((Value) serializable).isSensitive() || sensitive, sensitivityLevel) :
@@ -11,6 +11,7 @@ package io.cloudslang.lang.entities.properties;
 
 public enum EventVerbosityLevel {
     ALL("all"),
+    DELTA("delta"),
     DEFAULT("default");
 
     private final String value;
@@ -12,7 +12,9 @@ package io.cloudslang.lang.entities.properties;
 public enum SlangSystemPropertyConstant {
     CSLANG_ENCODING("cslang.encoding"),
     LOG4J_CONFIGURATION("log4j.configuration"),
-    CSLANG_RUNTIME_EVENTS_VERBOSITY("cslang.runtime.events.verbosity");
+    CSLANG_RUNTIME_EVENTS_VERBOSITY("cslang.runtime.events.verbosity"),
+    CSLANG_RUNTIME_EVENTS_FULL_CONTEXT_INTERVAL("cslang.runtime.events.full.context.interval"),
+    CSLANG_RUNTIME_EVENTS_SUBSCRIBED_ONLY("cslang.runtime.events.subscribed.only");
 
     private final String value;
 
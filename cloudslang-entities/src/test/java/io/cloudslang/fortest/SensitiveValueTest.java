@@ -10,11 +10,18 @@
 package io.cloudslang.fortest;
 
 import configuration.SlangEntitiesSpringConfig;
+import io.cloudslang.lang.entities.SensitivityLevel;
+import io.cloudslang.lang.entities.bindings.values.DecryptionCache;
+import io.cloudslang.lang.entities.bindings.values.SensitiveStringValue;
 import io.cloudslang.lang.entities.bindings.values.SensitiveValue;
+import io.cloudslang.lang.entities.bindings.values.Value;
 import io.cloudslang.lang.entities.bindings.values.ValueFactory;
 import io.cloudslang.lang.spi.encryption.Encryption;
 
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -26,6 +33,7 @@ import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertTrue;
 
 /**
@@ -37,11 +45,13 @@ import static org.junit.Assert.assertTrue;
 public class SensitiveValueTest {
     private static final String ENCRYPTED = "{Encrypted}";
     private static final String OBFUSCATED = "{Obfuscated}";
+    private static final AtomicInteger ENCRYPTIONS = new AtomicInteger();
+    private static final AtomicInteger DECRYPTIONS = new AtomicInteger();
 
     @Test
     public void testSensitiveValueEncryptDecrypt() {
         final String originalValue = "OriginalSensitiveValue";
-        final String expectedEncryptedString = "{Encrypted}rO0ABXQAFk9yaWdpbmFsU2Vuc2l0aXZlVmFsdWU=";
+        final String expectedEncryptedString = "{Encrypted}~1SOriginalSensitiveValue";
 
         SensitiveValue value = (SensitiveValue) ValueFactory.create(originalValue, true);
         verifyEncrypted(value, originalValue, expectedEncryptedString);
@@ -110,6 +120,142 @@ public class SensitiveValueTest {
         verifyEncrypted(value, expectedDecryptedValue, encryptedString);
     }
 
+    @Test
+    public void testPrimitiveSensitiveValuesEncoding() {
+        SensitiveValue intValue = (SensitiveValue) ValueFactory.create(42, true);
+        final SensitiveValue longValue = (SensitiveValue) ValueFactory.create(42L, true);
+        final SensitiveValue booleanValue = (SensitiveValue) ValueFactory.create(true, true);
+
+        assertEquals("{Encrypted}~1I42", intValue.getContent());
+        assertEquals(42, intValue.get());
+        assertEquals("{Encrypted}~1L42", longValue.getContent());
+        assertEquals(42L, longValue.get());
+        assertEquals("{Encrypted}~1Btrue", booleanValue.getContent());
+        assertEquals(true, booleanValue.get());
+    }
+
+    @Test
+    public void testSerializedSensitiveValuesEncoding() {
+        ArrayList<String> originalValue = new ArrayList<>(Arrays.asList("a", "b"));
+
+        SensitiveValue value = (SensitiveValue) ValueFactory.create(originalValue, true);
+
+        assertTrue(value.getContent().startsWith("{Encrypted}rO0AB"));
+        assertEquals(originalValue, value.get());
+    }
+
+    @Test
+    public void testSerializedStringSensitiveValueDecoding() {
+        SensitiveValue value = (SensitiveValue) ValueFactory.create("", true);
+        value.setContent("{Encrypted}rO0ABXQAFk9yaWdpbmFsU2Vuc2l0aXZlVmFsdWU=");
+
+        assertEquals("OriginalSensitiveValue", value.get());
+        value.decrypt();
+        value.encrypt();
+        assertEquals("{Encrypted}~1SOriginalSensitiveValue", value.getContent());
+    }
+
+    @Test
+    public void testCopySharesEncryptedContent() {
+        SensitiveValue value = (SensitiveValue) ValueFactory.create("sharedValue", true);
+        SensitiveStringValue stringValue = ValueFactory.createEncryptedString("sharedString");
+        final int encryptions = ENCRYPTIONS.get();
+        final int decryptions = DECRYPTIONS.get();
+
+        Value copy = ValueFactory.create(value, false);
+        final Value stringCopy = ValueFactory.create(stringValue);
+
+        assertEquals(encryptions, ENCRYPTIONS.get());
+        assertEquals(decryptions, DECRYPTIONS.get());
+        assertNotSame(value, copy);
+        assertEquals(value, copy);
+        assertEquals("sharedValue", copy.get());
+        assertEquals(SensitiveStringValue.class, stringCopy.getClass());
+        assertEquals("sharedString", stringCopy.get());
+    }
+
+    @Test
+    public void testCopyOfDecryptedValueIsEncrypted() {
+        SensitiveValue value = (SensitiveValue) ValueFactory.create("decryptedValue", true);
+        value.decrypt();
+        final int encryptions = ENCRYPTIONS.get();
+
+        SensitiveValue copy = (SensitiveValue) ValueFactory.create(value, false);
+
+        assertEquals(encryptions + 1, ENCRYPTIONS.get());
+        assertEquals("{Encrypted}~1SdecryptedValue", copy.getContent());
+    }
+
+    @Test
+    public void testCopyToOtherSensitivityLevelIsEncryptedAgain() {
+        Value value = ValueFactory.create("obfuscatedValue", true, SensitivityLevel.OBFUSCATED);
+
+        SensitiveValue copy = (SensitiveValue) ValueFactory.create(value, true, SensitivityLevel.ENCRYPTED);
+
+        assertEquals("{Encrypted}~1SobfuscatedValue", copy.getContent());
+        assertEquals("obfuscatedValue", copy.get());
+    }
+
+    @Test
+    public void testCopyOfObfuscatedValueIsEncrypted() {
+        Value value = ValueFactory.create("obfuscatedValue", true, SensitivityLevel.OBFUSCATED);
+        final int encryptions = ENCRYPTIONS.get();
+
+        SensitiveValue copy = (SensitiveValue) ValueFactory.create(value, false);
+
+        assertEquals(encryptions + 1, ENCRYPTIONS.get());
+        assertEquals("{Encrypted}~1SobfuscatedValue", copy.getContent());
+        assertEquals("obfuscatedValue", copy.get());
+    }
+
+    @Test
+    public void testCopyOfSubclassWithoutEmptyCopyIsEncrypted() {
+        SensitiveValue value = new CustomSensitiveValue("customValue");
+        final int encryptions = ENCRYPTIONS.get();
+
+        Value copy = ValueFactory.create(value, false);
+
+        assertEquals(encryptions + 1, ENCRYPTIONS.get());
+        assertEquals("customValue", copy.get());
+    }
+
+    @Test
+    public void testDecryptionCacheWhileOpen() {
+        SensitiveValue value = (SensitiveValue) ValueFactory.create("cachedValue", true);
+        SensitiveValue copy = (SensitiveValue) ValueFactory.create(value);
+        final int decryptions = DECRYPTIONS.get();
+
+        DecryptionCache.open();
+        try {
+            assertEquals("cachedValue", value.get());
+            assertEquals("cachedValue", copy.get());
+            assertEquals(decryptions + 1, DECRYPTIONS.get());
+
+            DecryptionCache.clear();
+            assertEquals("cachedValue", value.get());
+            assertEquals(decryptions + 2, DECRYPTIONS.get());
+        } finally {
+            DecryptionCache.close();
+        }
+
+        assertEquals("cachedValue", value.get());
+        assertEquals(decryptions + 3, DECRYPTIONS.get());
+    }
+
+    @Test
+    public void testDecryptionCacheSkipsMutableContents() {
+        SensitiveValue value = (SensitiveValue) ValueFactory.create(new ArrayList<>(Arrays.asList("a", "b")), true);
+        final int decryptions = DECRYPTIONS.get();
+
+        DecryptionCache.open();
+        try {
+            assertNotSame(value.get(), value.get());
+            assertEquals(decryptions + 2, DECRYPTIONS.get());
+        } finally {
+            DecryptionCache.close();
+        }
+    }
+
     private void verifyEncrypted(SensitiveValue value, Serializable expectedOriginalValue,
                                  String expectedEncryptedString) {
 
@@ -131,6 +277,13 @@ public class SensitiveValueTest {
         assertTrue(value.isSensitive());
     }
 
+    private static class CustomSensitiveValue extends SensitiveValue {
+
+        CustomSensitiveValue(Serializable content) {
+            super(content);
+        }
+    }
+
     @Configuration
     @ComponentScan("io.cloudslang.lang.entities.utils")
     static class SensitiveValueTestConfig {
@@ -141,6 +294,7 @@ public class SensitiveValueTest {
 
                 @Override
                 public String encrypt(char[] clearText) {
+                    ENCRYPTIONS.incrementAndGet();
                     return ENCRYPTED + new String(clearText);
                 }
 
@@ -151,11 +305,12 @@ public class SensitiveValueTest {
 
                 @Override
                 public char[] deobfuscate(String cypherText) {
-                    return cypherText.toCharArray();
+                    return cypherText.substring(OBFUSCATED.length()).toCharArray();
                 }
 
                 @Override
                 public char[] decrypt(String cypherText) {
+                    DECRYPTIONS.incrementAndGet();
                     return cypherText.substring(ENCRYPTED.length()).toCharArray();
                 }
 
@@ -12,6 +12,7 @@ package io.cloudslang.lang.entities.bindings.values;
 import io.cloudslang.lang.entities.encryption.DummyEncryptor;
 import io.cloudslang.lang.spi.encryption.Encryption;
 import junit.framework.Assert;
+import org.python.core.PyObject;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.springframework.context.annotation.Bean;
@@ -42,6 +43,23 @@ public class ValueFactoryTest {
         Assert.assertEquals("value1", pyObjectValue.get());
     }
 
+    @Test
+    public void testPyObjectValuesOfSameClassDispatchToOwnContent() {
+        PyObjectValue first = ValueFactory.createPyObjectValue("first", false, false);
+        PyObjectValue second = ValueFactory.createPyObjectValue("second_value", true, false);
+
+        Assert.assertSame(first.getClass(), second.getClass());
+        for (int i = 0; i < 2; i++) {
+            Assert.assertEquals("first", first.get());
+            Assert.assertEquals("second_value", second.get());
+            Assert.assertFalse(first.isSensitive());
+            Assert.assertTrue(second.isSensitive());
+            Assert.assertEquals(5, ((PyObject) first).__len__());
+            Assert.assertEquals(12, ((PyObject) second).__len__());
+        }
+        Assert.assertTrue(first.isAccessed());
+    }
+
     static class Config {
 
         @Bean
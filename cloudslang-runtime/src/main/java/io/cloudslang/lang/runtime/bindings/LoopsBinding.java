@@ -9,20 +9,33 @@
  *******************************************************************************/
 package io.cloudslang.lang.runtime.bindings;
 
+import io.cloudslang.lang.entities.ListLoopStatement;
 import io.cloudslang.lang.entities.LoopStatement;
 import io.cloudslang.lang.entities.SystemProperty;
+import io.cloudslang.lang.entities.bindings.ScriptFunction;
 import io.cloudslang.lang.entities.bindings.values.Value;
 import io.cloudslang.lang.entities.bindings.values.ValueFactory;
 import io.cloudslang.lang.runtime.bindings.scripts.ScriptEvaluator;
 import io.cloudslang.lang.runtime.env.Context;
+import io.cloudslang.lang.runtime.env.DelimitedStringList;
 import io.cloudslang.lang.runtime.env.ForLoopCondition;
 import io.cloudslang.lang.runtime.env.LoopCondition;
+import io.cloudslang.lang.runtime.env.RangeList;
 
+import java.io.Serializable;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
+import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.Validate;
 import org.apache.log4j.Logger;
+import org.python.core.PyInteger;
+import org.python.core.PyLong;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
@@ -34,6 +47,9 @@ public class LoopsBinding extends AbstractBinding {
     public static final String FOR_LOOP_EXPRESSION_ERROR_MESSAGE = "Error evaluating for loop expression in step";
     public static final String INVALID_MAP_EXPRESSION_MESSAGE = "Invalid expression for iterating maps";
 
+    private static final Pattern RANGE_EXPRESSION_PATTERN =
+            Pattern.compile("\\s*range\\s*\\((.*)\\)\\s*", Pattern.DOTALL);
+
     private final Logger logger = Logger.getLogger(getClass());
 
     @Autowired
@@ -92,19 +108,27 @@ public class LoopsBinding extends AbstractBinding {
             Set<SystemProperty> systemProperties,
             String nodeName) {
         Map<String, Value> variables = flowContext.getImmutableViewOfVariables();
-        Value evalResult;
         String collectionExpression = forLoopStatement.getExpression();
-        try {
-            evalResult = scriptEvaluator.evalExpr(collectionExpression, variables, systemProperties,
-                    forLoopStatement.getFunctionDependencies());
-        } catch (Throwable t) {
-            throw new RuntimeException(FOR_LOOP_EXPRESSION_ERROR_MESSAGE + " '" +
-                    nodeName + "',\n\tError is: " + t.getMessage(), t);
+        ForLoopCondition forLoopCondition = null;
+        if (forLoopStatement instanceof ListLoopStatement) {
+            forLoopCondition = createRangeLoopCondition(collectionExpression, variables, systemProperties,
+                    forLoopStatement.getFunctionDependencies(), nodeName);
         }
 
-        evalResult = getEvalResultForMap(evalResult, forLoopStatement, collectionExpression);
-
-        ForLoopCondition forLoopCondition = createForLoopCondition(evalResult);
+        if (forLoopCondition == null) {
+            Value evalResult;
+            try {
+                evalResult = scriptEvaluator.evalExpr(collectionExpression, variables, systemProperties,
+                        forLoopStatement.getFunctionDependencies());
+            } catch (Throwable t) {
+                throw new RuntimeException(FOR_LOOP_EXPRESSION_ERROR_MESSAGE + " '" +
+                        nodeName + "',\n\tError is: " + t.getMessage(), t);
+            }
+
+            evalResult = getEvalResultForMap(evalResult, forLoopStatement, collectionExpression);
+
+            forLoopCondition = createForLoopCondition(evalResult);
+        }
         if (forLoopCondition == null) {
             throw new RuntimeException("collection expression: '" + collectionExpression +
                     "' in the 'for' loop " +
@@ -119,6 +143,10 @@ public class LoopsBinding extends AbstractBinding {
     }
 
     private ForLoopCondition createForLoopCondition(Value evalResult) {
+        // the elements of a sensitive string are encrypted one by one, the string itself must not be kept
+        if (evalResult.get() instanceof String && !evalResult.isSensitive()) {
+            return new ForLoopCondition(new DelimitedStringList((String) evalResult.get(), evalResult.isSensitive()));
+        }
         Iterable<Value> iterable = getIterableFromEvalResult(evalResult);
         if (iterable == null) {
             return null;
@@ -126,4 +154,100 @@ public class LoopsBinding extends AbstractBinding {
         return new ForLoopCondition(iterable);
     }
 
+    /**
+     * Loops over a plain range(...) call evaluate only the range arguments, the numbers are never materialized.
+     * An error in one of the arguments is the error of the whole expression, so it is not evaluated again.
+     *
+     * @return null if the expression is not a range call with integer arguments, it is then evaluated as a whole
+     */
+    private ForLoopCondition createRangeLoopCondition(
+            String expression,
+            Map<String, Value> variables,
+            Set<SystemProperty> systemProperties,
+            Set<ScriptFunction> functionDependencies,
+            String nodeName) {
+        List<String> arguments = getRangeArguments(expression);
+        if (arguments == null || arguments.size() > 3) {
+            return null;
+        }
+        long[] numbers = new long[arguments.size()];
+        boolean sensitive = false;
+        for (int i = 0; i < numbers.length; i++) {
+            Value argument;
+            try {
+                argument = scriptEvaluator.evalExpr(arguments.get(i), variables, systemProperties,
+                        functionDependencies);
+            } catch (Throwable t) {
+                throw new RuntimeException(FOR_LOOP_EXPRESSION_ERROR_MESSAGE + " '" +
+                        nodeName + "',\n\tError is: " + t.getMessage(), t);
+            }
+            Long number = toLong(argument.get());
+            if (number == null) {
+                return null;
+            }
+            numbers[i] = number;
+            sensitive |= argument.isSensitive();
+        }
+
+        long start = numbers.length > 1 ? numbers[0] : 0;
+        long stop = numbers.length > 1 ? numbers[1] : numbers[0];
+        long step = numbers.length > 2 ? numbers[2] : 1;
+        if (step == 0) {
+            return null;
+        }
+        RangeList range = RangeList.create(start, stop, step, sensitive);
+        if (range == null) {
+            return null;
+        }
+        // the numbers of a sensitive range are encrypted one by one, its bounds must not be kept
+        return new ForLoopCondition(sensitive ? new ArrayList<>(range) : range);
+    }
+
+    private List<String> getRangeArguments(String expression) {
+        Matcher matcher = RANGE_EXPRESSION_PATTERN.matcher(expression);
+        if (!matcher.matches()) {
+            return null;
+        }
+        String arguments = matcher.group(1);
+        List<String> result = new ArrayList<>();
+        int depth = 0;
+        int argumentStart = 0;
+        for (int i = 0; i < arguments.length(); i++) {
+            char character = arguments.charAt(i);
+            if (character == '\'' || character == '"') {
+                return null;
+            } else if (character == '(' || character == '[' || character == '{') {
+                depth++;
+            } else if (character == ')' || character == ']' || character == '}') {
+                if (--depth < 0) {
+                    // e.g. range(1, 2) + range(3, 4)
+                    return null;
+                }
+            } else if (character == ',' && depth == 0) {
+                result.add(arguments.substring(argumentStart, i));
+                argumentStart = i + 1;
+            }
+        }
+        result.add(arguments.substring(argumentStart));
+        for (String argument : result) {
+            if (StringUtils.isBlank(argument)) {
+                return null;
+            }
+        }
+        return depth == 0 ? result : null;
+    }
+
+    private Long toLong(Serializable value) {
+        if (value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte) {
+            return ((Number) value).longValue();
+        } else if (value instanceof BigInteger && ((BigInteger) value).bitLength() < Long.SIZE) {
+            return ((BigInteger) value).longValue();
+        } else if (value instanceof PyInteger) {
+            return (long) ((PyInteger) value).getValue();
+        } else if (value instanceof PyLong && ((PyLong) value).getValue().bitLength() < Long.SIZE) {
+            return ((PyLong) value).getValue().longValue();
+        }
+        return null;
+    }
+
 }
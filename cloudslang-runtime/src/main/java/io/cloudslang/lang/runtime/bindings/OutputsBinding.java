@@ -11,13 +11,18 @@ package io.cloudslang.lang.runtime.bindings;
 
 import io.cloudslang.lang.entities.SystemProperty;
 import io.cloudslang.lang.entities.bindings.Output;
+import io.cloudslang.lang.entities.bindings.ScriptFunction;
 import io.cloudslang.lang.entities.bindings.values.Value;
 import io.cloudslang.lang.entities.bindings.values.ValueFactory;
 import io.cloudslang.lang.entities.utils.ExpressionUtils;
 import io.cloudslang.lang.entities.utils.MapUtils;
 import io.cloudslang.lang.runtime.bindings.scripts.ScriptEvaluator;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -47,6 +52,7 @@ public class OutputsBinding extends AbstractBinding {
         Map<String, Value> context = new HashMap<>(initialContext);
 
         if (possibleOutputs != null) {
+            Map<Output, Value> batchValues = evalIndependentOutputs(context, systemProperties, possibleOutputs);
             for (Output output : possibleOutputs) {
                 String outputKey = output.getName();
                 String errorMessagePrefix = "Binding output: '" + output.getName() + " failed";
@@ -58,8 +64,9 @@ public class OutputsBinding extends AbstractBinding {
                     context.put(outputKey, context.get(outputKey));
                     try {
                         //evaluate expression
-                        Value value = scriptEvaluator.evalExpr(expressionToEvaluate, context,
-                                systemProperties, output.getFunctionDependencies());
+                        Value value = batchValues.containsKey(output) ? batchValues.get(output) :
+                                scriptEvaluator.evalExpr(expressionToEvaluate, context, systemProperties,
+                                        output.getFunctionDependencies());
                         valueToAssign = ValueFactory.create(value, rawValue != null && rawValue.isSensitive());
                     } catch (Throwable t) {
                         throw new RuntimeException(errorMessagePrefix + "',\n\t" + t.getMessage(), t);
@@ -72,4 +79,77 @@ public class OutputsBinding extends AbstractBinding {
         }
         return outputs;
     }
+
+    /**
+     * Evaluates together the outputs that do not read other outputs, sensitive values or system properties,
+     * as those see the same context as when bound one by one.
+     * When the evaluation fails, all the outputs are bound one by one, so that the error refers to the failing output.
+     *
+     * @return the values of the evaluated outputs
+     */
+    private Map<Output, Value> evalIndependentOutputs(Map<String, Value> context,
+                                                      Set<SystemProperty> systemProperties,
+                                                      List<Output> possibleOutputs) {
+        Set<String> outputNames = new HashSet<>();
+        Set<String> duplicateOutputNames = new HashSet<>();
+        for (Output output : possibleOutputs) {
+            if (!outputNames.add(output.getName())) {
+                duplicateOutputNames.add(output.getName());
+            }
+        }
+
+        List<Output> independentOutputs = new ArrayList<>();
+        List<String> expressions = new ArrayList<>();
+        List<Set<ScriptFunction>> functionDependencies = new ArrayList<>();
+        Map<String, Value> batchContext = new HashMap<>(context);
+        for (Output output : possibleOutputs) {
+            Value rawValue = output.getValue();
+            String expression = extractExpression(rawValue == null ? null : rawValue.get());
+            if (expression != null && !duplicateOutputNames.contains(output.getName()) &&
+                    isIndependent(expression, output, context, outputNames)) {
+                independentOutputs.add(output);
+                expressions.add(expression);
+                functionDependencies.add(output.getFunctionDependencies());
+                // initialize with null value if key does not exist
+                batchContext.put(output.getName(), context.get(output.getName()));
+            }
+        }
+        if (independentOutputs.size() < 2) {
+            return Collections.emptyMap();
+        }
+
+        List<Value> values;
+        try {
+            values = scriptEvaluator.evalExprs(expressions, batchContext, systemProperties, functionDependencies);
+        } catch (RuntimeException ex) {
+            return Collections.emptyMap();
+        }
+        if (values == null) {
+            return Collections.emptyMap();
+        }
+        Map<Output, Value> batchValues = new IdentityHashMap<>();
+        for (int index = 0; index < independentOutputs.size(); index++) {
+            batchValues.put(independentOutputs.get(index), values.get(index));
+        }
+        return batchValues;
+    }
+
+    private boolean isIndependent(String expression, Output output, Map<String, Value> context,
+                                  Set<String> outputNames) {
+        if (output.getFunctionDependencies().contains(ScriptFunction.GET_SYSTEM_PROPERTY)) {
+            return false;
+        }
+        Set<String> referencedNames = scriptEvaluator.getReferencedNames(expression);
+        if (referencedNames == null) {
+            return false;
+        }
+        for (String name : referencedNames) {
+            Value value = context.get(name);
+            boolean otherOutput = outputNames.contains(name) && !name.equals(output.getName());
+            if (otherOutput || value != null && value.isSensitive()) {
+                return false;
+            }
+        }
+        return true;
+    }
 }
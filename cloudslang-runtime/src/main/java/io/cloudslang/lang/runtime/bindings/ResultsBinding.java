@@ -14,12 +14,16 @@ package io.cloudslang.lang.runtime.bindings;
 import io.cloudslang.lang.entities.ScoreLangConstants;
 import io.cloudslang.lang.entities.SystemProperty;
 import io.cloudslang.lang.entities.bindings.Result;
+import io.cloudslang.lang.entities.bindings.ScriptFunction;
 import io.cloudslang.lang.entities.bindings.values.Value;
 import io.cloudslang.lang.entities.utils.ExpressionUtils;
 import io.cloudslang.lang.entities.utils.MapUtils;
 import io.cloudslang.lang.entities.utils.ResultUtils;
 import io.cloudslang.lang.runtime.bindings.scripts.ScriptEvaluator;
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -35,6 +39,10 @@ import org.springframework.stereotype.Component;
 @Component
 public class ResultsBinding {
 
+    // names used by the batch expression, which must not be hidden by variables
+    private static final List<String> BATCH_EXPRESSION_NAMES =
+            Arrays.asList("next", "type", "bool", "int", "enumerate");
+
     @Autowired
     public ScriptEvaluator scriptEvaluator;
 
@@ -81,7 +89,12 @@ public class ResultsBinding {
 
         // In the case of operation, we resolve the result by searching for the first result with a true expression
         // An empty expression passes as true
-        for (Result result : possibleResults) {
+        Map<String, Value> scriptContext = MapUtils.mergeMaps(inputs, context);
+        int firstResultToEvaluate = resolveResultsInBatch(scriptContext, systemProperties, possibleResults);
+        if (firstResultToEvaluate < 0) {
+            return possibleResults.get(-firstResultToEvaluate - 1).getName();
+        }
+        for (Result result : possibleResults.subList(firstResultToEvaluate, possibleResults.size())) {
             String resultName = result.getName();
 
             if (ResultUtils.isDefaultResult(result)) {
@@ -98,8 +111,6 @@ public class ResultsBinding {
                                     " expression " + ScoreLangConstants.EXPRESSION_END_DELIMITER);
                 }
 
-                Map<String, Value> scriptContext = MapUtils.mergeMaps(inputs, context);
-
                 try {
                     Value expressionResult = scriptEvaluator.evalExpr(expression, scriptContext, systemProperties,
                             result.getFunctionDependencies());
@@ -130,4 +141,52 @@ public class ResultsBinding {
         throw new RuntimeException("No possible result was resolved");
     }
 
+    /**
+     * Evaluates the leading result expressions of an operation in a single evaluation, which returns the position
+     * of the first result that is true, or of the first result that is not a boolean.
+     * Any result that needs an error reported is left to the evaluation of the results one by one.
+     *
+     * @return minus one less the position of the resolved result, or the position of the first result
+     *     that is left to be evaluated one by one
+     */
+    private int resolveResultsInBatch(Map<String, Value> scriptContext, Set<SystemProperty> systemProperties,
+                                      List<Result> possibleResults) {
+        List<String> expressions = new ArrayList<>();
+        Set<ScriptFunction> functionDependencies = EnumSet.noneOf(ScriptFunction.class);
+        for (Result result : possibleResults) {
+            Serializable rawValue = result.getValue() == null ? null : result.getValue().get();
+            String expression = ExpressionUtils.extractExpression(rawValue);
+            if (ResultUtils.isDefaultResult(result) || !(rawValue instanceof String) || expression == null) {
+                break;
+            }
+            expressions.add(expression);
+            functionDependencies.addAll(result.getFunctionDependencies());
+        }
+        if (expressions.size() < 2 || CollectionUtils.containsAny(scriptContext.keySet(), BATCH_EXPRESSION_NAMES)) {
+            return 0;
+        }
+
+        StringBuilder batchExpression = new StringBuilder("next((2 * i + (type(v) not in (bool, int)) for i, v in " +
+                "((i, f()) for i, f in enumerate([");
+        for (String expression : expressions) {
+            batchExpression.append("lambda: (").append(expression).append("\n),");
+        }
+        batchExpression.append("])) if type(v) not in (bool, int) or v), ").append(2 * expressions.size())
+                .append(")");
+
+        Serializable position;
+        try {
+            position = scriptEvaluator.evalExpr(batchExpression.toString(), scriptContext, systemProperties,
+                    functionDependencies).get();
+        } catch (RuntimeException ex) {
+            return 0;
+        }
+        if (!(position instanceof Number)) {
+            return 0;
+        }
+        int resultPosition = ((Number) position).intValue() / 2;
+        boolean resolved = ((Number) position).intValue() % 2 == 0 && resultPosition < expressions.size();
+        return resolved ? -resultPosition - 1 : resultPosition;
+    }
+
 }
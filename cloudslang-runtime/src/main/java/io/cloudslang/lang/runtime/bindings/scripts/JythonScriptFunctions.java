@@ -0,0 +1,120 @@
+/*******************************************************************************
+ * (c) Copyright 2016 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.lang.runtime.bindings.scripts;
+
+import io.cloudslang.lang.entities.bindings.ScriptFunction;
+import org.python.core.ArgParser;
+import org.python.core.Py;
+import org.python.core.PyObject;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * The functions available to expressions, implemented once for the Jython interpreter instead of being defined
+ * by a script before every evaluation.
+ * <p>
+ * The functions read the variables of the expression from the globals of the calling frame, like the functions
+ * defined in python would.
+ */
+final class JythonScriptFunctions {
+
+    private static final String SYSTEM_PROPERTIES_MAP = "sys_prop";
+
+    private static final String[] GET_PARAMETERS = {"key", "default_value"};
+    private static final String[] CHECK_EMPTY_PARAMETERS = {"value_to_check", "default_value"};
+
+    private static final Map<ScriptFunction, ScriptFunctionObject> FUNCTIONS = new EnumMap<>(ScriptFunction.class);
+
+    static {
+        FUNCTIONS.put(ScriptFunction.GET, new Get());
+        FUNCTIONS.put(ScriptFunction.GET_SYSTEM_PROPERTY, new GetSystemProperty());
+        FUNCTIONS.put(ScriptFunction.CHECK_EMPTY, new CheckEmpty());
+    }
+
+    private JythonScriptFunctions() {
+    }
+
+    static ScriptFunctionObject get(ScriptFunction function) {
+        ScriptFunctionObject functionObject = FUNCTIONS.get(function);
+        if (functionObject == null) {
+            throw new RuntimeException("Error adding function to context: '" + function.getValue() +
+                    "' is not valid.");
+        }
+        return functionObject;
+    }
+
+    private static PyObject defaultIfNone(PyObject value, PyObject defaultValue) {
+        return value == Py.None ? defaultValue : value;
+    }
+
+    abstract static class ScriptFunctionObject extends PyObject {
+
+        private final String name;
+        private final String[] parameters;
+
+        ScriptFunctionObject(String name, String[] parameters) {
+            this.name = name;
+            this.parameters = parameters;
+        }
+
+        String getName() {
+            return name;
+        }
+
+        @Override
+        public PyObject __call__(PyObject[] args, String[] keywords) {
+            ArgParser argParser = new ArgParser(name, args, keywords, parameters, 1);
+            return call(argParser.getPyObject(0), argParser.getPyObject(1, Py.None));
+        }
+
+        abstract PyObject call(PyObject firstArgument, PyObject defaultValue);
+    }
+
+    private static class Get extends ScriptFunctionObject {
+
+        Get() {
+            super("get", GET_PARAMETERS);
+        }
+
+        @Override
+        PyObject call(PyObject key, PyObject defaultValue) {
+            return defaultIfNone(Py.getFrame().f_globals.invoke("get", key), defaultValue);
+        }
+    }
+
+    private static class GetSystemProperty extends ScriptFunctionObject {
+
+        GetSystemProperty() {
+            super("get_sp", GET_PARAMETERS);
+        }
+
+        @Override
+        PyObject call(PyObject key, PyObject defaultValue) {
+            PyObject systemProperties = Py.getFrame().f_globals.__finditem__(SYSTEM_PROPERTIES_MAP);
+            if (systemProperties == null) {
+                throw Py.NameError("global name '" + SYSTEM_PROPERTIES_MAP + "' is not defined");
+            }
+            return defaultIfNone(systemProperties.invoke("get", key), defaultValue);
+        }
+    }
+
+    private static class CheckEmpty extends ScriptFunctionObject {
+
+        CheckEmpty() {
+            super("check_empty", CHECK_EMPTY_PARAMETERS);
+        }
+
+        @Override
+        PyObject call(PyObject valueToCheck, PyObject defaultValue) {
+            return defaultIfNone(valueToCheck, defaultValue);
+        }
+    }
+}
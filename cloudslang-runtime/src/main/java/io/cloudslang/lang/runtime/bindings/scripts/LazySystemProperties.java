@@ -0,0 +1,94 @@
+/*******************************************************************************
+ * (c) Copyright 2016 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.lang.runtime.bindings.scripts;
+
+import io.cloudslang.lang.entities.bindings.values.PyObjectValue;
+import io.cloudslang.lang.entities.bindings.values.Value;
+import io.cloudslang.lang.entities.bindings.values.ValueFactory;
+
+import java.io.Serializable;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The system properties of a single Jython evaluation, over the properties shared by all the evaluations.
+ * A property is wrapped in a {@link PyObjectValue} only when it is read, so the access tracking of the wrapper
+ * belongs to this evaluation alone.
+ */
+class LazySystemProperties extends AbstractMap<String, Value> implements Serializable {
+
+    private static final long serialVersionUID = -3590781396738823524L;
+
+    private final Map<String, Value> properties;
+    private final Map<String, PyObjectValue> wrappedProperties = new HashMap<>();
+
+    LazySystemProperties(Map<String, Value> properties) {
+        this.properties = properties;
+    }
+
+    @Override
+    public Value get(Object key) {
+        PyObjectValue wrappedProperty = wrappedProperties.get(key);
+        if (wrappedProperty == null && properties.containsKey(key)) {
+            wrappedProperty = ValueFactory.createPyObjectValue(properties.get(key), false);
+            wrappedProperties.put((String) key, wrappedProperty);
+        }
+        return wrappedProperty;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return properties.containsKey(key);
+    }
+
+    @Override
+    public int size() {
+        return properties.size();
+    }
+
+    @Override
+    public Set<Entry<String, Value>> entrySet() {
+        return new AbstractSet<Entry<String, Value>>() {
+            @Override
+            public Iterator<Entry<String, Value>> iterator() {
+                Iterator<String> keys = properties.keySet().iterator();
+                return new Iterator<Entry<String, Value>>() {
+                    @Override
+                    public boolean hasNext() {
+                        return keys.hasNext();
+                    }
+
+                    @Override
+                    public Entry<String, Value> next() {
+                        String key = keys.next();
+                        return new SimpleImmutableEntry<>(key, get(key));
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return properties.size();
+            }
+        };
+    }
+
+    /**
+     * @return the properties read during this evaluation
+     */
+    Collection<PyObjectValue> getWrappedProperties() {
+        return wrappedProperties.values();
+    }
+}
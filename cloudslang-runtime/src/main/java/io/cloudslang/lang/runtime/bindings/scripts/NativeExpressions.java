@@ -0,0 +1,230 @@
+/*******************************************************************************
+ * (c) Copyright 2016 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.lang.runtime.bindings.scripts;
+
+import io.cloudslang.lang.entities.bindings.ScriptFunction;
+import io.cloudslang.lang.entities.bindings.values.Value;
+import io.cloudslang.lang.entities.bindings.values.ValueFactory;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Evaluates the most common trivial expressions without python, with the same result as python would give:
+ * <ul>
+ * <li>a variable, e.g. {@code var}</li>
+ * <li>a string literal, e.g. {@code 'literal'}</li>
+ * <li>{@code get} and {@code get_sp} with a string literal key and an optional string literal default</li>
+ * <li>a comparison of a variable to a string literal, e.g. {@code var == 'true'}</li>
+ * </ul>
+ * Only printable ASCII literals without escapes are supported, and only variables holding strings. For anything
+ * else evaluating returns null, and the expression is evaluated by python.
+ */
+final class NativeExpressions {
+
+    private static final String IDENTIFIER = "([A-Za-z_][A-Za-z0-9_]*)";
+    private static final String LITERAL =
+            "(?:'([\\x20-\\x26\\x28-\\x5B\\x5D-\\x7E]*)'|\"([\\x20\\x21\\x23-\\x5B\\x5D-\\x7E]*)\")";
+
+    private static final Pattern VARIABLE_PATTERN = Pattern.compile(IDENTIFIER);
+    private static final Pattern LITERAL_PATTERN = Pattern.compile(LITERAL);
+    private static final Pattern GET_PATTERN = Pattern.compile("(get|get_sp)\\s*\\(\\s*" + LITERAL +
+            "\\s*(?:,\\s*(?:default_value\\s*=\\s*)?" + LITERAL + "\\s*)?\\)");
+    private static final Pattern VARIABLE_COMPARISON_PATTERN =
+            Pattern.compile(IDENTIFIER + "\\s*(==|!=)\\s*" + LITERAL);
+    private static final Pattern LITERAL_COMPARISON_PATTERN =
+            Pattern.compile(LITERAL + "\\s*(==|!=)\\s*" + IDENTIFIER);
+
+    private static final Set<String> KEYWORDS = new HashSet<>(Arrays.asList("and", "as", "assert", "break",
+            "class", "continue", "def", "del", "elif", "else", "except", "exec", "finally", "for", "from", "global",
+            "if", "import", "in", "is", "lambda", "nonlocal", "not", "or", "pass", "print", "raise", "return", "try",
+            "while", "with", "yield", "None", "True", "False"));
+    // names the Jython interpreter defines besides the context, which may replace variables of the same name
+    private static final Set<String> INTERPRETER_NAMES = new HashSet<>(Arrays.asList("true", "false", "get",
+            "get_sp", "check_empty", "sys_prop"));
+
+    private NativeExpressions() {
+    }
+
+    /**
+     * @return the native form of the expression, or null if it must be evaluated by python
+     */
+    static NativeExpression parse(String expression) {
+        String trimmedExpression = expression.trim();
+        Matcher matcher = VARIABLE_PATTERN.matcher(trimmedExpression);
+        if (matcher.matches()) {
+            return isVariableName(matcher.group(1)) ? new Variable(matcher.group(1)) : null;
+        }
+        matcher = LITERAL_PATTERN.matcher(trimmedExpression);
+        if (matcher.matches()) {
+            return new Literal(literal(matcher, 1));
+        }
+        matcher = GET_PATTERN.matcher(trimmedExpression);
+        if (matcher.matches()) {
+            String key = literal(matcher, 2);
+            String defaultValue = literal(matcher, 4);
+            return "get".equals(matcher.group(1)) ? new Get(key, defaultValue) :
+                    new GetSystemProperty(key, defaultValue);
+        }
+        matcher = VARIABLE_COMPARISON_PATTERN.matcher(trimmedExpression);
+        if (matcher.matches()) {
+            return comparison(matcher.group(1), matcher.group(2), literal(matcher, 3));
+        }
+        matcher = LITERAL_COMPARISON_PATTERN.matcher(trimmedExpression);
+        if (matcher.matches()) {
+            return comparison(matcher.group(4), matcher.group(3), literal(matcher, 1));
+        }
+        return null;
+    }
+
+    private static String literal(Matcher matcher, int singleQuotedGroup) {
+        String singleQuoted = matcher.group(singleQuotedGroup);
+        return singleQuoted != null ? singleQuoted : matcher.group(singleQuotedGroup + 1);
+    }
+
+    private static NativeExpression comparison(String name, String operator, String literal) {
+        return isVariableName(name) ? new Comparison(name, "==".equals(operator), literal) : null;
+    }
+
+    private static boolean isVariableName(String name) {
+        return !KEYWORDS.contains(name) && !INTERPRETER_NAMES.contains(name);
+    }
+
+    private static String getString(Value value) {
+        return value != null && value.get() instanceof String ? (String) value.get() : null;
+    }
+
+    abstract static class NativeExpression {
+
+        /**
+         * @param systemProperties the system properties by their fully qualified names
+         * @return the result, or null if the expression must be evaluated by python
+         */
+        abstract Value evaluate(Map<String, Value> context, Supplier<Map<String, Value>> systemProperties,
+                                Set<ScriptFunction> functionDependencies, boolean externalPython);
+    }
+
+    private static class Variable extends NativeExpression {
+
+        private final String name;
+
+        Variable(String name) {
+            this.name = name;
+        }
+
+        @Override
+        Value evaluate(Map<String, Value> context, Supplier<Map<String, Value>> systemProperties,
+                       Set<ScriptFunction> functionDependencies, boolean externalPython) {
+            Value value = context.get(name);
+            String content = getString(value);
+            return content == null ? null : ValueFactory.create(content, value.isSensitive());
+        }
+    }
+
+    private static class Literal extends NativeExpression {
+
+        private final String literal;
+
+        Literal(String literal) {
+            this.literal = literal;
+        }
+
+        @Override
+        Value evaluate(Map<String, Value> context, Supplier<Map<String, Value>> systemProperties,
+                       Set<ScriptFunction> functionDependencies, boolean externalPython) {
+            return ValueFactory.create(literal, false);
+        }
+    }
+
+    private static class Get extends NativeExpression {
+
+        private final String key;
+        private final String defaultValue;
+
+        Get(String key, String defaultValue) {
+            this.key = key;
+            this.defaultValue = defaultValue;
+        }
+
+        @Override
+        Value evaluate(Map<String, Value> context, Supplier<Map<String, Value>> systemProperties,
+                       Set<ScriptFunction> functionDependencies, boolean externalPython) {
+            if (!functionDependencies.contains(ScriptFunction.GET)) {
+                return null;
+            }
+            if (INTERPRETER_NAMES.contains(key) || key.startsWith("__")) {
+                return null;
+            }
+            if (context.containsKey(key)) {
+                Value value = context.get(key);
+                String content = getString(value);
+                return content == null ? null : ValueFactory.create(content, value.isSensitive());
+            }
+            // the external interpreter may define other names that get() can read
+            return externalPython ? null : ValueFactory.create(defaultValue, false);
+        }
+    }
+
+    private static class GetSystemProperty extends NativeExpression {
+
+        private final String key;
+        private final String defaultValue;
+
+        GetSystemProperty(String key, String defaultValue) {
+            this.key = key;
+            this.defaultValue = defaultValue;
+        }
+
+        @Override
+        Value evaluate(Map<String, Value> context, Supplier<Map<String, Value>> systemProperties,
+                       Set<ScriptFunction> functionDependencies, boolean externalPython) {
+            if (!functionDependencies.contains(ScriptFunction.GET_SYSTEM_PROPERTY)) {
+                return null;
+            }
+            Map<String, Value> properties = systemProperties.get();
+            if (!properties.containsKey(key)) {
+                return ValueFactory.create(defaultValue, false);
+            }
+            Value property = properties.get(key);
+            String content = getString(property);
+            return content == null ? null : ValueFactory.create(content, property.isSensitive());
+        }
+    }
+
+    private static class Comparison extends NativeExpression {
+
+        private final String name;
+        private final boolean equality;
+        private final String literal;
+
+        Comparison(String name, boolean equality, String literal) {
+            this.name = name;
+            this.equality = equality;
+            this.literal = literal;
+        }
+
+        @Override
+        Value evaluate(Map<String, Value> context, Supplier<Map<String, Value>> systemProperties,
+                       Set<ScriptFunction> functionDependencies, boolean externalPython) {
+            Value value = context.get(name);
+            String content = getString(value);
+            // the external interpreter returns booleans through its own serialization
+            if (content == null || externalPython) {
+                return null;
+            }
+            return ValueFactory.create(content.equals(literal) == equality, value.isSensitive());
+        }
+    }
+}
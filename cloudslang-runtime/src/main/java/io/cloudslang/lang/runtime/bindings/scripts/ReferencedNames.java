@@ -0,0 +1,130 @@
+/*******************************************************************************
+ * (c) Copyright 2016 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.lang.runtime.bindings.scripts;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Finds the context variables a python expression can read, so that only those are passed to the interpreter.
+ * <p>
+ * A variable can be read by its name, or through the {@code get} function by a string literal key.
+ * When the expression may read variables in any other way, e.g. through {@code globals()}, {@code get}
+ * with a computed key or an f-string, all the variables are needed. So are they when the expression
+ * has a comment, as its quotes need not be balanced.
+ * <p>
+ * The system properties are found the same way, an expression reads them through {@code get_sp} by
+ * string literal keys.
+ */
+final class ReferencedNames {
+
+    private static final Pattern TOKEN_PATTERN = Pattern.compile(
+            "([rRuUbBfF]{0,2})('''[\\s\\S]*?'''|\"\"\"[\\s\\S]*?\"\"\"|'(?:[^'\\\\]|\\\\.)*'" +
+                    "|\"(?:[^\"\\\\]|\\\\.)*\")|([A-Za-z_][A-Za-z0-9_]*)");
+    private static final Pattern LITERAL_ARGUMENT_PATTERN =
+            Pattern.compile("\\s*\\(\\s*[rRuUbB]{0,2}(?:'([^'\\\\]*)'|\"([^\"\\\\]*)\")\\s*[,)]");
+    private static final Pattern ATTRIBUTE_PATTERN = Pattern.compile("\\.\\s*$");
+
+    private static final String GET_FUNCTION = "get";
+    private static final String GET_SP_FUNCTION = "get_sp";
+    private static final List<String> DYNAMIC_ACCESS_NAMES = Arrays.asList("globals", "locals", "vars", "dir",
+            "eval", "exec", "execfile", "__dict__", "__main__", "f_globals", "f_locals", "func_globals", "__globals__");
+
+    private ReferencedNames() {
+    }
+
+    /**
+     * @return the names of the variables the expression may read, or null if all variables are needed
+     */
+    static Set<String> of(String expression) {
+        // a comment can hold an unbalanced quote, which hides the names after it from the scan
+        if (expression.indexOf('#') >= 0) {
+            return null;
+        }
+        Set<String> names = new HashSet<>();
+        Matcher matcher = TOKEN_PATTERN.matcher(expression);
+        while (matcher.find()) {
+            String literal = matcher.group(2);
+            if (literal != null) {
+                // the replacement fields of an f-string are expressions
+                if (isFormattedString(matcher)) {
+                    return null;
+                }
+                int quoteLength = literal.startsWith("'''") || literal.startsWith("\"\"\"") ? 3 : 1;
+                names.add(literal.substring(quoteLength, literal.length() - quoteLength));
+                continue;
+            }
+            String name = matcher.group(3);
+            if (DYNAMIC_ACCESS_NAMES.contains(name) || isGetWithComputedKey(expression, name, matcher)) {
+                return null;
+            }
+            names.add(name);
+        }
+        return names;
+    }
+
+    /**
+     * @return the keys of the system properties the expression may read, or null if it may read any of them
+     */
+    static Set<String> systemPropertyKeysOf(String expression) {
+        if (expression.indexOf('#') >= 0) {
+            return null;
+        }
+        Set<String> keys = new HashSet<>();
+        Matcher matcher = TOKEN_PATTERN.matcher(expression);
+        while (matcher.find()) {
+            if (matcher.group(2) != null) {
+                if (isFormattedString(matcher)) {
+                    return null;
+                }
+                continue;
+            }
+            String name = matcher.group(3);
+            if (DYNAMIC_ACCESS_NAMES.contains(name) || ScriptEvaluator.SYSTEM_PROPERTIES_MAP.equals(name)) {
+                return null;
+            }
+            if (GET_SP_FUNCTION.equals(name) && !isAttribute(expression, matcher)) {
+                String key = getLiteralArgument(expression, matcher);
+                if (key == null) {
+                    return null;
+                }
+                keys.add(key);
+            }
+        }
+        return keys;
+    }
+
+    private static boolean isFormattedString(Matcher matcher) {
+        return matcher.group(1).indexOf('f') >= 0 || matcher.group(1).indexOf('F') >= 0;
+    }
+
+    // the get function is also used by reference, e.g. in map(get, names)
+    private static boolean isGetWithComputedKey(String expression, String name, Matcher matcher) {
+        return GET_FUNCTION.equals(name) && !isAttribute(expression, matcher) &&
+                getLiteralArgument(expression, matcher) == null;
+    }
+
+    private static boolean isAttribute(String expression, Matcher matcher) {
+        return ATTRIBUTE_PATTERN.matcher(expression.substring(0, matcher.start())).find();
+    }
+
+    private static String getLiteralArgument(String expression, Matcher matcher) {
+        Matcher argumentMatcher = LITERAL_ARGUMENT_PATTERN.matcher(expression).region(matcher.end(),
+                expression.length());
+        if (!argumentMatcher.lookingAt()) {
+            return null;
+        }
+        return argumentMatcher.group(1) != null ? argumentMatcher.group(1) : argumentMatcher.group(2);
+    }
+}
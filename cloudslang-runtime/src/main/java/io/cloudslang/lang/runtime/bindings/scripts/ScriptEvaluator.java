@@ -9,6 +9,10 @@
  *******************************************************************************/
 package io.cloudslang.lang.runtime.bindings.scripts;
 
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.CacheStats;
+import com.google.common.cache.LoadingCache;
 import io.cloudslang.lang.entities.SystemProperty;
 import io.cloudslang.lang.entities.bindings.ScriptFunction;
 import io.cloudslang.lang.entities.bindings.values.PyObjectValue;
@@ -19,14 +23,23 @@ import io.cloudslang.runtime.api.python.PythonRuntimeService;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.python.core.Py;
+import org.python.core.PyBoolean;
+import org.python.core.PyList;
 import org.python.core.PyObject;
 import org.springframework.stereotype.Component;
 
 import javax.annotation.Resource;
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -39,7 +52,7 @@ import java.util.stream.Stream;
 @Component
 public class ScriptEvaluator extends ScriptProcessor {
     private static String LINE_SEPARATOR = System.lineSeparator();
-    private static final String SYSTEM_PROPERTIES_MAP = "sys_prop";
+    static final String SYSTEM_PROPERTIES_MAP = "sys_prop";
     private static final String ACCESSED_RESOURCES_SET = "accessed_resources_set";
     private static final String ACCESS_MONITORING_METHOD_NAME = "accessed";
     private static final String GET_FUNCTION_DEFINITION =
@@ -54,13 +67,14 @@ public class ScriptEvaluator extends ScriptProcessor {
     private static final String CHECK_EMPTY_FUNCTION_DEFINITION =
             "def check_empty(value_to_check, default_value=None):" + LINE_SEPARATOR +
                     "  return default_value if value_to_check is None else value_to_check";
-    private static final String BACKWARD_COMPATIBLE_ACCESS_METHOD = "def " + ACCESS_MONITORING_METHOD_NAME + "(key):" +
-            LINE_SEPARATOR + "  pass";
-    private static final boolean EXTERNAL_PYTHON = !Boolean.valueOf(
-            System.getProperty("use.jython.expressions", "true"));
+    private static final boolean NATIVE_EXPRESSIONS = Boolean.valueOf(
+            System.getProperty("native.expressions", "true"));
 
 
     public static final int MAX_LENGTH = Integer.getInteger("input.error.max.length", 1000);
+    private static final int EXPRESSION_CACHE_SIZE = Integer.getInteger("expression.cache.size", 5000);
+
+    private final boolean externalPython;
 
     @Resource(name = "externalPythonRuntimeService")
     private PythonRuntimeService pythonRuntimeService;
@@ -68,20 +82,71 @@ public class ScriptEvaluator extends ScriptProcessor {
     @Resource(name = "jythonRuntimeService")
     private PythonRuntimeService legacyJythonRuntimeService;
 
+    // the functions script depends only on the function dependencies, so it is built once for every set of them;
+    // the Jython interpreter gets the functions as objects instead, see JythonScriptFunctions
+    private final LoadingCache<Set<ScriptFunction>, String> functionsScripts = CacheBuilder.newBuilder()
+            .maximumSize(1 << ScriptFunction.values().length)
+            .recordStats()
+            .build(CacheLoader.from(this::buildAddFunctionsScript));
+
+    // only the variables an expression can read are wrapped and passed to the interpreter
+    private final LoadingCache<String, Optional<Set<String>>> referencedNames = CacheBuilder.newBuilder()
+            .maximumSize(EXPRESSION_CACHE_SIZE)
+            .recordStats()
+            .build(CacheLoader.from(expression -> Optional.ofNullable(ReferencedNames.of(expression))));
+
+    private final LoadingCache<String, Optional<NativeExpressions.NativeExpression>> nativeExpressions =
+            CacheBuilder.newBuilder()
+                    .maximumSize(EXPRESSION_CACHE_SIZE)
+                    .recordStats()
+                    .build(CacheLoader.from(expression -> Optional.ofNullable(NativeExpressions.parse(expression))));
+
+    // only the system properties an expression can read are wrapped for the external interpreter
+    private final LoadingCache<String, Optional<Set<String>>> systemPropertyKeys =
+            CacheBuilder.newBuilder()
+                    .maximumSize(EXPRESSION_CACHE_SIZE)
+                    .build(CacheLoader.from(expression ->
+                            Optional.ofNullable(ReferencedNames.systemPropertyKeysOf(expression))));
+
+    // the system properties of an execution are indexed once and shared by all of its evaluations,
+    // only the values themselves are kept, so that no decrypted sensitive value outlives an evaluation
+    private final LoadingCache<Set<SystemProperty>, Map<String, Value>> systemPropertiesByName =
+            CacheBuilder.newBuilder()
+                    .weakKeys()
+                    .build(CacheLoader.from(ScriptEvaluator::indexSystemProperties));
+
+    public ScriptEvaluator() {
+        this(!Boolean.valueOf(System.getProperty("use.jython.expressions", "true")));
+    }
+
+    ScriptEvaluator(boolean externalPython) {
+        this.externalPython = externalPython;
+    }
+
     public Value evalExpr(String expr, Map<String, Value> context, Set<SystemProperty> systemProperties,
                           Set<ScriptFunction> functionDependencies) {
         try {
+            if (NATIVE_EXPRESSIONS) {
+                Value nativeResult = evalNativeExpr(expr, context, systemProperties, functionDependencies);
+                if (nativeResult != null) {
+                    return nativeResult;
+                }
+            }
 
-            Map<String, Serializable> pythonContext = createPythonContext(context, EXTERNAL_PYTHON);
+            Map<String, Serializable> pythonContext = createPythonContext(context,
+                    referencedNames.getUnchecked(expr).orElse(null), externalPython);
             boolean systemPropertiesDefined = functionDependencies.contains(ScriptFunction.GET_SYSTEM_PROPERTY);
             if (systemPropertiesDefined) {
-                pythonContext.put(SYSTEM_PROPERTIES_MAP, (Serializable) prepareSystemProperties(systemProperties,
-                        EXTERNAL_PYTHON));
+                Map<String, Value> properties = systemPropertiesByName.getUnchecked(systemProperties);
+                pythonContext.put(SYSTEM_PROPERTIES_MAP, externalPython ?
+                        (Serializable) prepareExternalSystemProperties(properties,
+                                systemPropertyKeys.getUnchecked(expr).orElse(null)) :
+                        new LazySystemProperties(properties));
             }
 
-            if (EXTERNAL_PYTHON) {
+            if (externalPython) {
                 PythonEvaluationResult result = pythonRuntimeService.eval(
-                        buildAddFunctionsScript(functionDependencies), expr, pythonContext);
+                        functionsScripts.getUnchecked(functionDependencies), expr, pythonContext);
 
                 //noinspection unchecked
                 Set<String> accessedResources = (Set<String>) result.getResultContext().get(ACCESSED_RESOURCES_SET);
@@ -98,6 +163,83 @@ public class ScriptEvaluator extends ScriptProcessor {
         }
     }
 
+    /**
+     * Evaluates independent expressions, which do not read each other's results, in a single python evaluation.
+     * The result of every expression has the sensitivity of the whole evaluation.
+     *
+     * @return the results by the order of the expressions, or null if they cannot be evaluated together
+     */
+    public List<Value> evalExprs(List<String> exprs, Map<String, Value> context, Set<SystemProperty> systemProperties,
+                                 List<Set<ScriptFunction>> functionDependencies) {
+        // the external interpreter converts the results of the evaluation by its own rules
+        if (externalPython) {
+            return null;
+        }
+        Value[] results = new Value[exprs.size()];
+        List<Integer> pythonExprIndexes = new ArrayList<>();
+        StringBuilder batchExpr = new StringBuilder("[");
+        Set<ScriptFunction> batchFunctionDependencies = EnumSet.noneOf(ScriptFunction.class);
+        for (int index = 0; index < exprs.size(); index++) {
+            results[index] = NATIVE_EXPRESSIONS ?
+                    evalNativeExpr(exprs.get(index), context, systemProperties, functionDependencies.get(index)) :
+                    null;
+            if (results[index] == null) {
+                pythonExprIndexes.add(index);
+                batchExpr.append("(").append(exprs.get(index)).append("\n),");
+                batchFunctionDependencies.addAll(functionDependencies.get(index));
+            }
+        }
+        if (!pythonExprIndexes.isEmpty()) {
+            Value batchResult = evalExpr(batchExpr.append("]").toString(), context, systemProperties,
+                    batchFunctionDependencies);
+            if (!(batchResult.get() instanceof PyList)) {
+                return null;
+            }
+            Iterator<Integer> indexes = pythonExprIndexes.iterator();
+            for (PyObject pyResult : ((PyList) batchResult.get()).asIterable()) {
+                results[indexes.next()] = ValueFactory.create(toJava(pyResult), batchResult.isSensitive());
+            }
+        }
+        return Arrays.asList(results);
+    }
+
+    /**
+     * @return the names of the variables the expression may read, or null if it may read any variable
+     */
+    public Set<String> getReferencedNames(String expr) {
+        return referencedNames.getUnchecked(expr).orElse(null);
+    }
+
+    // the conversion of the Jython executor for the result of an evaluation
+    private Serializable toJava(PyObject pyObject) {
+        if (pyObject instanceof PyBoolean) {
+            return ((PyBoolean) pyObject).getBooleanValue();
+        }
+        return (Serializable) Py.tojava(pyObject, Serializable.class);
+    }
+
+    private Value evalNativeExpr(String expr, Map<String, Value> context, Set<SystemProperty> systemProperties,
+                                 Set<ScriptFunction> functionDependencies) {
+        NativeExpressions.NativeExpression nativeExpression = nativeExpressions.getUnchecked(expr).orElse(null);
+        if (nativeExpression == null) {
+            return null;
+        }
+        return nativeExpression.evaluate(context, () -> systemPropertiesByName.getUnchecked(systemProperties),
+                functionDependencies, externalPython);
+    }
+
+    public CacheStats getFunctionsScriptCacheStats() {
+        return functionsScripts.stats();
+    }
+
+    public CacheStats getReferencedNamesCacheStats() {
+        return referencedNames.stats();
+    }
+
+    public CacheStats getNativeExpressionsCacheStats() {
+        return nativeExpressions.stats();
+    }
+
     private String getTruncatedExpression(String expr) {
         return expr.length() > MAX_LENGTH ? expr.substring(0, MAX_LENGTH) + "..." : expr;
     }
@@ -122,10 +264,6 @@ public class ScriptEvaluator extends ScriptProcessor {
                     throw new RuntimeException("Error adding function to context: '" + function.getValue() +
                             "' is not valid.");
             }
-            if (!EXTERNAL_PYTHON) {
-                functions += BACKWARD_COMPATIBLE_ACCESS_METHOD;
-                functions = appendDelimiterBetweenFunctions(functions);
-            }
         }
         return functions;
     }
@@ -134,11 +272,34 @@ public class ScriptEvaluator extends ScriptProcessor {
         return text + LINE_SEPARATOR + LINE_SEPARATOR;
     }
 
-    private Map<String, Value> prepareSystemProperties(Set<SystemProperty> properties, boolean externalPython) {
-        Map<String, Value> processedSystemProperties = new HashMap<>();
+    private static Map<String, Value> indexSystemProperties(Set<SystemProperty> properties) {
+        Map<String, Value> systemProperties = new HashMap<>();
         for (SystemProperty property : properties) {
-            processedSystemProperties.put(property.getFullyQualifiedName(),
-                    ValueFactory.createPyObjectValue(property.getValue(), externalPython));
+            systemProperties.put(property.getFullyQualifiedName(), property.getValue());
+        }
+        return Collections.unmodifiableMap(systemProperties);
+    }
+
+    /**
+     * The external python values hold the decrypted content, so they are created for every evaluation,
+     * while the Jython values are wrapped lazily by {@link LazySystemProperties}.
+     *
+     * @param keys the keys of the properties the expression can read, or null if it can read any of them
+     */
+    private Map<String, Value> prepareExternalSystemProperties(Map<String, Value> properties, Set<String> keys) {
+        Map<String, Value> processedSystemProperties = new HashMap<>();
+        if (keys == null) {
+            for (Map.Entry<String, Value> property : properties.entrySet()) {
+                processedSystemProperties.put(property.getKey(),
+                        ValueFactory.createPyObjectValue(property.getValue(), true));
+            }
+        } else {
+            for (String key : keys) {
+                Value property = properties.get(key);
+                if (property != null) {
+                    processedSystemProperties.put(key, ValueFactory.createPyObjectValue(property, true));
+                }
+            }
         }
         return processedSystemProperties;
     }
@@ -180,7 +341,9 @@ public class ScriptEvaluator extends ScriptProcessor {
             @SuppressWarnings("unchecked")
             Map<String, Value> systemProperties = Py.tojava(rawSystemProperties, Map.class);
             @SuppressWarnings("unchecked")
-            Collection<Serializable> systemPropertyValues = (Collection) systemProperties.values();
+            Collection<Serializable> systemPropertyValues = systemProperties instanceof LazySystemProperties ?
+                    (Collection) ((LazySystemProperties) systemProperties).getWrappedProperties() :
+                    (Collection) systemProperties.values();
             return checkSensitivity(systemPropertyValues) || checkSensitivity(context.values());
         } else {
             return (checkSensitivity(executionResultContext.values()));
@@ -204,8 +367,11 @@ public class ScriptEvaluator extends ScriptProcessor {
     private Value processLegacyPythonEvaluation(String expr, Map<String, Serializable> pythonContext,
                                                 boolean systemPropertiesDefined,
                                                 Set<ScriptFunction> functionDependencies) {
-        PythonEvaluationResult result = legacyJythonRuntimeService.eval(
-                buildAddFunctionsScript(functionDependencies), expr, pythonContext);
+        for (ScriptFunction function : functionDependencies) {
+            JythonScriptFunctions.ScriptFunctionObject functionObject = JythonScriptFunctions.get(function);
+            pythonContext.put(functionObject.getName(), functionObject);
+        }
+        PythonEvaluationResult result = legacyJythonRuntimeService.eval("", expr, pythonContext);
         if (systemPropertiesDefined) {
             pythonContext.remove(SYSTEM_PROPERTIES_MAP);
         }
@@ -9,6 +9,10 @@
  *******************************************************************************/
 package io.cloudslang.lang.runtime.bindings.scripts;
 
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.CacheStats;
+import com.google.common.cache.LoadingCache;
 import io.cloudslang.lang.compiler.utils.ExternalPythonScriptUtils;
 import io.cloudslang.lang.entities.bindings.values.Value;
 import io.cloudslang.lang.entities.bindings.values.ValueFactory;
@@ -23,6 +27,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -33,12 +38,21 @@ import java.util.stream.Collectors;
  */
 @Component
 public class ScriptExecutor extends ScriptProcessor {
+    private static final int SCRIPT_CACHE_SIZE = Integer.getInteger("script.cache.size", 1000);
+
     @Resource(name = "jythonRuntimeService")
     private PythonRuntimeService pythonRuntimeService;
 
     @Resource(name = "externalPythonRuntimeService")
     private PythonRuntimeService externalPytonRuntimeService;
 
+    // parsing the signature of a large script on every execution costs more than the lookup
+    private final LoadingCache<String, Set<String>> scriptParams = CacheBuilder.newBuilder()
+            .maximumSize(SCRIPT_CACHE_SIZE)
+            .recordStats()
+            .build(CacheLoader.from(script ->
+                    new HashSet<>(Arrays.asList(ExternalPythonScriptUtils.getScriptParams(script)))));
+
     public Map<String, Value> executeScript(String script, Map<String, Value> callArguments, boolean useJython) {
         return executeScript(Collections.emptySet(), script, callArguments, useJython);
     }
@@ -51,12 +65,16 @@ public class ScriptExecutor extends ScriptProcessor {
         return runExternalPythonAction(dependencies, script, callArguments);
     }
 
+    public CacheStats getScriptParamsCacheStats() {
+        return scriptParams.stats();
+    }
+
     private Map<String, Value> runExternalPythonAction(Set<String> dependencies, String script,
                                                        Map<String, Value> callArguments) {
 
-        String[] scriptParams = ExternalPythonScriptUtils.getScriptParams(script);
+        Set<String> params = scriptParams.getUnchecked(script);
         Map<String, Value> neededArguments = callArguments.entrySet().stream()
-                .filter(entry -> Arrays.asList(scriptParams).contains(entry.getKey()))
+                .filter(entry -> params.contains(entry.getKey()))
                 .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
 
         Map<String, Serializable> executionResult = externalPytonRuntimeService.exec(dependencies, script,
@@ -17,6 +17,7 @@ import java.io.Serializable;
 import java.util.AbstractMap;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
@@ -34,4 +35,22 @@ public abstract class ScriptProcessor {
 
         return pythonContext;
     }
+
+    /**
+     * @param names the names of the variables to include, or null for all of them
+     */
+    protected Map<String, Serializable> createPythonContext(Map<String, Value> context, Set<String> names,
+                                                            boolean externalPython) {
+        if (names == null) {
+            return createPythonContext(context, externalPython);
+        }
+        Map<String, Serializable> pythonContext = new HashMap<>();
+        for (String name : names) {
+            Value value = context.get(name);
+            if (value != null || context.containsKey(name)) {
+                pythonContext.put(name, ValueFactory.createPyObjectValue(value, externalPython));
+            }
+        }
+        return pythonContext;
+    }
 }
@@ -11,20 +11,71 @@ package io.cloudslang.lang.runtime.env;
 
 import io.cloudslang.lang.entities.bindings.values.Value;
 import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import org.apache.commons.lang3.SerializationUtils;
 import org.apache.commons.lang3.builder.EqualsBuilder;
 import org.apache.commons.lang3.builder.HashCodeBuilder;
 
 public class Context implements Serializable {
 
+    private static final long serialVersionUID = 6380536287300200885L;
+
     private final Map<String, Value> variables;
     private final Map<String, Value> langVariables;
 
+    // the names of the sensitive values, kept up to date as the values are put and removed,
+    // so that the sensitive values are found without going over all the values
+    private Set<String> sensitiveVariableNames;
+    private Set<String> sensitiveLangVariableNames;
+
     public Context(Map<String, Value> variables) {
+        this(variables, new HashMap<String, Value>());
+    }
+
+    private Context(Map<String, Value> variables, Map<String, Value> langVariables) {
         this.variables = variables;
-        langVariables = new HashMap<>();
+        this.langVariables = langVariables;
+        sensitiveVariableNames = findSensitiveNames(variables);
+        sensitiveLangVariableNames = findSensitiveNames(langVariables);
+    }
+
+    /**
+     * @return an independent context sharing the values of this one, see {@link #copyValues(Map)}
+     */
+    public Context copy() {
+        return new Context(copyValues(variables), copyValues(langVariables));
+    }
+
+    /**
+     * Copies the map, sharing only the values whose content is immutable: strings, boxed primitives and null.
+     * The other values are cloned, as their content may be modified in place, e.g. a list appended to by an
+     * expression, and so are the sensitive values, which are encrypted and decrypted in place.
+     */
+    static Map<String, Value> copyValues(Map<String, Value> values) {
+        Map<String, Value> copy = new HashMap<>(values);
+        for (Map.Entry<String, Value> entry : copy.entrySet()) {
+            if (entry.getValue() != null && !isShareable(entry.getValue())) {
+                entry.setValue(SerializationUtils.clone(entry.getValue()));
+            }
+        }
+        return copy;
+    }
+
+    private static boolean isShareable(Value value) {
+        if (value.isSensitive()) {
+            return false;
+        }
+        Serializable content = value.get();
+        return content == null || content instanceof String || content instanceof Boolean ||
+                content instanceof Integer || content instanceof Long || content instanceof Double ||
+                content instanceof Float || content instanceof Short || content instanceof Byte ||
+                content instanceof Character;
     }
 
     public Value getVariable(String name) {
@@ -33,10 +84,15 @@ public class Context implements Serializable {
 
     public void putVariable(String name, Value value) {
         variables.put(name, value);
+        updateSensitiveName(getSensitiveVariableNames(), name, value);
     }
 
     public void putVariables(Map<String, ? extends Value> newVariables) {
         variables.putAll(newVariables);
+        Set<String> names = getSensitiveVariableNames();
+        for (Map.Entry<String, ? extends Value> entry : newVariables.entrySet()) {
+            updateSensitiveName(names, entry.getKey(), entry.getValue());
+        }
     }
 
     public Map<String, Value> getImmutableViewOfLanguageVariables() {
@@ -49,6 +105,7 @@ public class Context implements Serializable {
 
     public void putLanguageVariable(String name, Value value) {
         langVariables.put(name, value);
+        updateSensitiveName(getSensitiveLangVariableNames(), name, value);
     }
 
     public Map<String, Value> getImmutableViewOfVariables() {
@@ -56,9 +113,59 @@ public class Context implements Serializable {
     }
 
     public Value removeLanguageVariable(String key) {
+        getSensitiveLangVariableNames().remove(key);
         return langVariables.remove(key);
     }
 
+    public boolean containsSensitiveData() {
+        return !getSensitiveVariableNames().isEmpty() || !getSensitiveLangVariableNames().isEmpty();
+    }
+
+    /**
+     * @return the sensitive values of the variables and the language variables
+     */
+    public List<Value> getSensitiveValues() {
+        List<Value> sensitiveValues = new ArrayList<>();
+        for (String name : getSensitiveVariableNames()) {
+            sensitiveValues.add(variables.get(name));
+        }
+        for (String name : getSensitiveLangVariableNames()) {
+            sensitiveValues.add(langVariables.get(name));
+        }
+        return sensitiveValues;
+    }
+
+    // contexts persisted before the names were kept find them on first use
+    private Set<String> getSensitiveVariableNames() {
+        if (sensitiveVariableNames == null) {
+            sensitiveVariableNames = findSensitiveNames(variables);
+        }
+        return sensitiveVariableNames;
+    }
+
+    private Set<String> getSensitiveLangVariableNames() {
+        if (sensitiveLangVariableNames == null) {
+            sensitiveLangVariableNames = findSensitiveNames(langVariables);
+        }
+        return sensitiveLangVariableNames;
+    }
+
+    private static Set<String> findSensitiveNames(Map<String, Value> values) {
+        Set<String> sensitiveNames = new HashSet<>();
+        for (Map.Entry<String, Value> entry : values.entrySet()) {
+            updateSensitiveName(sensitiveNames, entry.getKey(), entry.getValue());
+        }
+        return sensitiveNames;
+    }
+
+    private static void updateSensitiveName(Set<String> sensitiveNames, String name, Value value) {
+        if (value != null && value.isSensitive()) {
+            sensitiveNames.add(name);
+        } else {
+            sensitiveNames.remove(name);
+        }
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) {
@@ -0,0 +1,123 @@
+/*******************************************************************************
+ * (c) Copyright 2016 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.lang.runtime.env;
+
+import io.cloudslang.lang.entities.bindings.values.Value;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * A read-only view of a chain of scopes, where a name resolves to its value in the first scope that contains it.
+ * Extending a context with the values bound so far is then done without copying the context.
+ * <p>
+ * The view reflects later changes of the scopes, so it should not outlive the evaluation it was created for.
+ */
+public class ContextScope extends AbstractMap<String, Value> {
+
+    private final List<Map<String, ? extends Value>> scopes;
+
+    /**
+     * @param scopes the scopes, from the innermost to the outermost
+     */
+    @SafeVarargs
+    public ContextScope(Map<String, ? extends Value>... scopes) {
+        this.scopes = Arrays.asList(scopes);
+    }
+
+    @Override
+    public Value get(Object key) {
+        for (Map<String, ? extends Value> scope : scopes) {
+            Value value = scope.get(key);
+            if (value != null || scope.containsKey(key)) {
+                return value;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        for (Map<String, ? extends Value> scope : scopes) {
+            if (scope.containsKey(key)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public Set<Entry<String, Value>> entrySet() {
+        return new AbstractSet<Entry<String, Value>>() {
+            @Override
+            public Iterator<Entry<String, Value>> iterator() {
+                return new ScopesIterator();
+            }
+
+            @Override
+            public int size() {
+                int size = 0;
+                for (Iterator<Entry<String, Value>> iterator = iterator(); iterator.hasNext(); iterator.next()) {
+                    size++;
+                }
+                return size;
+            }
+        };
+    }
+
+    private boolean isShadowed(String key, int scopeIndex) {
+        for (int i = 0; i < scopeIndex; i++) {
+            if (scopes.get(i).containsKey(key)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private class ScopesIterator implements Iterator<Entry<String, Value>> {
+
+        private int scopeIndex = -1;
+        private Iterator<? extends Entry<String, ? extends Value>> scopeIterator = Collections.emptyIterator();
+        private Entry<String, Value> next;
+
+        @Override
+        public boolean hasNext() {
+            while (next == null) {
+                while (!scopeIterator.hasNext()) {
+                    if (++scopeIndex == scopes.size()) {
+                        return false;
+                    }
+                    scopeIterator = scopes.get(scopeIndex).entrySet().iterator();
+                }
+                Entry<String, ? extends Value> entry = scopeIterator.next();
+                if (!isShadowed(entry.getKey(), scopeIndex)) {
+                    next = new SimpleImmutableEntry<String, Value>(entry.getKey(), entry.getValue());
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public Entry<String, Value> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            Entry<String, Value> entry = next;
+            next = null;
+            return entry;
+        }
+    }
+}
@@ -10,6 +10,8 @@
 package io.cloudslang.lang.runtime.env;
 
 import java.io.Serializable;
+import java.util.Collections;
+import java.util.List;
 import java.util.Stack;
 
 /**
@@ -19,6 +21,8 @@ import java.util.Stack;
  */
 public class ContextStack implements Serializable {
 
+    private static final long serialVersionUID = 4265057245979459083L;
+
     private Stack<Context> stack = new Stack<>();
 
     public void pushContext(Context newContext) {
@@ -32,4 +36,11 @@ public class ContextStack implements Serializable {
         return stack.pop();
     }
 
+    /**
+     * @return the contexts of the stack, from the bottom to the top, without removing them
+     */
+    public List<Context> getContexts() {
+        return Collections.unmodifiableList(stack);
+    }
+
 }
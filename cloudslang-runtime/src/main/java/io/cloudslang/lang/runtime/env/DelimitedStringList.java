@@ -0,0 +1,76 @@
+/*******************************************************************************
+ * (c) Copyright 2016 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.lang.runtime.env;
+
+import io.cloudslang.lang.entities.bindings.values.Value;
+import io.cloudslang.lang.entities.bindings.values.ValueFactory;
+import java.io.Serializable;
+import java.util.AbstractList;
+import java.util.RandomAccess;
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * The elements of a comma separated string, with the same elements as {@code string.split(",")}.
+ * Only the string is serialized, the element offsets are recomputed when first accessed.
+ */
+public class DelimitedStringList extends AbstractList<Value> implements RandomAccess, Serializable {
+
+    private static final long serialVersionUID = -1719034562148263512L;
+
+    private static final char DELIMITER = ',';
+
+    private final String string;
+    private final boolean sensitive;
+
+    private transient int[] elementStarts;
+    private transient int length;
+
+    public DelimitedStringList(String string, boolean sensitive) {
+        this.string = string;
+        this.sensitive = sensitive;
+    }
+
+    @Override
+    public Value get(int index) {
+        int[] starts = getElementStarts();
+        if (index < 0 || index >= starts.length) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + starts.length);
+        }
+        int end = index + 1 < starts.length ? starts[index + 1] - 1 : length;
+        return ValueFactory.create(string.substring(starts[index], end), sensitive);
+    }
+
+    @Override
+    public int size() {
+        return getElementStarts().length;
+    }
+
+    private int[] getElementStarts() {
+        if (elementStarts == null) {
+            // like String.split, trailing empty elements are dropped unless the whole string is empty
+            int trimmedLength = string.isEmpty() ? 0 : StringUtils.stripEnd(string, ",").length();
+            int count = trimmedLength == 0 && !string.isEmpty() ? 0 : 1;
+            for (int i = 0; i < trimmedLength; i++) {
+                if (string.charAt(i) == DELIMITER) {
+                    count++;
+                }
+            }
+            int[] starts = new int[count];
+            for (int i = 0, element = 1; i < trimmedLength; i++) {
+                if (string.charAt(i) == DELIMITER) {
+                    starts[element++] = i + 1;
+                }
+            }
+            length = trimmedLength;
+            elementStarts = starts;
+        }
+        return elementStarts;
+    }
+}
@@ -22,6 +22,8 @@ import static org.apache.commons.lang3.StringUtils.join;
  */
 public class ExecutionPath implements Serializable {
 
+    private static final long serialVersionUID = 4369019494776498175L;
+
     public static final String PATH_SEPARATOR = ".";
 
     private Deque<Integer> parentPositions;
@@ -31,6 +33,13 @@ public class ExecutionPath implements Serializable {
         parentPositions = new ArrayDeque<>();
     }
 
+    public ExecutionPath copy() {
+        ExecutionPath copy = new ExecutionPath();
+        copy.parentPositions.addAll(parentPositions);
+        copy.position = position;
+        return copy;
+    }
+
     public void forward() {
         position++;
     }
@@ -12,29 +12,51 @@ package io.cloudslang.lang.runtime.env;
 import io.cloudslang.lang.entities.bindings.values.Value;
 import io.cloudslang.lang.entities.bindings.values.ValueFactory;
 import java.io.Serializable;
+import java.util.Collection;
 import java.util.Iterator;
+import java.util.List;
+import java.util.RandomAccess;
 import org.apache.commons.lang3.builder.EqualsBuilder;
 import org.apache.commons.lang3.builder.HashCodeBuilder;
 
+/**
+ * Iterates the loop collection with a cursor positioned on {@code index}.
+ * Only the collection and the index are serialized, so persisted run environments stay compatible;
+ * the cursor is transient and is repositioned once after deserialization, or not at all for lists.
+ */
 public class ForLoopCondition implements LoopCondition {
 
+    // the value computed for the fields of the original class, keeps previously persisted loops readable
+    private static final long serialVersionUID = -2974335212434204529L;
+
     private final Iterable<? extends Serializable> iterable;
     private int index = 0;
 
+    private transient Iterator<? extends Serializable> cursor;
+    private transient int cursorIndex;
+
     public ForLoopCondition(Iterable<? extends Serializable> iterable) {
         this.iterable = iterable;
     }
 
     private Iterator<? extends Serializable> loopToCurrentObject() {
-        Iterator<? extends Serializable> iterator = iterable.iterator();
-        for (int i = 0; i < index; i++) {
-            iterator.next();
+        if (cursor == null || cursorIndex != index) {
+            cursor = iterable.iterator();
+            for (cursorIndex = 0; cursorIndex < index; cursorIndex++) {
+                cursor.next();
+            }
         }
-        return iterator;
+        return cursor;
     }
 
     public Value next() {
-        Serializable serializable = loopToCurrentObject().next();
+        Serializable serializable;
+        if (iterable instanceof List && iterable instanceof RandomAccess) {
+            serializable = ((List<? extends Serializable>) iterable).get(index);
+        } else {
+            serializable = loopToCurrentObject().next();
+            cursorIndex++;
+        }
         Value next = serializable instanceof Value ? (Value) serializable : ValueFactory.create(serializable);
         index++;
         return next;
@@ -42,6 +64,9 @@ public class ForLoopCondition implements LoopCondition {
 
     @Override
     public boolean hasMore() {
+        if (iterable instanceof Collection) {
+            return index < ((Collection<? extends Serializable>) iterable).size();
+        }
         return loopToCurrentObject().hasNext();
     }
 
@@ -0,0 +1,55 @@
+/*******************************************************************************
+ * (c) Copyright 2016 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.lang.runtime.env;
+
+import io.cloudslang.lang.entities.bindings.values.Value;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.apache.commons.lang3.Validate;
+
+/**
+ * The progress of a parallel loop with a maximum concurrency, which runs its branches in waves of at most
+ * {@code maxConcurrency} branches. Kept in the flow context between the waves, together with the data
+ * of the branches that already finished.
+ */
+public class ParallelLoopWaves implements Serializable {
+
+    public static final String PARALLEL_LOOP_WAVES_KEY = "parallel.loop.waves";
+
+    private static final long serialVersionUID = 6287435812743620174L;
+
+    private final List<Value> splitData;
+    private final int maxConcurrency;
+    private final List<Map<String, Value>> finishedBranches = new ArrayList<>();
+    private int nextIndex = 0;
+
+    public ParallelLoopWaves(List<Value> splitData, int maxConcurrency) {
+        Validate.isTrue(maxConcurrency > 0, "max concurrency must be positive");
+        this.splitData = splitData;
+        this.maxConcurrency = maxConcurrency;
+    }
+
+    public List<Value> nextWave() {
+        int end = Math.min(nextIndex + maxConcurrency, splitData.size());
+        List<Value> wave = new ArrayList<>(splitData.subList(nextIndex, end));
+        nextIndex = end;
+        return wave;
+    }
+
+    public boolean hasMore() {
+        return nextIndex < splitData.size();
+    }
+
+    public List<Map<String, Value>> getFinishedBranches() {
+        return finishedBranches;
+    }
+}
@@ -0,0 +1,73 @@
+/*******************************************************************************
+ * (c) Copyright 2016 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.lang.runtime.env;
+
+import io.cloudslang.lang.entities.bindings.values.Value;
+import io.cloudslang.lang.entities.bindings.values.ValueFactory;
+import java.io.Serializable;
+import java.util.AbstractList;
+import java.util.RandomAccess;
+import org.apache.commons.lang3.Validate;
+
+/**
+ * The numbers of a python {@code range(start, stop, step)}, computed on access instead of being stored,
+ * so that a for loop over a range carries only its bounds.
+ */
+public class RangeList extends AbstractList<Value> implements RandomAccess, Serializable {
+
+    private static final long serialVersionUID = 4212385476924118431L;
+
+    private final long start;
+    private final long step;
+    private final int size;
+    private final boolean sensitive;
+
+    private RangeList(long start, long step, int size, boolean sensitive) {
+        this.start = start;
+        this.step = step;
+        this.size = size;
+        this.sensitive = sensitive;
+    }
+
+    /**
+     * @return the range, or null if it can not be represented as a list
+     */
+    public static RangeList create(long start, long stop, long step, boolean sensitive) {
+        Validate.isTrue(step != 0, "range() step argument must not be zero");
+        if (step > 0 ? start >= stop : start <= stop) {
+            return new RangeList(start, step, 0, sensitive);
+        }
+        long size;
+        try {
+            // the ceiling of (stop - start) / step
+            size = -Math.floorDiv(Math.negateExact(Math.subtractExact(stop, start)), step);
+        } catch (ArithmeticException ex) {
+            return null;
+        }
+        return size > Integer.MAX_VALUE ? null : new RangeList(start, step, (int) size, sensitive);
+    }
+
+    @Override
+    public Value get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        long number = start + index * step;
+        if (number == (int) number) {
+            return ValueFactory.create((int) number, sensitive);
+        }
+        return ValueFactory.create(number, sensitive);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+}
@@ -9,21 +9,22 @@
  *******************************************************************************/
 package io.cloudslang.lang.runtime.env;
 
-import com.google.common.base.Function;
-import com.google.common.collect.Collections2;
 import com.hp.oo.sdk.content.plugin.SerializableSessionObject;
 import io.cloudslang.lang.entities.NavigationOptions;
 import io.cloudslang.lang.entities.SystemProperty;
+import io.cloudslang.lang.entities.bindings.values.DecryptionCache;
 import io.cloudslang.lang.entities.bindings.values.SensitiveValue;
 import io.cloudslang.lang.entities.bindings.values.Value;
+import io.cloudslang.lang.runtime.events.EventContextSnapshot;
 import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import org.apache.commons.lang3.SerializationUtils;
 import org.apache.commons.lang3.Validate;
 
 /**
@@ -33,6 +34,8 @@ import org.apache.commons.lang3.Validate;
  */
 public class RunEnvironment implements Serializable {
 
+    private static final long serialVersionUID = 1614656826745098009L;
+
     // Call arguments for the current step
     private Map<String, Value> callArguments;
 
@@ -59,6 +62,11 @@ public class RunEnvironment implements Serializable {
     // This is data that should be shared between different actions with the ability to change the data
     private Map<String, SerializableSessionObject> serializableDataMap;
 
+    private transient List<Value> sensitiveSystemPropertyValues;
+
+    // the context of the previous event of this branch, a full context is sent again after deserialization
+    private transient EventContextSnapshot eventContextSnapshot;
+
 
     public RunEnvironment(Set<SystemProperty> systemProperties) {
         Validate.notNull(systemProperties, "system properties cannot be null");
@@ -74,6 +82,39 @@ public class RunEnvironment implements Serializable {
         this(new HashSet<SystemProperty>());
     }
 
+    /**
+     * Creates the run environment of a parallel branch, equal to a serialized copy of this one with reset stacks.
+     * The bound values with an immutable content and the system properties are shared with this run environment
+     * instead of being copied, except for sensitive ones, see {@link Context#copyValues(Map)}.
+     */
+    public RunEnvironment copyForBranch() {
+        RunEnvironment copy = new RunEnvironment(containsSensitiveSystemProperties() ?
+                SerializationUtils.clone(new HashSet<>(systemProperties)) :
+                systemProperties);
+        copy.callArguments = Context.copyValues(callArguments);
+        if (returnValues != null) {
+            copy.returnValues = new ReturnValues(returnValues.getOutputs() == null ? null :
+                    Context.copyValues(returnValues.getOutputs()), returnValues.getResult());
+        }
+        copy.nextStepPosition = nextStepPosition;
+        if (navigationOptions != null) {
+            copy.navigationOptions = new HashMap<>(navigationOptions);
+        }
+        copy.executionPath = executionPath.copy();
+        if (!serializableDataMap.isEmpty()) {
+            // session objects are mutable and shared data of the run, every branch gets its own
+            copy.serializableDataMap = SerializationUtils.clone(new HashMap<>(serializableDataMap));
+        }
+        return copy;
+    }
+
+    public EventContextSnapshot getEventContextSnapshot() {
+        if (eventContextSnapshot == null) {
+            eventContextSnapshot = new EventContextSnapshot();
+        }
+        return eventContextSnapshot;
+    }
+
     public ContextStack getStack() {
         return contextStack;
     }
@@ -167,18 +208,16 @@ public class RunEnvironment implements Serializable {
 
     public void decryptSensitiveData() {
         for (Value value : prepareValuesForEncryptDecrypt()) {
-            if (value.isSensitive()) {
-                ((SensitiveValue) value).decrypt();
-            }
+            ((SensitiveValue) value).decrypt();
         }
     }
 
     public void encryptSensitiveData() {
         for (Value value : prepareValuesForEncryptDecrypt()) {
-            if (value.isSensitive()) {
-                ((SensitiveValue) value).encrypt();
-            }
+            ((SensitiveValue) value).encrypt();
         }
+        // the decrypted contents must not outlive the decrypted values
+        DecryptionCache.clear();
     }
 
     private boolean containsSensitiveCallArgument() {
@@ -191,59 +230,55 @@ public class RunEnvironment implements Serializable {
     }
 
     private boolean containsSensitiveSystemProperties() {
-        return (systemProperties != null) &&
-                containsSensitiveData(Collections2.transform(systemProperties, new Function<SystemProperty, Value>() {
-                    @Override
-                    public Value apply(SystemProperty systemProperty) {
-                        return systemProperty.getValue();
-                    }
-                }));
+        return !getSensitiveSystemPropertyValues().isEmpty();
     }
 
     private boolean containsSensitiveContexts() {
-        boolean hasSensitive = false;
-        ContextStack tempStack = new ContextStack();
-        Context context;
-        while (!hasSensitive && (context = contextStack.popContext()) != null) {
-            hasSensitive = containsSensitiveData(context.getImmutableViewOfLanguageVariables().values());
-            hasSensitive = hasSensitive || containsSensitiveData(context.getImmutableViewOfVariables().values());
-            tempStack.pushContext(context);
-        }
-        while ((context = tempStack.popContext()) != null) {
-            contextStack.pushContext(context);
+        for (Context context : contextStack.getContexts()) {
+            if (context.containsSensitiveData()) {
+                return true;
+            }
         }
+        return false;
+    }
 
-        return hasSensitive;
+    // the system properties do not change during the run, so their sensitive values are found once
+    private List<Value> getSensitiveSystemPropertyValues() {
+        if (sensitiveSystemPropertyValues == null) {
+            List<Value> sensitiveValues = new ArrayList<>();
+            if (systemProperties != null) {
+                for (SystemProperty systemProperty : systemProperties) {
+                    if (systemProperty.getValue() != null && systemProperty.getValue().isSensitive()) {
+                        sensitiveValues.add(systemProperty.getValue());
+                    }
+                }
+            }
+            sensitiveSystemPropertyValues = sensitiveValues;
+        }
+        return sensitiveSystemPropertyValues;
     }
 
     private List<Value> prepareValuesForEncryptDecrypt() {
-        List<Value> valuesToCheck = new LinkedList<>();
+        List<Value> valuesToCheck = new ArrayList<>();
         if (callArguments != null) {
-            valuesToCheck.addAll(callArguments.values());
+            addSensitiveValues(valuesToCheck, callArguments.values());
         }
         if ((returnValues != null) && (returnValues.getOutputs() != null)) {
-            valuesToCheck.addAll(returnValues.getOutputs().values());
+            addSensitiveValues(valuesToCheck, returnValues.getOutputs().values());
         }
-        if (systemProperties != null) {
-            valuesToCheck.addAll(Collections2.transform(systemProperties, new Function<SystemProperty, Value>() {
-                @Override
-                public Value apply(SystemProperty systemProperty) {
-                    return systemProperty.getValue();
-                }
-            }));
+        valuesToCheck.addAll(getSensitiveSystemPropertyValues());
+        for (Context context : contextStack.getContexts()) {
+            valuesToCheck.addAll(context.getSensitiveValues());
         }
-        ContextStack tempStack = new ContextStack();
-        Context context;
-        while ((context = contextStack.popContext()) != null) {
-            valuesToCheck.addAll(context.getImmutableViewOfLanguageVariables().values());
-            valuesToCheck.addAll(context.getImmutableViewOfVariables().values());
-            tempStack.pushContext(context);
-        }
-        while ((context = tempStack.popContext()) != null) {
-            contextStack.pushContext(context);
-        }
-
         return valuesToCheck;
     }
 
+    private void addSensitiveValues(List<Value> sensitiveValues, Collection<Value> values) {
+        for (Value value : values) {
+            if (value != null && value.isSensitive()) {
+                sensitiveValues.add(value);
+            }
+        }
+    }
+
 }
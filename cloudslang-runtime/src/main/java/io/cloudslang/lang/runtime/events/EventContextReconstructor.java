@@ -0,0 +1,71 @@
+/*******************************************************************************
+ * (c) Copyright 2016 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.lang.runtime.events;
+
+import java.io.Serializable;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reconstructs the full context of the events, for the listeners of the events of the delta verbosity.
+ * <p>
+ * The events of every branch of an execution must be given in the order they were fired. A reconstructor is
+ * meant for a listener subscribed through {@code Slang}, which gets every event a delta it receives relies on.
+ * The events of the other verbosity levels are returned as they are.
+ */
+public class EventContextReconstructor {
+
+    // execution id -> branch id -> context of the last event of the branch
+    private final Map<Long, Map<String, Map<String, Serializable>>> contexts = new HashMap<>();
+
+    /**
+     * @return the full context of the event, or null if the event has no context, or if it is a delta of a branch
+     *     whose full context was not given yet
+     */
+    public synchronized Map<String, Serializable> reconstruct(LanguageEventData eventData) {
+        Map<String, Serializable> eventContext = eventData.getContext();
+        LanguageEventData.ContextSnapshot contextSnapshot = eventData.getContextSnapshot();
+        if (eventContext == null || contextSnapshot == null) {
+            return eventContext;
+        }
+        Map<String, Map<String, Serializable>> branchContexts = contexts.get(eventData.getExecutionId());
+        if (branchContexts == null) {
+            branchContexts = new HashMap<>();
+            contexts.put(eventData.getExecutionId(), branchContexts);
+        }
+
+        Map<String, Serializable> context;
+        if (contextSnapshot == LanguageEventData.ContextSnapshot.FULL) {
+            context = new LinkedHashMap<>(eventContext);
+        } else {
+            Map<String, Serializable> previousContext = branchContexts.get(eventData.getBranchId());
+            if (previousContext == null) {
+                return null;
+            }
+            context = new LinkedHashMap<>(previousContext);
+            List<String> removedContext = eventData.getRemovedContext();
+            if (removedContext != null) {
+                context.keySet().removeAll(removedContext);
+            }
+            context.putAll(eventContext);
+        }
+        branchContexts.put(eventData.getBranchId(), context);
+        return new LinkedHashMap<>(context);
+    }
+
+    /**
+     * Drops the contexts of the branches of the execution, e.g. when the execution finished.
+     */
+    public synchronized void removeExecution(Long executionId) {
+        contexts.remove(executionId);
+    }
+}
@@ -0,0 +1,73 @@
+/*******************************************************************************
+ * (c) Copyright 2016 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.lang.runtime.events;
+
+import io.cloudslang.lang.entities.bindings.values.Value;
+import io.cloudslang.lang.entities.utils.ValueUtils;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * The context of the previous event of a branch, so that the next event of the branch includes only the variables
+ * changed since, for the delta verbosity of the events.
+ * <p>
+ * The variables are compared by the identity of their values, as binding a variable binds it to a new value.
+ * Every {@code fullContextInterval} events, and on the first event, the full context is included instead.
+ * <p>
+ * A listener receives only the events of the types it is subscribed to, so a delta is sent only if the previous
+ * event of the branch was delivered to the same listeners, otherwise the full context is included.
+ */
+public class EventContextSnapshot {
+
+    private Map<String, Value> previousContext;
+    private Set<Object> previousListeners;
+    private int deltasSinceFullContext;
+
+    /**
+     * @param listeners the listeners the event is delivered to, or null if it may be delivered to anyone
+     */
+    public void setContext(LanguageEventData eventData, Map<String, Value> context, Set<Object> listeners,
+                           int fullContextInterval) {
+        if (previousContext == null || !Objects.equals(previousListeners, listeners) ||
+                deltasSinceFullContext >= fullContextInterval - 1) {
+            eventData.setContext(ValueUtils.flatten(context));
+            eventData.setContextSnapshot(LanguageEventData.ContextSnapshot.FULL);
+            deltasSinceFullContext = 0;
+        } else {
+            Map<String, Serializable> changedContext = new LinkedHashMap<>();
+            for (Map.Entry<String, Value> entry : context.entrySet()) {
+                if (previousContext.get(entry.getKey()) != entry.getValue()) {
+                    changedContext.put(entry.getKey(), entry.getValue().toString());
+                }
+            }
+            List<String> removedContext = new ArrayList<>();
+            for (String name : previousContext.keySet()) {
+                if (!context.containsKey(name)) {
+                    removedContext.add(name);
+                }
+            }
+            eventData.setContext(changedContext);
+            eventData.setContextSnapshot(LanguageEventData.ContextSnapshot.DELTA);
+            if (!removedContext.isEmpty()) {
+                eventData.setRemovedContext(removedContext);
+            }
+            deltasSinceFullContext++;
+        }
+        previousContext = new HashMap<>(context);
+        previousListeners = listeners;
+    }
+}
@@ -29,6 +29,8 @@ import java.util.Map;
 @SuppressWarnings("unchecked")
 public class LanguageEventData extends HashMap<String, Serializable> {
 
+    private static final long serialVersionUID = 8267892459095992043L;
+
     public static final String TYPE = "TYPE";
     public static final String DESCRIPTION = "DESCRIPTION";
     public static final String TIMESTAMP = "TIMESTAMP";
@@ -49,6 +51,9 @@ public class LanguageEventData extends HashMap<String, Serializable> {
     public static final String STEP_NAME = "STEP_NAME";
     public static final String ROI = "ROI";
     public static final String CONTEXT = "CONTEXT";
+    public static final String CONTEXT_SNAPSHOT = "CONTEXT_SNAPSHOT";
+    public static final String REMOVED_CONTEXT = "REMOVED_CONTEXT";
+    public static final String BRANCH_ID = "BRANCH_ID";
     public static final String CONSUMER_WORKER_UUID = "CONSUMER_WORKER_UUID";
     public static final String PRODUCER_WORKER_UUID = "PRODUCER_WORKER_UUID";
     public static final String ROBOT_UUID = "ROBOT_UUID";
@@ -85,6 +90,17 @@ public class LanguageEventData extends HashMap<String, Serializable> {
         }
     }
 
+    /**
+     * How the context of an event relates to the context of the previous event of the same branch, for the delta
+     * verbosity of the events.
+     */
+    public enum ContextSnapshot {
+        // the context holds all the variables
+        FULL,
+        // the context holds the variables changed since the previous event, the removed ones are listed apart
+        DELTA
+    }
+
     public static StepType convertExecutableType(ExecutableType executableType) {
         switch (executableType) {
             case FLOW:
@@ -146,6 +162,14 @@ public class LanguageEventData extends HashMap<String, Serializable> {
         put(EXECUTION_ID, executionId);
     }
 
+    public String getBranchId() {
+        return (String) get(BRANCH_ID);
+    }
+
+    public void setBranchId(String branchId) {
+        put(BRANCH_ID, branchId);
+    }
+
     public String getPath() {
         return (String) get(PATH);
     }
@@ -218,6 +242,22 @@ public class LanguageEventData extends HashMap<String, Serializable> {
         put(CONTEXT, (Serializable) context);
     }
 
+    public ContextSnapshot getContextSnapshot() {
+        return (ContextSnapshot) get(CONTEXT_SNAPSHOT);
+    }
+
+    public void setContextSnapshot(ContextSnapshot contextSnapshot) {
+        put(CONTEXT_SNAPSHOT, contextSnapshot);
+    }
+
+    public List<String> getRemovedContext() {
+        return (List<String>) get(REMOVED_CONTEXT);
+    }
+
+    public void setRemovedContext(List<String> removedContext) {
+        put(REMOVED_CONTEXT, (Serializable) removedContext);
+    }
+
     @SuppressWarnings("unchecked")
     public static Serializable maskSensitiveValues(Serializable serializable) {
         if (serializable instanceof Map) {
@@ -0,0 +1,154 @@
+/*******************************************************************************
+ * (c) Copyright 2016 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.lang.runtime.events;
+
+import io.cloudslang.lang.entities.properties.EventVerbosityLevel;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import static io.cloudslang.lang.entities.properties.SlangSystemPropertyConstant.CSLANG_RUNTIME_EVENTS_FULL_CONTEXT_INTERVAL;
+import static io.cloudslang.lang.entities.properties.SlangSystemPropertyConstant.CSLANG_RUNTIME_EVENTS_SUBSCRIBED_ONLY;
+import static io.cloudslang.lang.entities.properties.SlangSystemPropertyConstant.CSLANG_RUNTIME_EVENTS_VERBOSITY;
+
+/**
+ * The event types the listeners of the language events are subscribed to, and the verbosity of the events,
+ * consulted before an event is built.
+ * <p>
+ * Only the listeners subscribed through {@code Slang} are known, while other consumers may be subscribed directly
+ * to the event bus, and the subscriptions are shared by all the {@code Slang} instances of the process. So the
+ * events are built in full unless {@code cslang.runtime.events.subscribed.only} is set, which declares that the
+ * listeners subscribed through {@code Slang} are the only consumers. Even then every event is still fired, and only
+ * the costly parts of the events of the other types are left out: the context and the copy of the call arguments.
+ * While no listener is registered every event type is considered subscribed.
+ * <p>
+ * The verbosity, the interval of the full context snapshots of the delta verbosity and whether only the subscribed
+ * event types are built in full are read once from the system properties, and read again on
+ * {@link #refreshVerbosityLevel()}.
+ */
+public final class LanguageEventSubscriptions {
+
+    private static final int DEFAULT_FULL_CONTEXT_INTERVAL = 20;
+
+    private static final Map<Object, Set<String>> SUBSCRIPTIONS = new IdentityHashMap<>();
+
+    // the listeners subscribed to every event type, null while no listener is registered
+    private static volatile Map<String, Set<Object>> subscribedListeners;
+    private static volatile EventVerbosityLevel verbosityLevel = readVerbosityLevel();
+    private static volatile int fullContextInterval = readFullContextInterval();
+    private static volatile boolean subscribedOnly = readSubscribedOnly();
+
+    private LanguageEventSubscriptions() {
+    }
+
+    public static synchronized void subscribe(Object listener, Set<String> eventTypes) {
+        Set<String> listenerEventTypes = SUBSCRIPTIONS.get(listener);
+        if (listenerEventTypes == null) {
+            listenerEventTypes = new HashSet<>();
+            SUBSCRIPTIONS.put(listener, listenerEventTypes);
+        }
+        listenerEventTypes.addAll(eventTypes);
+        updateSubscribedEventTypes();
+    }
+
+    public static synchronized void unsubscribe(Object listener) {
+        if (SUBSCRIPTIONS.remove(listener) != null) {
+            updateSubscribedEventTypes();
+        }
+    }
+
+    /**
+     * @return whether the costly parts of the events of the type are needed
+     */
+    public static boolean isSubscribed(String eventType) {
+        Map<String, Set<Object>> listeners = subscribedListeners;
+        return !subscribedOnly || listeners == null || listeners.containsKey(eventType);
+    }
+
+    /**
+     * @return the listeners the events of the type are delivered to, or null if they may be delivered to anyone
+     */
+    public static Set<Object> getSubscribedListeners(String eventType) {
+        Map<String, Set<Object>> listeners = subscribedListeners;
+        return listeners == null ? null : listeners.get(eventType);
+    }
+
+    /**
+     * @return whether the events include the context, by the verbosity of the events
+     */
+    public static boolean isContextIncluded() {
+        return verbosityLevel != EventVerbosityLevel.DEFAULT;
+    }
+
+    /**
+     * @return whether the events include only the variables changed since the previous event of the branch
+     */
+    public static boolean isContextDelta() {
+        return verbosityLevel == EventVerbosityLevel.DELTA;
+    }
+
+    /**
+     * @return the number of events of a branch between two events including the full context, for the delta verbosity
+     */
+    public static int getFullContextInterval() {
+        return fullContextInterval;
+    }
+
+    public static void refreshVerbosityLevel() {
+        verbosityLevel = readVerbosityLevel();
+        fullContextInterval = readFullContextInterval();
+        subscribedOnly = readSubscribedOnly();
+    }
+
+    private static void updateSubscribedEventTypes() {
+        if (SUBSCRIPTIONS.isEmpty()) {
+            subscribedListeners = null;
+            return;
+        }
+        Map<String, Set<Object>> listeners = new HashMap<>();
+        for (Map.Entry<Object, Set<String>> subscription : SUBSCRIPTIONS.entrySet()) {
+            for (String eventType : subscription.getValue()) {
+                Set<Object> eventTypeListeners = listeners.get(eventType);
+                if (eventTypeListeners == null) {
+                    eventTypeListeners = Collections.newSetFromMap(new IdentityHashMap<Object, Boolean>());
+                    listeners.put(eventType, eventTypeListeners);
+                }
+                eventTypeListeners.add(subscription.getKey());
+            }
+        }
+        subscribedListeners = listeners;
+    }
+
+    private static EventVerbosityLevel readVerbosityLevel() {
+        String verbosityLevel = System.getProperty(
+                CSLANG_RUNTIME_EVENTS_VERBOSITY.getValue(),
+                EventVerbosityLevel.DEFAULT.getValue()
+        );
+        if (EventVerbosityLevel.ALL.getValue().equals(verbosityLevel)) {
+            return EventVerbosityLevel.ALL;
+        } else if (EventVerbosityLevel.DELTA.getValue().equals(verbosityLevel)) {
+            return EventVerbosityLevel.DELTA;
+        }
+        return EventVerbosityLevel.DEFAULT;
+    }
+
+    private static boolean readSubscribedOnly() {
+        return Boolean.getBoolean(CSLANG_RUNTIME_EVENTS_SUBSCRIBED_ONLY.getValue());
+    }
+
+    private static int readFullContextInterval() {
+        Integer interval = Integer.getInteger(CSLANG_RUNTIME_EVENTS_FULL_CONTEXT_INTERVAL.getValue());
+        return interval == null || interval < 1 ? DEFAULT_FULL_CONTEXT_INTERVAL : interval;
+    }
+}
@@ -20,7 +20,6 @@ import io.cloudslang.lang.entities.bindings.Input;
 import io.cloudslang.lang.entities.bindings.Output;
 import io.cloudslang.lang.entities.bindings.values.Value;
 import io.cloudslang.lang.entities.bindings.values.ValueFactory;
-import io.cloudslang.lang.entities.properties.EventVerbosityLevel;
 import io.cloudslang.lang.entities.utils.ValueUtils;
 import io.cloudslang.lang.runtime.bindings.LoopsBinding;
 import io.cloudslang.lang.runtime.bindings.OutputsBinding;
@@ -32,7 +31,9 @@ import io.cloudslang.lang.runtime.env.ParentFlowData;
 import io.cloudslang.lang.runtime.env.ParentFlowStack;
 import io.cloudslang.lang.runtime.env.ReturnValues;
 import io.cloudslang.lang.runtime.env.RunEnvironment;
+import io.cloudslang.lang.runtime.events.EventContextSnapshot;
 import io.cloudslang.lang.runtime.events.LanguageEventData;
+import io.cloudslang.lang.runtime.events.LanguageEventSubscriptions;
 import io.cloudslang.score.api.execution.ExecutionParametersConsts;
 import io.cloudslang.score.lang.ExecutionRuntimeServices;
 import org.apache.commons.lang3.tuple.Pair;
@@ -48,8 +49,6 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
 
-import static io.cloudslang.lang.entities.properties.SlangSystemPropertyConstant.CSLANG_RUNTIME_EVENTS_VERBOSITY;
-
 public abstract class AbstractExecutionData {
 
     @SafeVarargs
@@ -61,10 +60,14 @@ public abstract class AbstractExecutionData {
                                  String stepName,
                                  Map<String, Value> context,
                                  Map.Entry<String, ? extends Serializable>... fields) {
-        fireEvent(runtimeServices, type, description,
+        addEvent(runtimeServices, runEnvironment, type, description,
                 runEnvironment.getExecutionPath().getCurrentPath(), stepType, stepName, context, fields);
     }
 
+    /**
+     * Fires an event not bound to a run environment, so for the delta verbosity of the events it includes
+     * the full context.
+     */
     @SafeVarargs
     public static void fireEvent(ExecutionRuntimeServices runtimeServices,
                                  String type,
@@ -74,6 +77,19 @@ public abstract class AbstractExecutionData {
                                  String stepName,
                                  Map<String, Value> context,
                                  Map.Entry<String, ? extends Serializable>... fields) {
+        addEvent(runtimeServices, null, type, description, path, stepType, stepName, context, fields);
+    }
+
+    @SafeVarargs
+    private static void addEvent(ExecutionRuntimeServices runtimeServices,
+                                 RunEnvironment runEnvironment,
+                                 String type,
+                                 String description,
+                                 String path,
+                                 LanguageEventData.StepType stepType,
+                                 String stepName,
+                                 Map<String, Value> context,
+                                 Map.Entry<String, ? extends Serializable>... fields) {
         LanguageEventData eventData = new LanguageEventData();
         eventData.setStepType(stepType);
         eventData.setStepName(stepName);
@@ -83,7 +99,7 @@ public abstract class AbstractExecutionData {
         eventData.setExecutionId(runtimeServices.getExecutionId());
         eventData.setPath(path);
 
-        setContext(eventData, context);
+        setContext(eventData, runtimeServices, runEnvironment, context);
 
         for (Entry<String, ? extends Serializable> field : fields) {
             //noinspection unchecked
@@ -101,12 +117,21 @@ public abstract class AbstractExecutionData {
         stack.pushParentFlowData(new ParentFlowData(runningExecutionPlanId, nextStepId));
     }
 
-    private static void setContext(LanguageEventData eventData, Map<String, Value> context) {
-        String verbosityLevel = System.getProperty(
-                CSLANG_RUNTIME_EVENTS_VERBOSITY.getValue(),
-                EventVerbosityLevel.DEFAULT.getValue()
-        );
-        if (EventVerbosityLevel.ALL.getValue().equals(verbosityLevel) && context != null) {
+    private static void setContext(LanguageEventData eventData, ExecutionRuntimeServices runtimeServices,
+                                   RunEnvironment runEnvironment, Map<String, Value> context) {
+        // the context is the costly part of the event, it is left out when no listener reads it
+        if (!LanguageEventSubscriptions.isContextIncluded() || context == null ||
+                !LanguageEventSubscriptions.isSubscribed(eventData.getEventType())) {
+            return;
+        }
+        if (LanguageEventSubscriptions.isContextDelta()) {
+            EventContextSnapshot contextSnapshot = runEnvironment == null ?
+                    new EventContextSnapshot() : runEnvironment.getEventContextSnapshot();
+            eventData.setBranchId(runtimeServices.getBranchId());
+            contextSnapshot.setContext(eventData, context,
+                    LanguageEventSubscriptions.getSubscribedListeners(eventData.getEventType()),
+                    LanguageEventSubscriptions.getFullContextInterval());
+        } else {
             eventData.setContext(ValueUtils.flatten(context));
         }
     }
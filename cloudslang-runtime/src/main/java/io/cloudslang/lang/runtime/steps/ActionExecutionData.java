@@ -14,12 +14,14 @@ import com.hp.oo.sdk.content.plugin.SerializableSessionObject;
 import io.cloudslang.lang.compiler.modeller.model.SeqStep;
 import io.cloudslang.lang.entities.ActionType;
 import io.cloudslang.lang.entities.ScoreLangConstants;
+import io.cloudslang.lang.entities.bindings.values.DecryptionCache;
 import io.cloudslang.lang.entities.bindings.values.Value;
 import io.cloudslang.lang.entities.bindings.values.ValueFactory;
 import io.cloudslang.lang.runtime.bindings.scripts.ScriptExecutor;
 import io.cloudslang.lang.runtime.env.ReturnValues;
 import io.cloudslang.lang.runtime.env.RunEnvironment;
 import io.cloudslang.lang.runtime.events.LanguageEventData;
+import io.cloudslang.lang.runtime.events.LanguageEventSubscriptions;
 import io.cloudslang.runtime.api.java.JavaRuntimeService;
 import io.cloudslang.runtime.api.sequential.SequentialExecutionService;
 import io.cloudslang.score.api.execution.ExecutionParametersConsts;
@@ -87,8 +89,13 @@ public class ActionExecutionData extends AbstractExecutionData {
         Map<String, Value> callArguments = runEnv.removeCallArguments();
         Map<String, Value> callArgumentsDeepCopy = new HashMap<>();
 
-        for (Map.Entry<String, Value> entry : callArguments.entrySet()) {
-            callArgumentsDeepCopy.put(entry.getKey(), ValueFactory.create(entry.getValue()));
+        // the copy is only read by the events
+        if (LanguageEventSubscriptions.isSubscribed(ScoreLangConstants.EVENT_ACTION_START) ||
+                LanguageEventSubscriptions.isSubscribed(ScoreLangConstants.EVENT_ACTION_END) ||
+                LanguageEventSubscriptions.isSubscribed(ScoreLangConstants.EVENT_ACTION_ERROR)) {
+            for (Map.Entry<String, Value> entry : callArguments.entrySet()) {
+                callArgumentsDeepCopy.put(entry.getKey(), ValueFactory.create(entry.getValue()));
+            }
         }
 
         Map<String, SerializableSessionObject> serializableSessionData = runEnv.getSerializableDataMap();
@@ -101,6 +108,7 @@ public class ActionExecutionData extends AbstractExecutionData {
                 null,
                 callArgumentsDeepCopy,
                 Pair.of(LanguageEventData.CALL_ARGUMENTS, (Serializable) callArgumentsDeepCopy));
+        DecryptionCache.open();
         try {
             switch (actionType) {
                 case JAVA:
@@ -133,6 +141,8 @@ public class ActionExecutionData extends AbstractExecutionData {
                     Pair.of(LanguageEventData.EXCEPTION, ex.getMessage()));
             logger.error(ex);
             throw (ex);
+        } finally {
+            DecryptionCache.close();
         }
 
         ReturnValues returnValues = new ReturnValues(returnValue, null);
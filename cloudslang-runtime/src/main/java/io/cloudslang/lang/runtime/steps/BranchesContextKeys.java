@@ -0,0 +1,152 @@
+/*******************************************************************************
+ * (c) Copyright 2016 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.lang.runtime.steps;
+
+import io.cloudslang.lang.entities.bindings.Output;
+import io.cloudslang.lang.entities.bindings.values.Value;
+import io.cloudslang.lang.entities.utils.ExpressionUtils;
+import io.cloudslang.lang.runtime.RuntimeConstants;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Finds which branch variables the aggregate publish expressions of a parallel loop can read,
+ * so that only those are kept from every finished branch.
+ * <p>
+ * The analysis only recognizes the usual way of reading branch data, where every branch context is read by
+ * string literal keys, e.g. {@code map(lambda x: x['name'], branches_context)} or
+ * {@code branches_context[-1]['name']}. For any other expression all the variables are kept.
+ */
+final class BranchesContextKeys {
+
+    private static final String LITERAL = "$LITERAL";
+
+    private static final Pattern STRING_LITERAL_PATTERN = Pattern.compile("'([^'\\\\]*)'|\"([^\"\\\\]*)\"");
+    private static final Pattern LAMBDA_PATTERN = Pattern.compile("\\blambda\\s+([^:]*):");
+    private static final Pattern FOR_PATTERN = Pattern.compile("\\bfor\\s+([^:]*?)\\s+in\\b");
+    private static final Pattern IDENTIFIER_PATTERN = Pattern.compile("\\s*[A-Za-z_][A-Za-z0-9_]*\\s*");
+    private static final Pattern BRANCHES_CONTEXT_PATTERN =
+            Pattern.compile("\\b" + RuntimeConstants.BRANCHES_CONTEXT_KEY + "\\b");
+
+    // the key must be the whole subscript or the whole first argument of get, not a part of a computed key
+    private static final String LITERAL_KEY_ACCESS = "\\s*(?:\\[\\s*" + Pattern.quote(LITERAL) + "\\s*\\]|" +
+            "\\.get\\s*\\(\\s*" + Pattern.quote(LITERAL) + "\\s*[,)])";
+    private static final Pattern LITERAL_KEY_ACCESS_PATTERN = Pattern.compile(LITERAL_KEY_ACCESS);
+    private static final Pattern INDEXED_LITERAL_KEY_ACCESS_PATTERN =
+            Pattern.compile("\\s*\\[\\s*-?\\d+\\s*\\]" + LITERAL_KEY_ACCESS);
+    private static final Pattern ITERATION_SOURCE_PATTERN = Pattern.compile("\\bin\\s*$");
+    private static final Pattern MAP_CALL_PATTERN = Pattern.compile("\\bmap\\s*$");
+    private static final Pattern LAMBDA_ARGUMENT_PATTERN = Pattern.compile("\\s*lambda\\b");
+
+    private BranchesContextKeys() {
+    }
+
+    /**
+     * @return the names that may be read from the branch contexts, or null if all variables must be kept
+     */
+    static Set<String> getReferencedKeys(List<Output> publishValues) {
+        Set<String> keys = new HashSet<>();
+        for (Output output : publishValues) {
+            Value value = output.getValue();
+            if (value == null || value.isSensitive()) {
+                return null;
+            }
+            String expression = ExpressionUtils.extractExpression(value.get());
+            if (expression == null || !addReferencedKeys(expression, keys)) {
+                return null;
+            }
+        }
+        return keys;
+    }
+
+    private static boolean addReferencedKeys(String expression, Set<String> keys) {
+        StringBuffer codeBuffer = new StringBuffer();
+        Matcher literalMatcher = STRING_LITERAL_PATTERN.matcher(expression);
+        while (literalMatcher.find()) {
+            keys.add(literalMatcher.group(1) != null ? literalMatcher.group(1) : literalMatcher.group(2));
+            literalMatcher.appendReplacement(codeBuffer, Matcher.quoteReplacement(LITERAL));
+        }
+        literalMatcher.appendTail(codeBuffer);
+        String code = codeBuffer.toString();
+        if (code.indexOf('\'') >= 0 || code.indexOf('"') >= 0) {
+            return false;
+        }
+
+        // names bound to the elements of branches_context, or to anything else, must only be read by literal keys
+        List<String> boundNames = new ArrayList<>();
+        if (!addBoundNames(LAMBDA_PATTERN, code, boundNames) || !addBoundNames(FOR_PATTERN, code, boundNames)) {
+            return false;
+        }
+        String body = FOR_PATTERN.matcher(LAMBDA_PATTERN.matcher(code).replaceAll("lambda:")).replaceAll("for in");
+        for (String boundName : boundNames) {
+            Matcher nameMatcher = Pattern.compile("\\b" + Pattern.quote(boundName) + "\\b").matcher(body);
+            while (nameMatcher.find()) {
+                if (!LITERAL_KEY_ACCESS_PATTERN.matcher(body).region(nameMatcher.end(), body.length()).lookingAt()) {
+                    return false;
+                }
+            }
+        }
+
+        Matcher branchesContextMatcher = BRANCHES_CONTEXT_PATTERN.matcher(body);
+        while (branchesContextMatcher.find()) {
+            if (!isElementWiseAccess(body, branchesContextMatcher.start(), branchesContextMatcher.end())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean addBoundNames(Pattern bindingPattern, String code, List<String> boundNames) {
+        Matcher matcher = bindingPattern.matcher(code);
+        while (matcher.find()) {
+            for (String name : matcher.group(1).split(",")) {
+                if (!IDENTIFIER_PATTERN.matcher(name).matches()) {
+                    return false;
+                }
+                boundNames.add(name.trim());
+            }
+        }
+        return true;
+    }
+
+    private static boolean isElementWiseAccess(String body, int start, int end) {
+        if (INDEXED_LITERAL_KEY_ACCESS_PATTERN.matcher(body).region(end, body.length()).lookingAt()) {
+            return true;
+        }
+        String before = body.substring(0, start);
+        if (ITERATION_SOURCE_PATTERN.matcher(before).find()) {
+            return true;
+        }
+        // last argument of map called with a lambda, only the results of the lambda escape, while filter
+        // would return the branch contexts themselves
+        if (!before.trim().endsWith(",") || !body.substring(end).trim().startsWith(")")) {
+            return false;
+        }
+        int depth = 0;
+        for (int i = start - 1; i >= 0; i--) {
+            char character = body.charAt(i);
+            if (character == ')' || character == ']' || character == '}') {
+                depth++;
+            } else if (character == '(' || character == '[' || character == '{') {
+                if (depth == 0) {
+                    return character == '(' && MAP_CALL_PATTERN.matcher(body.substring(0, i)).find() &&
+                            LAMBDA_ARGUMENT_PATTERN.matcher(body.substring(i + 1)).lookingAt();
+                }
+                depth--;
+            }
+        }
+        return false;
+    }
+}
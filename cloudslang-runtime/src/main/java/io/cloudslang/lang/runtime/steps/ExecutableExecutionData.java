@@ -15,6 +15,7 @@ import io.cloudslang.lang.entities.ScoreLangConstants;
 import io.cloudslang.lang.entities.bindings.Input;
 import io.cloudslang.lang.entities.bindings.Output;
 import io.cloudslang.lang.entities.bindings.Result;
+import io.cloudslang.lang.entities.bindings.values.DecryptionCache;
 import io.cloudslang.lang.entities.bindings.values.Value;
 import io.cloudslang.lang.entities.utils.MapUtils;
 import io.cloudslang.lang.runtime.bindings.InputsBinding;
@@ -78,6 +79,7 @@ public class ExecutableExecutionData extends AbstractExecutionData {
                                 @Param(ScoreLangConstants.NODE_NAME_KEY) String nodeName,
                                 @Param(ScoreLangConstants.NEXT_STEP_ID_KEY) Long nextStepId,
                                 @Param(ScoreLangConstants.EXECUTABLE_TYPE) ExecutableType executableType) {
+        DecryptionCache.open();
         try {
             Map<String, Value> callArguments = runEnv.removeCallArguments();
 
@@ -146,6 +148,8 @@ public class ExecutableExecutionData extends AbstractExecutionData {
             logger.error("There was an error running the start executable execution step of: \'" + nodeName +
                     "\'.\n\tError is: " + e.getMessage());
             throw new RuntimeException("Error running: \'" + nodeName + "\'.\n\t " + e.getMessage(), e);
+        } finally {
+            DecryptionCache.close();
         }
     }
 
@@ -163,6 +167,7 @@ public class ExecutableExecutionData extends AbstractExecutionData {
                                  @Param(EXECUTION_RUNTIME_SERVICES) ExecutionRuntimeServices executionRuntimeServices,
                                  @Param(ScoreLangConstants.NODE_NAME_KEY) String nodeName,
                                  @Param(ScoreLangConstants.EXECUTABLE_TYPE) ExecutableType executableType) {
+        DecryptionCache.open();
         try {
             runEnv.getExecutionPath().up();
             Context operationContext = runEnv.getStack().popContext();
@@ -241,6 +246,8 @@ public class ExecutableExecutionData extends AbstractExecutionData {
             logger.error("There was an error running the finish executable execution step of: \'" + nodeName +
                     "\'.\n\tError is: " + e.getMessage());
             throw new RuntimeException("Error running: \'" + nodeName + "\'.\n\t" + e.getMessage(), e);
+        } finally {
+            DecryptionCache.close();
         }
     }
 
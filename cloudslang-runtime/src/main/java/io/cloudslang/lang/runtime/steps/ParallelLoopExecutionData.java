@@ -16,12 +16,14 @@ import io.cloudslang.lang.entities.MapLoopStatement;
 import io.cloudslang.lang.entities.ResultNavigation;
 import io.cloudslang.lang.entities.ScoreLangConstants;
 import io.cloudslang.lang.entities.bindings.Output;
+import io.cloudslang.lang.entities.bindings.values.DecryptionCache;
 import io.cloudslang.lang.entities.bindings.values.Value;
 import io.cloudslang.lang.entities.bindings.values.ValueFactory;
 import io.cloudslang.lang.runtime.RuntimeConstants;
 import io.cloudslang.lang.runtime.bindings.OutputsBinding;
 import io.cloudslang.lang.runtime.bindings.ParallelLoopBinding;
 import io.cloudslang.lang.runtime.env.Context;
+import io.cloudslang.lang.runtime.env.ParallelLoopWaves;
 import io.cloudslang.lang.runtime.env.ReturnValues;
 import io.cloudslang.lang.runtime.env.RunEnvironment;
 import io.cloudslang.lang.runtime.events.LanguageEventData;
@@ -30,20 +32,20 @@ import io.cloudslang.score.api.execution.ExecutionParametersConsts;
 import io.cloudslang.score.lang.ExecutionRuntimeServices;
 import io.cloudslang.score.lang.SystemContext;
 import org.apache.commons.collections4.MapUtils;
-import org.apache.commons.lang.SerializationUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.tuple.ImmutablePair;
 import org.apache.commons.lang3.tuple.Pair;
 import org.apache.log4j.Logger;
-import org.python.google.common.collect.Lists;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import static io.cloudslang.score.api.execution.ExecutionParametersConsts.EXECUTION_RUNTIME_SERVICES;
 
@@ -76,36 +78,53 @@ public class ParallelLoopExecutionData extends AbstractExecutionData {
 
                             @Param(ScoreLangConstants.NEXT_STEP_ID_KEY) Long nextStepId,
                             @Param(ScoreLangConstants.BRANCH_BEGIN_STEP_ID_KEY) Long branchBeginStep,
-                            @Param(ScoreLangConstants.REF_ID) String refId) {
+                            @Param(ScoreLangConstants.REF_ID) String refId,
+                            @Param(ScoreLangConstants.MAX_CONCURRENCY_KEY) Integer maxConcurrency) {
 
+        DecryptionCache.open();
         try {
             Context flowContext = runEnv.getStack().popContext();
 
-            List<Value> splitData = parallelLoopBinding
-                .bindParallelLoopList(parallelLoopStatement, flowContext, runEnv.getSystemProperties(), nodeName);
+            List<Value> splitData;
+            Value wavesValue = flowContext.getLanguageVariable(ParallelLoopWaves.PARALLEL_LOOP_WAVES_KEY);
+            if (wavesValue == null) {
+                splitData = parallelLoopBinding
+                    .bindParallelLoopList(parallelLoopStatement, flowContext, runEnv.getSystemProperties(), nodeName);
 
-            fireEvent(
-                executionRuntimeServices,
-                ScoreLangConstants.EVENT_SPLIT_BRANCHES,
-                "parallel loop expression bound",
-                runEnv.getExecutionPath().getCurrentPath(),
-                LanguageEventData.StepType.STEP,
-                nodeName,
-                flowContext.getImmutableViewOfVariables(),
-                Pair.of(LanguageEventData.BOUND_PARALLEL_LOOP_EXPRESSION, (Serializable) splitData));
+                fireEvent(
+                    executionRuntimeServices,
+                    runEnv,
+                    ScoreLangConstants.EVENT_SPLIT_BRANCHES,
+                    "parallel loop expression bound",
+                    LanguageEventData.StepType.STEP,
+                    nodeName,
+                    flowContext.getImmutableViewOfVariables(),
+                    Pair.of(LanguageEventData.BOUND_PARALLEL_LOOP_EXPRESSION, (Serializable) splitData));
+
+                runEnv.getExecutionPath().down();
 
+                if (maxConcurrency != null && maxConcurrency < splitData.size()) {
+                    ParallelLoopWaves waves = new ParallelLoopWaves(splitData, maxConcurrency);
+                    flowContext.putLanguageVariable(ParallelLoopWaves.PARALLEL_LOOP_WAVES_KEY,
+                        ValueFactory.create(waves));
+                    splitData = waves.nextWave();
+                }
+            } else {
+                // next wave, the branch paths continue after the ones of the previous waves
+                splitData = ((ParallelLoopWaves) wavesValue.get()).nextWave();
+            }
             runEnv.putNextStepPosition(nextStepId);
-            runEnv.getExecutionPath().down();
 
             for (Value splitItem : splitData) {
-                Context branchContext = (Context) SerializationUtils.clone(flowContext);
+                Context branchContext = flowContext.copy();
+                branchContext.removeLanguageVariable(ParallelLoopWaves.PARALLEL_LOOP_WAVES_KEY);
 
                 // first fire event
                 fireEvent(
                     executionRuntimeServices,
+                    runEnv,
                     ScoreLangConstants.EVENT_BRANCH_START,
                     "parallel loop branch created",
-                    runEnv.getExecutionPath().getCurrentPath(),
                     LanguageEventData.StepType.STEP,
                     nodeName,
                     branchContext.getImmutableViewOfVariables(),
@@ -114,8 +133,7 @@ public class ParallelLoopExecutionData extends AbstractExecutionData {
                 // take path down one level
                 runEnv.getExecutionPath().down();
 
-                RunEnvironment branchRuntimeEnvironment = (RunEnvironment) SerializationUtils.clone(runEnv);
-                branchRuntimeEnvironment.resetStacks();
+                RunEnvironment branchRuntimeEnvironment = runEnv.copyForBranch();
 
                 if (parallelLoopStatement instanceof ListLoopStatement) {
                     branchContext.putVariable(((ListLoopStatement) parallelLoopStatement).getVarName(), splitItem);
@@ -146,6 +164,8 @@ public class ParallelLoopExecutionData extends AbstractExecutionData {
             logger.error("There was an error running the add branches execution step of: \'" + nodeName +
                 "\'. Error is: " + e.getMessage());
             throw new RuntimeException("Error running: " + nodeName + ": " + e.getMessage(), e);
+        } finally {
+            DecryptionCache.close();
         }
 
     }
@@ -155,13 +175,32 @@ public class ParallelLoopExecutionData extends AbstractExecutionData {
                              @Param(ScoreLangConstants.STEP_PUBLISH_KEY) List<Output> stepPublishValues,
                              @Param(ScoreLangConstants.STEP_NAVIGATION_KEY)
                                  Map<String, ResultNavigation> stepNavigationValues,
-                             @Param(ScoreLangConstants.NODE_NAME_KEY) String nodeName) {
+                             @Param(ScoreLangConstants.NODE_NAME_KEY) String nodeName,
+                             @Param(ScoreLangConstants.ADD_BRANCHES_STEP_ID_KEY) Long addBranchesStepId) {
+        DecryptionCache.open();
         try {
-            runEnv.getExecutionPath().up();
-            List<Map<String, Serializable>> branchesContext = Lists.newArrayList();
             Context flowContext = runEnv.getStack().popContext();
 
-            collectBranchesData(executionRuntimeServices, nodeName, branchesContext);
+            Value wavesValue = flowContext.getLanguageVariable(ParallelLoopWaves.PARALLEL_LOOP_WAVES_KEY);
+            ParallelLoopWaves waves = wavesValue == null ? null : (ParallelLoopWaves) wavesValue.get();
+            List<Map<String, Value>> finishedBranches = waves == null ? new ArrayList<>() :
+                waves.getFinishedBranches();
+            collectBranchesData(executionRuntimeServices, nodeName, finishedBranches,
+                BranchesContextKeys.getReferencedKeys(stepPublishValues));
+
+            if (waves != null && waves.hasMore()) {
+                // run the next wave of branches before binding the publish values
+                runEnv.getStack().pushContext(flowContext);
+                runEnv.putNextStepPosition(addBranchesStepId);
+                return;
+            }
+            flowContext.removeLanguageVariable(ParallelLoopWaves.PARALLEL_LOOP_WAVES_KEY);
+            runEnv.getExecutionPath().up();
+
+            List<Map<String, Serializable>> branchesContext = new ArrayList<>(finishedBranches.size());
+            for (Map<String, Value> finishedBranch : finishedBranches) {
+                branchesContext.add(convert(finishedBranch));
+            }
             Map<String, Value> outputBindingContext = new HashMap<>();
             outputBindingContext.put(
                 RuntimeConstants.BRANCHES_CONTEXT_KEY,
@@ -197,6 +236,8 @@ public class ParallelLoopExecutionData extends AbstractExecutionData {
             logger.error("There was an error running the joinBranches execution step of: \'" + nodeName +
                 "\'. Error is: " + e.getMessage());
             throw new RuntimeException("Error running: \'" + nodeName + "\': \n" + e.getMessage(), e);
+        } finally {
+            DecryptionCache.close();
         }
     }
 
@@ -281,7 +322,8 @@ public class ParallelLoopExecutionData extends AbstractExecutionData {
     private void collectBranchesData(
         ExecutionRuntimeServices executionRuntimeServices,
         String nodeName,
-        List<Map<String, Serializable>> branchesContext) {
+        List<Map<String, Value>> finishedBranches,
+        Set<String> referencedKeys) {
 
         List<EndBranchDataContainer> branches = executionRuntimeServices.getFinishedChildBranchesData();
         for (EndBranchDataContainer branch : branches) {
@@ -291,11 +333,12 @@ public class ParallelLoopExecutionData extends AbstractExecutionData {
             RunEnvironment branchRuntimeEnvironment = (RunEnvironment) branchContext.get(ScoreLangConstants.RUN_ENV);
             Map<String, Value> initialBranchContext =
                 branchRuntimeEnvironment.getStack().popContext().getImmutableViewOfVariables();
-            Map<String, Serializable> branchContextMap = convert(initialBranchContext);
+            // only the variables the publish expressions can read are kept, see BranchesContextKeys
+            Map<String, Value> branchContextMap = filterKeys(initialBranchContext, referencedKeys);
             ReturnValues executableReturnValues = branchRuntimeEnvironment.removeReturnValues();
             String branchResult = executableReturnValues.getResult();
-            branchContextMap.put(ScoreLangConstants.BRANCH_RESULT_KEY, branchResult);
-            branchesContext.add(branchContextMap);
+            branchContextMap.put(ScoreLangConstants.BRANCH_RESULT_KEY, ValueFactory.create(branchResult));
+            finishedBranches.add(branchContextMap);
 
             // up branch path
             branchRuntimeEnvironment.getExecutionPath().up();
@@ -337,6 +380,19 @@ public class ParallelLoopExecutionData extends AbstractExecutionData {
         executionRuntimeServices.addBranch(branchBeginStep, refId, branchContext);
     }
 
+    private Map<String, Value> filterKeys(Map<String, Value> map, Set<String> keysToKeep) {
+        if (keysToKeep == null) {
+            return new HashMap<>(map);
+        }
+        Map<String, Value> result = new HashMap<>(keysToKeep.size() + 1);
+        for (Map.Entry<String, Value> entry : map.entrySet()) {
+            if (keysToKeep.contains(entry.getKey())) {
+                result.put(entry.getKey(), entry.getValue());
+            }
+        }
+        return result;
+    }
+
     private Map<String, Serializable> convert(Map<String, Value> map) {
         Map<String, Serializable> result = new HashMap<>(map.size());
         for (Map.Entry<String, Value> entry : map.entrySet()) {
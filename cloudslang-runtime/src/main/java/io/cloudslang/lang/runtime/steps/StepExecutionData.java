@@ -18,6 +18,7 @@ import io.cloudslang.lang.entities.ScoreLangConstants;
 import io.cloudslang.lang.entities.WorkerGroupStatement;
 import io.cloudslang.lang.entities.bindings.Argument;
 import io.cloudslang.lang.entities.bindings.Output;
+import io.cloudslang.lang.entities.bindings.values.DecryptionCache;
 import io.cloudslang.lang.entities.bindings.values.Value;
 import io.cloudslang.lang.entities.bindings.values.ValueFactory;
 import io.cloudslang.lang.entities.utils.ExpressionUtils;
@@ -80,6 +81,7 @@ public class StepExecutionData extends AbstractExecutionData {
                           @Param(ScoreLangConstants.NEXT_STEP_ID_KEY) Long nextStepId,
                           @Param(ScoreLangConstants.REF_ID) String refId,
                           @Param(STEP_NAVIGATION_OPTIONS_KEY) List<NavigationOptions> stepNavigationOptions) {
+        DecryptionCache.open();
         try {
             runEnv.removeCallArguments();
             runEnv.removeReturnValues();
@@ -149,6 +151,8 @@ public class StepExecutionData extends AbstractExecutionData {
             logger.error("There was an error running the beginStep execution step of: \'" + nodeName +
                     "\'. Error is: " + e.getMessage());
             throw new RuntimeException("Error running: " + nodeName + ": " + e.getMessage(), e);
+        } finally {
+            DecryptionCache.close();
         }
     }
 
@@ -163,6 +167,7 @@ public class StepExecutionData extends AbstractExecutionData {
                         @Param(ScoreLangConstants.NODE_NAME_KEY) String nodeName,
                         @Param(ScoreLangConstants.PARALLEL_LOOP_KEY) boolean parallelLoop) {
 
+        DecryptionCache.open();
         try {
             Context flowContext = runEnv.getStack().popContext();
 
@@ -245,6 +250,8 @@ public class StepExecutionData extends AbstractExecutionData {
             logger.error("There was an error running the endStep execution step of: \'" + nodeName +
                     "\'. Error is: " + e.getMessage());
             throw new RuntimeException("Error running: \'" + nodeName + "\': " + e.getMessage(), e);
+        } finally {
+            DecryptionCache.close();
         }
     }
 
@@ -40,6 +40,7 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
@@ -454,6 +455,26 @@ public class InputsBindingTest {
         Assert.assertEquals("orig context should not change", 1, context.size());
     }
 
+    @Test(timeout = 60000)
+    public void testManyInputsResolvePreviousInputs() {
+        int numberOfInputs = 150;
+        Map<String, Value> context = new HashMap<>();
+        for (int i = 0; i < numberOfInputs; i++) {
+            context.put("var" + i, ValueFactory.create("value" + i));
+        }
+        List<Input> inputs = new ArrayList<>(numberOfInputs);
+        inputs.add(new Input.InputBuilder("input0", "0").build());
+        for (int i = 1; i < numberOfInputs; i++) {
+            inputs.add(new Input.InputBuilder("input" + i, "${ str(int(input" + (i - 1) + ") + 1) }").build());
+        }
+
+        Map<String, Value> result = bindInputs(inputs, context);
+
+        Assert.assertEquals(numberOfInputs, result.size());
+        Assert.assertEquals(String.valueOf(numberOfInputs - 1), result.get("input" + (numberOfInputs - 1)).get());
+        Assert.assertEquals("orig context should not change", numberOfInputs, context.size());
+    }
+
     private Map<String, Value> bindInputs(List<Input> inputs, Map<String, Value> context,
                                           Set<SystemProperty> systemProperties) {
         return inputsBinding.bindInputs(inputs, context, systemProperties);
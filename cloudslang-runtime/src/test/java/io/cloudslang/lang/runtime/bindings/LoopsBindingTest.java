@@ -15,21 +15,30 @@ import io.cloudslang.lang.entities.SystemProperty;
 import io.cloudslang.lang.entities.bindings.ScriptFunction;
 import io.cloudslang.lang.entities.bindings.values.Value;
 import io.cloudslang.lang.entities.bindings.values.ValueFactory;
+import io.cloudslang.lang.entities.encryption.EncryptionProvider;
 import io.cloudslang.lang.runtime.bindings.scripts.ScriptEvaluator;
 import io.cloudslang.lang.runtime.env.Context;
 import io.cloudslang.lang.runtime.env.ForLoopCondition;
 import io.cloudslang.lang.runtime.env.LoopCondition;
+import io.cloudslang.lang.runtime.env.RangeList;
+import io.cloudslang.lang.spi.encryption.Encryption;
 
 import java.io.Serializable;
+import java.lang.reflect.Field;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
 
+import org.apache.commons.lang3.SerializationUtils;
 import org.apache.commons.lang3.tuple.Pair;
+import org.junit.After;
 import org.junit.Assert;
+import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
@@ -44,6 +53,7 @@ import static org.mockito.Matchers.anyString;
 import static org.mockito.Mockito.anySetOf;
 import static org.mockito.Mockito.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -67,6 +77,24 @@ public class LoopsBindingTest {
     @Mock
     private ScriptEvaluator scriptEvaluator;
 
+    private AtomicReference<Encryption> originalEncryptor;
+
+    @Before
+    public void setUp() throws Exception {
+        Field field = EncryptionProvider.class.getDeclaredField("encryptor");
+        field.setAccessible(true);
+        //noinspection unchecked
+        originalEncryptor = (AtomicReference<Encryption>) field.get(null);
+        field.set(null, new AtomicReference<Encryption>(new ReversingEncryption()));
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        Field field = EncryptionProvider.class.getDeclaredField("encryptor");
+        field.setAccessible(true);
+        field.set(null, originalEncryptor);
+    }
+
     private LoopStatement createBasicForStatement() {
         return new ListLoopStatement("x", "[1]", new HashSet<ScriptFunction>(), new HashSet<String>(), false);
     }
@@ -167,4 +195,149 @@ public class LoopsBindingTest {
         verify(context).putVariable("v", ValueFactory.create(1));
     }
 
-}
\ No newline at end of file
+    @Test
+    public void testRangeIsNotMaterialized() throws Exception {
+        Context context = new Context(new HashMap<String, Value>());
+        when(scriptEvaluator.evalExpr(anyString(), anyMapOf(String.class, Value.class),
+                eq(EMPTY_SET), eq(EMPTY_FUNCTION_SET)))
+                .thenReturn(ValueFactory.create(1), ValueFactory.create(1000000), ValueFactory.create(3));
+        LoopStatement statement = new ListLoopStatement("x", "range(1, 1000000, max(1, 3))",
+                EMPTY_FUNCTION_SET, new HashSet<String>(), false);
+
+        ForLoopCondition forLoopCondition = (ForLoopCondition) loopsBinding
+                .getOrCreateLoopCondition(statement, context, EMPTY_SET, "node");
+
+        verify(scriptEvaluator).evalExpr(eq("1"), anyMapOf(String.class, Value.class),
+                eq(EMPTY_SET), eq(EMPTY_FUNCTION_SET));
+        verify(scriptEvaluator).evalExpr(eq(" max(1, 3)"), anyMapOf(String.class, Value.class),
+                eq(EMPTY_SET), eq(EMPTY_FUNCTION_SET));
+        Assert.assertEquals(1, forLoopCondition.next().get());
+        Assert.assertEquals(4, forLoopCondition.next().get());
+        Assert.assertTrue(forLoopCondition.hasMore());
+    }
+
+    @Test
+    public void testRangeWithNonIntegerArgumentsIsEvaluatedAsAWhole() throws Exception {
+        Context context = new Context(new HashMap<String, Value>());
+        when(scriptEvaluator.evalExpr(anyString(), anyMapOf(String.class, Value.class),
+                eq(EMPTY_SET), eq(EMPTY_FUNCTION_SET)))
+                .thenReturn(ValueFactory.create("a"), ValueFactory.create(Lists.newArrayList(ValueFactory.create(1))));
+        LoopStatement statement = new ListLoopStatement("x", "range(y)",
+                EMPTY_FUNCTION_SET, new HashSet<String>(), false);
+
+        ForLoopCondition forLoopCondition = (ForLoopCondition) loopsBinding
+                .getOrCreateLoopCondition(statement, context, EMPTY_SET, "node");
+
+        verify(scriptEvaluator).evalExpr(eq("range(y)"), anyMapOf(String.class, Value.class),
+                eq(EMPTY_SET), eq(EMPTY_FUNCTION_SET));
+        Assert.assertEquals(1, forLoopCondition.next().get());
+        Assert.assertFalse(forLoopCondition.hasMore());
+    }
+
+    @Test
+    public void testRangeArgumentErrorIsNotEvaluatedAgain() throws Exception {
+        Context context = new Context(new HashMap<String, Value>());
+        when(scriptEvaluator.evalExpr(anyString(), anyMapOf(String.class, Value.class),
+                eq(EMPTY_SET), eq(EMPTY_FUNCTION_SET)))
+                .thenThrow(new RuntimeException("name 'y' is not defined"));
+        LoopStatement statement = new ListLoopStatement("x", "range(y)",
+                EMPTY_FUNCTION_SET, new HashSet<String>(), false);
+
+        try {
+            loopsBinding.getOrCreateLoopCondition(statement, context, EMPTY_SET, "node");
+            Assert.fail("the loop condition should not be created");
+        } catch (RuntimeException ex) {
+            Assert.assertTrue(ex.getMessage().startsWith(LoopsBinding.FOR_LOOP_EXPRESSION_ERROR_MESSAGE));
+            Assert.assertTrue(ex.getMessage().contains("name 'y' is not defined"));
+        }
+        verify(scriptEvaluator, never()).evalExpr(eq("range(y)"), anyMapOf(String.class, Value.class),
+                eq(EMPTY_SET), eq(EMPTY_FUNCTION_SET));
+    }
+
+    @Test
+    public void testSensitiveStringIsNotKeptInPlaintext() throws Exception {
+        Context context = new Context(new HashMap<String, Value>());
+        when(scriptEvaluator.evalExpr(anyString(), anyMapOf(String.class, Value.class),
+                eq(EMPTY_SET), eq(EMPTY_FUNCTION_SET)))
+                .thenReturn(ValueFactory.create("secret1,secret2", true));
+
+        ForLoopCondition forLoopCondition = (ForLoopCondition) loopsBinding
+                .getOrCreateLoopCondition(createBasicForStatement(), context, EMPTY_SET, "node");
+
+        String serialized = new String(SerializationUtils.serialize(forLoopCondition), StandardCharsets.ISO_8859_1);
+        Assert.assertFalse(serialized.contains("secret1"));
+        Assert.assertFalse(serialized.contains("secret2"));
+        Value first = forLoopCondition.next();
+        Assert.assertTrue(first.isSensitive());
+        Assert.assertEquals("secret1", first.get());
+        Assert.assertEquals("secret2", forLoopCondition.next().get());
+    }
+
+    @Test
+    public void testSensitiveRangeIsNotKeptInPlaintext() throws Exception {
+        Context context = new Context(new HashMap<String, Value>());
+        when(scriptEvaluator.evalExpr(anyString(), anyMapOf(String.class, Value.class),
+                eq(EMPTY_SET), eq(EMPTY_FUNCTION_SET)))
+                .thenReturn(ValueFactory.create(123456, true), ValueFactory.create(123458));
+        LoopStatement statement = new ListLoopStatement("x", "range(secret, 123458)",
+                EMPTY_FUNCTION_SET, new HashSet<String>(), false);
+
+        ForLoopCondition forLoopCondition = (ForLoopCondition) loopsBinding
+                .getOrCreateLoopCondition(statement, context, EMPTY_SET, "node");
+
+        byte[] serialized = SerializationUtils.serialize(forLoopCondition);
+        Assert.assertFalse(new String(serialized, StandardCharsets.ISO_8859_1).contains(RangeList.class.getName()));
+        Value first = forLoopCondition.next();
+        Assert.assertTrue(first.isSensitive());
+        Assert.assertEquals(123456, first.get());
+        Assert.assertEquals(123457, forLoopCondition.next().get());
+        Assert.assertFalse(forLoopCondition.hasMore());
+    }
+
+    @Test
+    public void testDelimitedStringIsSplitLazily() throws Exception {
+        Context context = new Context(new HashMap<String, Value>());
+        when(scriptEvaluator.evalExpr(anyString(), anyMapOf(String.class, Value.class),
+                eq(EMPTY_SET), eq(EMPTY_FUNCTION_SET)))
+                .thenReturn(ValueFactory.create("a,,b,"));
+
+        ForLoopCondition forLoopCondition = (ForLoopCondition) loopsBinding
+                .getOrCreateLoopCondition(createBasicForStatement(), context, EMPTY_SET, "node");
+
+        Assert.assertEquals("a", forLoopCondition.next().get());
+        Assert.assertEquals("", forLoopCondition.next().get());
+        Assert.assertEquals("b", forLoopCondition.next().get());
+        Assert.assertFalse(forLoopCondition.hasMore());
+    }
+
+
+    // an encryption that does not leave the plaintext in the encrypted content
+    private static class ReversingEncryption implements Encryption {
+        private static final String PREFIX = "{Reversed}";
+
+        @Override
+        public String encrypt(char[] clearText) {
+            return PREFIX + new StringBuilder(new String(clearText)).reverse();
+        }
+
+        @Override
+        public String obfuscate(String clearText) {
+            return encrypt(clearText.toCharArray());
+        }
+
+        @Override
+        public char[] deobfuscate(String cypherText) {
+            return decrypt(cypherText);
+        }
+
+        @Override
+        public char[] decrypt(String cypherText) {
+            return new StringBuilder(cypherText.substring(PREFIX.length())).reverse().toString().toCharArray();
+        }
+
+        @Override
+        public boolean isTextEncrypted(String text) {
+            return text.startsWith(PREFIX);
+        }
+    }
+}
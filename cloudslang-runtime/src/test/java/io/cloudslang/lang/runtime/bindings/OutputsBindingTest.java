@@ -196,6 +196,63 @@ public class OutputsBindingTest {
         Assert.assertEquals("Binding results are not as expected", expectedOutputs, result);
     }
 
+    @Test(timeout = DEFAULT_TIMEOUT)
+    public void testOperationOutputsSeveralExpressions() {
+        Map<String, Value> operationContext = prepareOperationContext();
+        Map<String, Value> actionReturnValues = prepareActionReturnValues();
+        List<Output> outputs = Arrays.asList(
+            createExpressionOutput("hostFromExpression", "${ 'http://' + hostExpr + ':' + str(port) }"),
+            createExpressionOutput("portNumber", "${ str(port + 1) }"),
+            createExpressionOutput("hosts", "${ ','.join([host1, host2]) }"),
+            createExpressionOutput("missing", "${ None }"),
+            createExpressionOutput("secure", "${ str(port == 443) }"));
+
+        Map<String, Value> result = outputsBinding
+            .bindOutputs(MapUtils.mergeMaps(operationContext, actionReturnValues), EMPTY_SET, outputs);
+
+        Assert.assertEquals(ValueFactory.create("http://hostExpr:9999"), result.get("hostFromExpression"));
+        Assert.assertEquals(ValueFactory.create("10000"), result.get("portNumber"));
+        Assert.assertEquals(ValueFactory.create("valueHost1,valueHost2"), result.get("hosts"));
+        Assert.assertNull(result.get("missing").get());
+        Assert.assertEquals(ValueFactory.create("False"), result.get("secure"));
+    }
+
+    @Test(timeout = DEFAULT_TIMEOUT)
+    public void testOperationOutputsReadPreviousOutputs() {
+        Map<String, Value> operationContext = prepareOperationContext();
+        Map<String, Value> actionReturnValues = prepareActionReturnValues();
+        List<Output> outputs = Arrays.asList(
+            createExpressionOutput("port", "${ str(port + 1) }"),
+            createExpressionOutput("nextPort", "${ str(int(port) + 1) }"),
+            createExpressionOutput("host", "${ 'http://' + hostExpr }"),
+            createExpressionOutput("hostWithPort", "${ host + ':' + nextPort }"));
+
+        Map<String, Value> result = outputsBinding
+            .bindOutputs(MapUtils.mergeMaps(operationContext, actionReturnValues), EMPTY_SET, outputs);
+
+        Assert.assertEquals(ValueFactory.create("10000"), result.get("port"));
+        Assert.assertEquals(ValueFactory.create("10001"), result.get("nextPort"));
+        Assert.assertEquals(ValueFactory.create("http://hostExpr:10001"), result.get("hostWithPort"));
+    }
+
+    @Test(timeout = DEFAULT_TIMEOUT)
+    public void testOperationOutputsErrorRefersToFailingOutput() {
+        Map<String, Value> operationContext = prepareOperationContext();
+        Map<String, Value> actionReturnValues = prepareActionReturnValues();
+        List<Output> outputs = Arrays.asList(
+            createExpressionOutput("hostFromExpression", "${ 'http://' + hostExpr }"),
+            createExpressionOutput("invalid", "${ None + 'str' }"),
+            createExpressionOutput("portNumber", "${ str(port + 1) }"));
+
+        try {
+            outputsBinding.bindOutputs(MapUtils.mergeMaps(operationContext, actionReturnValues), EMPTY_SET, outputs);
+            Assert.fail("Binding should fail");
+        } catch (RuntimeException ex) {
+            Assert.assertTrue(ex.getMessage(), ex.getMessage().startsWith("Binding output: 'invalid failed'"));
+            Assert.assertTrue(ex.getMessage(), ex.getMessage().contains("None + 'str'"));
+        }
+    }
+
     private Map<String, Value> prepareOperationContext() {
         Map<String, Value> operationContext = new HashMap<>();
         operationContext.put("operationContextKey1", ValueFactory.create("opContextValue1"));
@@ -29,7 +29,9 @@ import io.cloudslang.runtime.impl.python.external.ExternalPythonRuntimeServiceIm
 import io.cloudslang.score.events.EventBus;
 import io.cloudslang.score.events.EventBusImpl;
 import org.junit.Assert;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.ExpectedException;
 import org.junit.runner.RunWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
@@ -60,6 +62,9 @@ public class ResultBindingTest {
     @SuppressWarnings("unchecked")
     private static final Set<SystemProperty> EMPTY_SET = Collections.EMPTY_SET;
 
+    @Rule
+    public ExpectedException exception = ExpectedException.none();
+
     @Autowired
     private ResultsBinding resultsBinding;
 
@@ -193,6 +198,45 @@ public class ResultBindingTest {
         resultsBinding.resolveResult(new HashMap<String, Value>(), context, EMPTY_SET, results, null);
     }
 
+    @Test
+    public void testThirdResultOfSeveral() throws Exception {
+        List<Result> results = asList(
+                createResult("FIRST", ValueFactory.create("${ int(status) == 1 }")),
+                createResult("SECOND", ValueFactory.create("${ 0 }")),
+                createResult("THIRD", ValueFactory.create("${ int(status) == -1 # comment }")),
+                createResult("FOURTH", ValueFactory.create("${ True }")));
+        HashMap<String, Value> context = new HashMap<>();
+        context.put("status", ValueFactory.create("-1"));
+        String result = resultsBinding.resolveResult(new HashMap<String, Value>(), context, EMPTY_SET, results, null);
+        Assert.assertEquals("THIRD", result);
+    }
+
+    @Test
+    public void testDefaultResultAfterSeveralFalseResults() throws Exception {
+        List<Result> results = asList(
+                createResult("FIRST", ValueFactory.create("${ type == 'first' }")),
+                createResult("SECOND", ValueFactory.create("${ type == 'second' }")),
+                createEmptyResult("DEFAULT"));
+        HashMap<String, Value> context = new HashMap<>();
+        context.put("type", ValueFactory.create("other"));
+        String result = resultsBinding.resolveResult(new HashMap<String, Value>(), context, EMPTY_SET, results, null);
+        Assert.assertEquals("DEFAULT", result);
+    }
+
+    @Test
+    public void testErrorOfResultAfterFalseResults() throws Exception {
+        final List<Result> results = asList(
+                createResult("FIRST", ValueFactory.create("${ 1 == 2 }")),
+                createResult("SECOND", ValueFactory.create("${ str(status) }")),
+                createResult("THIRD", ValueFactory.create("${ True }")));
+        HashMap<String, Value> context = new HashMap<>();
+        context.put("status", ValueFactory.create("-1"));
+
+        exception.expect(RuntimeException.class);
+        exception.expectMessage("The expression str(status) does not return boolean value");
+        resultsBinding.resolveResult(new HashMap<String, Value>(), context, EMPTY_SET, results, null);
+    }
+
     private Result createResult(String name, Value expression) {
         return new Result(name, expression);
     }
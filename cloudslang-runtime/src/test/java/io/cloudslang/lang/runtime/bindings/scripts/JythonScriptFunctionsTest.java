@@ -0,0 +1,71 @@
+/*******************************************************************************
+ * (c) Copyright 2016 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.lang.runtime.bindings.scripts;
+
+import io.cloudslang.lang.entities.bindings.ScriptFunction;
+import java.util.Collections;
+import org.junit.Before;
+import org.junit.Test;
+import org.python.core.Py;
+import org.python.core.PyException;
+import org.python.core.PyObject;
+import org.python.util.PythonInterpreter;
+
+import static org.junit.Assert.assertEquals;
+
+public class JythonScriptFunctionsTest {
+
+    private PythonInterpreter interpreter;
+
+    @Before
+    public void setUp() {
+        interpreter = new PythonInterpreter();
+        for (ScriptFunction function : ScriptFunction.values()) {
+            JythonScriptFunctions.ScriptFunctionObject functionObject = JythonScriptFunctions.get(function);
+            interpreter.set(functionObject.getName(), functionObject);
+        }
+        interpreter.set("defined", "value");
+        interpreter.set("none_value", Py.None);
+    }
+
+    @Test
+    public void testGet() {
+        assertEquals("value", eval("get('defined')"));
+        assertEquals("default", eval("get('undefined', 'default')"));
+        assertEquals("default", eval("get('none_value', default_value='default')"));
+        assertEquals("None", eval("get('undefined')"));
+        assertEquals("value", eval("map(lambda key: get(key), ['defined'])[0]"));
+    }
+
+    @Test
+    public void testGetSystemProperty() {
+        interpreter.set("sys_prop", Collections.singletonMap("a.b", "property"));
+
+        assertEquals("property", eval("get_sp('a.b')"));
+        assertEquals("default", eval("get_sp('a.c', 'default')"));
+    }
+
+    @Test(expected = PyException.class)
+    public void testGetSystemPropertyWithoutProperties() {
+        eval("get_sp('a.b')");
+    }
+
+    @Test
+    public void testCheckEmpty() {
+        assertEquals("value", eval("check_empty(defined, 'default')"));
+        assertEquals("default", eval("check_empty(none_value, 'default')"));
+        assertEquals("None", eval("check_empty(none_value)"));
+    }
+
+    private String eval(String expression) {
+        PyObject result = interpreter.eval(expression);
+        return result.toString();
+    }
+}
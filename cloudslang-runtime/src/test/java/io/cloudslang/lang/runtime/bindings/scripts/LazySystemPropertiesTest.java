@@ -0,0 +1,62 @@
+/*******************************************************************************
+ * (c) Copyright 2016 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.lang.runtime.bindings.scripts;
+
+import io.cloudslang.lang.entities.bindings.ScriptFunction;
+import io.cloudslang.lang.entities.bindings.values.PyObjectValue;
+import io.cloudslang.lang.entities.bindings.values.Value;
+import io.cloudslang.lang.entities.bindings.values.ValueFactory;
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.Test;
+import org.python.util.PythonInterpreter;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class LazySystemPropertiesTest {
+
+    @Test
+    public void testOnlyReadPropertiesAreWrapped() {
+        Map<String, Value> properties = new HashMap<>();
+        properties.put("a.b", ValueFactory.create("value1"));
+        properties.put("a.c", ValueFactory.create("value2"));
+        LazySystemProperties systemProperties = new LazySystemProperties(properties);
+
+        Value value = systemProperties.get("a.b");
+
+        assertEquals("value1", value.get());
+        assertSame(value, systemProperties.get("a.b"));
+        assertNull(systemProperties.get("a.d"));
+        assertEquals(1, systemProperties.getWrappedProperties().size());
+        assertEquals(2, systemProperties.size());
+    }
+
+    @Test
+    public void testPropertyReadByExpressionIsAccessed() {
+        Map<String, Value> properties = new HashMap<>();
+        properties.put("a.b", ValueFactory.create("value1"));
+        properties.put("a.c", ValueFactory.create("value2"));
+        LazySystemProperties systemProperties = new LazySystemProperties(properties);
+        PythonInterpreter interpreter = new PythonInterpreter();
+        JythonScriptFunctions.ScriptFunctionObject getSp =
+                JythonScriptFunctions.get(ScriptFunction.GET_SYSTEM_PROPERTY);
+        interpreter.set(getSp.getName(), getSp);
+        interpreter.set("sys_prop", systemProperties);
+
+        assertEquals("value1_suffix", interpreter.eval("get_sp('a.b') + '_suffix'").toString());
+
+        assertEquals(1, systemProperties.getWrappedProperties().size());
+        PyObjectValue wrappedProperty = systemProperties.getWrappedProperties().iterator().next();
+        assertTrue(wrappedProperty.isAccessed());
+    }
+}
@@ -0,0 +1,120 @@
+/*******************************************************************************
+ * (c) Copyright 2016 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.lang.runtime.bindings.scripts;
+
+import io.cloudslang.lang.entities.bindings.ScriptFunction;
+import io.cloudslang.lang.entities.bindings.values.Value;
+import io.cloudslang.lang.entities.bindings.values.ValueFactory;
+import io.cloudslang.runtime.impl.python.PythonExecutor;
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+/**
+ * Compares the native evaluation of expressions to their evaluation by Jython.
+ */
+public class NativeExpressionsTest {
+
+    private static final List<String> NATIVE_EXPRESSIONS = Arrays.asList(
+            "text", " text ", "empty", "'literal'", "\"double quoted\"", "''", "'with \"quotes\"'",
+            "get('text')", "get('empty', 'default')", "get('missing')", "get('missing', 'default')",
+            "get(\"missing\", default_value='default')", "get('a.b')",
+            "get_sp('a.b')", "get_sp('a.b', 'default')", "get_sp('a.c', 'default')", "get_sp('a.c')",
+            "flag == 'true'", "flag != 'true'", "'true' == flag", "text == 'false'", "text!='value'");
+    private static final List<String> PYTHON_EXPRESSIONS = Arrays.asList(
+            "text + 'suffix'", "'with\\\\escape'", "get(text)", "get('get')", "None", "true",
+            "get('__name__')", "flag == true", "'a' == 'b'", "number", "text == 1");
+
+    private static PythonExecutor pythonExecutor;
+
+    private final Map<String, Value> context = new HashMap<>();
+    private final Map<String, Value> systemProperties = new HashMap<>();
+    private final Set<ScriptFunction> functionDependencies = EnumSet.allOf(ScriptFunction.class);
+
+    {
+        context.put("text", ValueFactory.create("value"));
+        context.put("empty", ValueFactory.create(""));
+        context.put("flag", ValueFactory.create("true"));
+        context.put("number", ValueFactory.create(5));
+        systemProperties.put("a.b", ValueFactory.create("property"));
+    }
+
+    @BeforeClass
+    public static void setUpClass() {
+        pythonExecutor = new PythonExecutor();
+    }
+
+    @AfterClass
+    public static void tearDownClass() {
+        pythonExecutor.close();
+    }
+
+    @Test
+    public void testNativeResultsMatchJython() {
+        for (String expression : NATIVE_EXPRESSIONS) {
+            Value nativeResult = evalNative(expression, false);
+            assertNotNull("not evaluated natively: " + expression, nativeResult);
+            assertEquals(expression, evalJython(expression), nativeResult.get());
+        }
+    }
+
+    @Test
+    public void testOtherExpressionsAreLeftToPython() {
+        for (String expression : PYTHON_EXPRESSIONS) {
+            assertNull(expression, evalNative(expression, false));
+        }
+    }
+
+    @Test
+    public void testMissingFunctionDependencyIsLeftToPython() {
+        functionDependencies.clear();
+
+        assertNull(evalNative("get('text')", false));
+        assertNull(evalNative("get_sp('a.b')", false));
+    }
+
+    @Test
+    public void testExternalPythonOnlyForPlainValues() {
+        assertEquals("value", evalNative("get('text')", true).get());
+        assertEquals("value", evalNative("text", true).get());
+        assertNull(evalNative("get('missing', 'default')", true));
+        assertNull(evalNative("flag == 'true'", true));
+    }
+
+    private Value evalNative(String expression, boolean externalPython) {
+        NativeExpressions.NativeExpression nativeExpression = NativeExpressions.parse(expression);
+        return nativeExpression == null ? null :
+                nativeExpression.evaluate(context, () -> systemProperties, functionDependencies, externalPython);
+    }
+
+    private Serializable evalJython(String expression) {
+        Map<String, Serializable> pythonContext = new HashMap<>();
+        for (Map.Entry<String, Value> entry : context.entrySet()) {
+            pythonContext.put(entry.getKey(), ValueFactory.createPyObjectValue(entry.getValue(), false));
+        }
+        pythonContext.put("sys_prop", new LazySystemProperties(systemProperties));
+        for (ScriptFunction function : functionDependencies) {
+            JythonScriptFunctions.ScriptFunctionObject functionObject = JythonScriptFunctions.get(function);
+            pythonContext.put(functionObject.getName(), functionObject);
+        }
+        return pythonExecutor.eval("", expression, pythonContext).getEvalResult();
+    }
+}
@@ -0,0 +1,78 @@
+/*******************************************************************************
+ * (c) Copyright 2016 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.lang.runtime.bindings.scripts;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class ReferencedNamesTest {
+
+    @Test
+    public void testNamesAndLiteralKeys() {
+        assertEquals(new HashSet<>(Arrays.asList("a", "int", "b", "if", "get", "c", "else", "check_empty", "d.e",
+                "default", "None")),
+                ReferencedNames.of("a + int(b) if get('c') else check_empty(get(\"d.e\", 'default'), None)"));
+    }
+
+    @Test
+    public void testAttributeGetIsNotDynamic() {
+        assertEquals(new HashSet<>(Arrays.asList("a", "get", "b")), ReferencedNames.of("a.get(b)"));
+    }
+
+    @Test
+    public void testGetWithComputedKeyNeedsAllNames() {
+        assertNull(ReferencedNames.of("get(name)"));
+        assertNull(ReferencedNames.of("get('prefix_' + name)"));
+        assertNull(ReferencedNames.of("map(get, names)"));
+    }
+
+    @Test
+    public void testDynamicAccessNeedsAllNames() {
+        assertNull(ReferencedNames.of("globals()['a']"));
+        assertNull(ReferencedNames.of("eval('a')"));
+    }
+
+    @Test
+    public void testFormattedStringNeedsAllNames() {
+        assertNull(ReferencedNames.of("f'{password}'"));
+        assertNull(ReferencedNames.of("'a' + F\"{b}\""));
+        assertNull(ReferencedNames.of("rf'{password}'"));
+    }
+
+    @Test
+    public void testCommentNeedsAllNames() {
+        assertNull(ReferencedNames.of("x # it's\n + y + 'z'"));
+    }
+
+    @Test
+    public void testPrefixedStringIsALiteral() {
+        assertEquals(new HashSet<>(Arrays.asList("a", "b")), ReferencedNames.of("a + r'b'"));
+    }
+
+    @Test
+    public void testSystemPropertyKeys() {
+        assertEquals(new HashSet<>(Arrays.asList("a.b", "c.d")),
+                ReferencedNames.systemPropertyKeysOf("get_sp('a.b') + get_sp(\"c.d\", 'default') + get('e')"));
+        assertEquals(new HashSet<>(), ReferencedNames.systemPropertyKeysOf("a + 'get_sp(b)'"));
+    }
+
+    @Test
+    public void testComputedSystemPropertyKeyNeedsAllProperties() {
+        assertNull(ReferencedNames.systemPropertyKeysOf("get_sp('a.' + name)"));
+        assertNull(ReferencedNames.systemPropertyKeysOf("map(get_sp, names)"));
+        assertNull(ReferencedNames.systemPropertyKeysOf("sys_prop['a.b']"));
+        assertNull(ReferencedNames.systemPropertyKeysOf("get_sp(f'{name}')"));
+        assertNull(ReferencedNames.systemPropertyKeysOf("get_sp('a.b') # it's"));
+    }
+}
@@ -0,0 +1,133 @@
+/*******************************************************************************
+ * (c) Copyright 2016 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.lang.runtime.bindings.scripts;
+
+import io.cloudslang.lang.entities.SystemProperty;
+import io.cloudslang.lang.entities.bindings.ScriptFunction;
+import io.cloudslang.lang.entities.bindings.values.PyObjectValue;
+import io.cloudslang.lang.entities.bindings.values.Value;
+import io.cloudslang.lang.entities.bindings.values.ValueFactory;
+import io.cloudslang.runtime.api.python.PythonEvaluationResult;
+import io.cloudslang.runtime.api.python.PythonRuntimeService;
+
+import java.io.Serializable;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.mockito.Matchers.anyMap;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Matchers.isA;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
+import static org.mockito.Mockito.when;
+import static org.python.google.common.collect.Sets.newHashSet;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ScriptEvaluatorExternalPythonTest {
+    private static final String SYSTEM_PROPERTIES_MAP = "sys_prop";
+    private static final String LINE_SEPARATOR = System.lineSeparator();
+    private static final String CHECK_EMPTY_FUNCTION_DEFINITION =
+            "def check_empty(value_to_check, default_value=None):" + LINE_SEPARATOR +
+                    "  return default_value if value_to_check is None else value_to_check";
+
+    @InjectMocks
+    private ScriptEvaluator scriptEvaluator = new ScriptEvaluator(true);
+
+    @Mock
+    private PythonRuntimeService pythonRuntimeService;
+
+    @Mock
+    private PythonRuntimeService legacyJythonRuntimeService;
+
+    @Before
+    public void setUp() {
+        when(pythonRuntimeService.eval(anyString(), anyString(), isA(Map.class)))
+                .thenReturn(new PythonEvaluationResult("result", new HashMap<String, Serializable>()));
+    }
+
+    @Test
+    public void testFunctionsScriptIsBuiltOncePerFunctionDependencies() throws Exception {
+        Map<String, Value> context = new HashMap<>();
+        context.put("input1", ValueFactory.create("value1"));
+        long hitCount = scriptEvaluator.getFunctionsScriptCacheStats().hitCount();
+
+        scriptEvaluator.evalExpr("check_empty(input1, 'a') + 'b'", context, new HashSet<SystemProperty>(),
+                newHashSet(ScriptFunction.CHECK_EMPTY));
+        scriptEvaluator.evalExpr("check_empty(input1, 'c') + 'd'", context, new HashSet<SystemProperty>(),
+                newHashSet(ScriptFunction.CHECK_EMPTY));
+
+        assertEquals(hitCount + 1, scriptEvaluator.getFunctionsScriptCacheStats().hitCount());
+        verify(pythonRuntimeService, times(2)).eval(
+                eq(CHECK_EMPTY_FUNCTION_DEFINITION + LINE_SEPARATOR + LINE_SEPARATOR), anyString(), anyMap());
+        verifyZeroInteractions(legacyJythonRuntimeService);
+    }
+
+    @Test
+    public void testNoFunctionsScriptWithoutFunctionDependencies() throws Exception {
+        Map<String, Value> context = new HashMap<>();
+        context.put("input1", ValueFactory.create("value1"));
+
+        scriptEvaluator.evalExpr("input1 + 'a'", context, new HashSet<SystemProperty>(),
+                new HashSet<ScriptFunction>());
+
+        verify(pythonRuntimeService).eval(eq(""), eq("input1 + 'a'"), anyMap());
+    }
+
+    @Test
+    public void testSystemPropertiesAreCreatedForEveryEvaluation() throws Exception {
+        Set<SystemProperty> props = newHashSet(new SystemProperty("a.b", "c.key", "value", ""));
+        final ArgumentCaptor<Map> contextCaptor = ArgumentCaptor.forClass(Map.class);
+
+        scriptEvaluator.evalExpr("get_sp('a.b.c.key') + 'a'", new HashMap<String, Value>(), props,
+                newHashSet(ScriptFunction.GET_SYSTEM_PROPERTY));
+        scriptEvaluator.evalExpr("get_sp('a.b.c.key') + 'b'", new HashMap<String, Value>(), props,
+                newHashSet(ScriptFunction.GET_SYSTEM_PROPERTY));
+
+        verify(pythonRuntimeService, times(2)).eval(anyString(), anyString(), contextCaptor.capture());
+        Map firstProperties = (Map) contextCaptor.getAllValues().get(0).get(SYSTEM_PROPERTIES_MAP);
+        Map secondProperties = (Map) contextCaptor.getAllValues().get(1).get(SYSTEM_PROPERTIES_MAP);
+        assertNotSame(firstProperties, secondProperties);
+        assertNotSame(firstProperties.get("a.b.c.key"), secondProperties.get("a.b.c.key"));
+        assertEquals("value", ((PyObjectValue) firstProperties.get("a.b.c.key")).get());
+        assertEquals("value", ((PyObjectValue) secondProperties.get("a.b.c.key")).get());
+    }
+
+    @Test
+    public void testOnlyReadSystemPropertiesArePassed() throws Exception {
+        Set<SystemProperty> props = newHashSet(new SystemProperty("a.b", "c.key", "value", ""),
+                new SystemProperty("a.b", "other.key", "other", ""));
+        final ArgumentCaptor<Map> contextCaptor = ArgumentCaptor.forClass(Map.class);
+
+        scriptEvaluator.evalExpr("get_sp('a.b.c.key') + get_sp('a.b.missing.key', 'a')", new HashMap<String, Value>(),
+                props, newHashSet(ScriptFunction.GET_SYSTEM_PROPERTY));
+        scriptEvaluator.evalExpr("get_sp('a.b.' + 'c.key') + 'a'", new HashMap<String, Value>(), props,
+                newHashSet(ScriptFunction.GET_SYSTEM_PROPERTY));
+
+        verify(pythonRuntimeService, times(2)).eval(anyString(), anyString(), contextCaptor.capture());
+        Map literalKeyProperties = (Map) contextCaptor.getAllValues().get(0).get(SYSTEM_PROPERTIES_MAP);
+        Map computedKeyProperties = (Map) contextCaptor.getAllValues().get(1).get(SYSTEM_PROPERTIES_MAP);
+        assertEquals(newHashSet("a.b.c.key"), literalKeyProperties.keySet());
+        assertEquals(newHashSet("a.b.c.key", "a.b.other.key"), computedKeyProperties.keySet());
+    }
+}
@@ -42,7 +42,6 @@ import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
 
 import javax.annotation.Resource;
 import java.io.Serializable;
-import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
@@ -56,6 +55,7 @@ import static org.mockito.Mockito.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.reset;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
 import static org.mockito.Mockito.when;
 import static org.python.google.common.collect.Sets.newHashSet;
 
@@ -66,23 +66,7 @@ public class ScriptEvaluatorTest {
         System.setProperty("use.jython.expressions", "true");
     }
 
-    private static String LINE_SEPARATOR = System.lineSeparator();
     private static final String SYSTEM_PROPERTIES_MAP = "sys_prop";
-    private static final String ACCESS_MONITORING_METHOD_NAME = "accessed";
-    private static final String GET_FUNCTION_DEFINITION =
-            "def get(key, default_value=None):" + LINE_SEPARATOR +
-                    "  value = globals().get(key)" + LINE_SEPARATOR +
-                    "  return default_value if value is None else value";
-    private static final String GET_SP_FUNCTION_DEFINITION =
-            "def get_sp(key, default_value=None):" + LINE_SEPARATOR +
-                    "  " + ACCESS_MONITORING_METHOD_NAME + "(key)" + LINE_SEPARATOR +
-                    "  property_value = " + SYSTEM_PROPERTIES_MAP + ".get(key)" + LINE_SEPARATOR +
-                    "  return default_value if property_value is None else property_value";
-    private static final String CHECK_EMPTY_FUNCTION_DEFINITION =
-            "def check_empty(value_to_check, default_value=None):" + LINE_SEPARATOR +
-                    "  return default_value if value_to_check is None else value_to_check";
-    private static final String BACKWARD_COMPATIBLE_ACCESS_METHOD = "def " + ACCESS_MONITORING_METHOD_NAME + "(key):" +
-            LINE_SEPARATOR + "  pass";
 
     @Rule
     public ExpectedException exception = ExpectedException.none();
@@ -126,7 +110,7 @@ public class ScriptEvaluatorTest {
         props.add(systemProperty);
         Set<ScriptFunction> functionDependencies = newHashSet(ScriptFunction.GET,
                 ScriptFunction.GET_SYSTEM_PROPERTY, ScriptFunction.CHECK_EMPTY);
-        final ArgumentCaptor<String> scriptCaptor = ArgumentCaptor.forClass(String.class);
+        final ArgumentCaptor<Map> contextCaptor = ArgumentCaptor.forClass(Map.class);
 
         Map<String, Serializable> scriptReturnContext = new HashMap<>();
         scriptReturnContext.put(SYSTEM_PROPERTIES_MAP, new PyDictionary());
@@ -137,23 +121,61 @@ public class ScriptEvaluatorTest {
         String expr = "";
         scriptEvaluator.evalExpr(expr, new HashMap<String, Value>(), props, functionDependencies);
 
-        Map<String, Serializable> expectedContext = new HashMap<>();
-        Map<String, Value> properties = new HashMap<>();
-        properties.put("a.b.c.key", ValueFactory.createPyObjectValue("value", false, false));
-
-        verify(pythonRuntimeService).eval(scriptCaptor.capture(), eq(expr), eq(expectedContext));
-
-        final String actualScript = scriptCaptor.getValue();
-        String[] actualFunctionsArray = actualScript.split(LINE_SEPARATOR + LINE_SEPARATOR);
-        Set<String> actualFunctions = new HashSet<>();
-        Collections.addAll(actualFunctions, actualFunctionsArray);
-        Set<String> expectedFunctions = newHashSet(
-                GET_FUNCTION_DEFINITION,
-                GET_SP_FUNCTION_DEFINITION,
-                CHECK_EMPTY_FUNCTION_DEFINITION,
-                BACKWARD_COMPATIBLE_ACCESS_METHOD
-        );
-        Assert.assertEquals(expectedFunctions, actualFunctions);
+        verify(pythonRuntimeService).eval(eq(""), eq(expr), contextCaptor.capture());
+        Assert.assertEquals(newHashSet("get", "get_sp", "check_empty"), contextCaptor.getValue().keySet());
+    }
+
+    @Test
+    public void testOnlyReferencedVariablesArePassed() throws Exception {
+        reset(pythonRuntimeService);
+        when(pythonRuntimeService.eval(anyString(), anyString(), isA(Map.class)))
+                .thenReturn(new PythonEvaluationResult("result", new HashMap<String, Serializable>()));
+        Map<String, Value> context = new HashMap<>();
+        context.put("input1", ValueFactory.create("value1"));
+        context.put("input2", ValueFactory.create("value2"));
+        context.put("unused", ValueFactory.create("value3"));
+        final ArgumentCaptor<Map> contextCaptor = ArgumentCaptor.forClass(Map.class);
+
+        scriptEvaluator.evalExpr("input1 + get('input2')", context, new HashSet<SystemProperty>(),
+                newHashSet(ScriptFunction.GET));
+
+        verify(pythonRuntimeService).eval(anyString(), anyString(), contextCaptor.capture());
+        Assert.assertEquals(newHashSet("input1", "input2", "get"), contextCaptor.getValue().keySet());
+    }
+
+    @Test
+    public void testReferencedNamesAreFoundOncePerExpression() throws Exception {
+        reset(pythonRuntimeService);
+        when(pythonRuntimeService.eval(anyString(), anyString(), isA(Map.class)))
+                .thenReturn(new PythonEvaluationResult("result", new HashMap<String, Serializable>()));
+        Map<String, Value> context = new HashMap<>();
+        context.put("input1", ValueFactory.create("value1"));
+        long hitCount = scriptEvaluator.getReferencedNamesCacheStats().hitCount();
+
+        scriptEvaluator.evalExpr("input1 + 'referenced'", context, new HashSet<SystemProperty>(),
+                new HashSet<ScriptFunction>());
+        scriptEvaluator.evalExpr("input1 + 'referenced'", context, new HashSet<SystemProperty>(),
+                new HashSet<ScriptFunction>());
+
+        Assert.assertEquals(hitCount + 1, scriptEvaluator.getReferencedNamesCacheStats().hitCount());
+    }
+
+    @Test
+    public void testNativeExpressionIsParsedOncePerExpression() throws Exception {
+        reset(pythonRuntimeService);
+        Map<String, Value> context = new HashMap<>();
+        context.put("native_input", ValueFactory.create("value1"));
+        long hitCount = scriptEvaluator.getNativeExpressionsCacheStats().hitCount();
+
+        Value first = scriptEvaluator.evalExpr("native_input", context, new HashSet<SystemProperty>(),
+                new HashSet<ScriptFunction>());
+        Value second = scriptEvaluator.evalExpr("native_input", context, new HashSet<SystemProperty>(),
+                new HashSet<ScriptFunction>());
+
+        Assert.assertEquals("value1", first.get());
+        Assert.assertEquals("value1", second.get());
+        Assert.assertEquals(hitCount + 1, scriptEvaluator.getNativeExpressionsCacheStats().hitCount());
+        verifyZeroInteractions(pythonRuntimeService);
     }
 
     @Configuration
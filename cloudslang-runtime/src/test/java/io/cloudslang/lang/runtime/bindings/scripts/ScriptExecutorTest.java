@@ -155,6 +155,21 @@ public class ScriptExecutorTest {
         Assert.assertTrue(expectedArgs.size() == actualArgs.size() && actualArgs.containsAll(expectedArgs));
     }
 
+    @Test
+    public void testExternalPythonScriptParamsAreCached() {
+        Map<String, Value> scriptInputValues = new HashMap<>();
+        scriptInputValues.put("cached_input", ValueFactory.create("value1"));
+        String script = PythonScriptGeneratorUtils.generateScript(scriptInputValues.keySet());
+        when(externalPyhonRuntimeService.exec(any(), eq(script), any()))
+                .thenReturn(new PythonExecutionResult(new HashMap<>()));
+        long hitCount = scriptExecutor.getScriptParamsCacheStats().hitCount();
+
+        scriptExecutor.executeScript(script, scriptInputValues, false);
+        scriptExecutor.executeScript(script, scriptInputValues, false);
+
+        Assert.assertEquals(hitCount + 1, scriptExecutor.getScriptParamsCacheStats().hitCount());
+    }
+
     @Configuration
     static class Config {
         @Bean
@@ -0,0 +1,77 @@
+/*******************************************************************************
+ * (c) Copyright 2016 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.lang.runtime.env;
+
+import io.cloudslang.lang.entities.bindings.values.Value;
+import io.cloudslang.lang.entities.bindings.values.ValueFactory;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class ContextScopeTest {
+
+    @Test
+    public void testInnerScopeShadowsOuterScope() {
+        Map<String, Value> outer = new HashMap<>();
+        outer.put("a", ValueFactory.create("outer_a"));
+        outer.put("b", ValueFactory.create("outer_b"));
+        Map<String, Value> inner = new HashMap<>();
+        inner.put("a", ValueFactory.create("inner_a"));
+        inner.put("c", ValueFactory.create("inner_c"));
+
+        ContextScope scope = new ContextScope(inner, outer);
+
+        Map<String, Value> expected = new HashMap<>(outer);
+        expected.putAll(inner);
+        assertEquals(expected, scope);
+        assertEquals(3, scope.size());
+        assertEquals(ValueFactory.create("inner_a"), scope.get("a"));
+        assertEquals(ValueFactory.create("outer_b"), scope.get("b"));
+        assertNull(scope.get("d"));
+        assertFalse(scope.containsKey("d"));
+    }
+
+    @Test
+    public void testNullValueShadowsOuterScope() {
+        Map<String, Value> outer = Collections.singletonMap("a", ValueFactory.create("outer_a"));
+        Map<String, Value> inner = Collections.singletonMap("a", null);
+
+        ContextScope scope = new ContextScope(inner, outer);
+
+        assertTrue(scope.containsKey("a"));
+        assertNull(scope.get("a"));
+        assertEquals(1, scope.size());
+        assertNull(scope.entrySet().iterator().next().getValue());
+    }
+
+    @Test
+    public void testReflectsChangesOfTheScopes() {
+        Map<String, Value> outer = Collections.singletonMap("a", ValueFactory.create("outer_a"));
+        Map<String, Value> inner = new HashMap<>();
+
+        ContextScope scope = new ContextScope(inner, outer);
+        inner.put("a", ValueFactory.create("inner_a"));
+        inner.put("b", ValueFactory.create("inner_b"));
+
+        assertEquals(ValueFactory.create("inner_a"), scope.get("a"));
+        assertEquals(2, scope.size());
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testIsReadOnly() {
+        new ContextScope(new HashMap<String, Value>()).put("a", ValueFactory.create("a"));
+    }
+}
@@ -0,0 +1,55 @@
+/*******************************************************************************
+ * (c) Copyright 2016 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.lang.runtime.env;
+
+import io.cloudslang.lang.entities.bindings.values.Value;
+import java.util.ArrayList;
+import java.util.List;
+import org.apache.commons.lang3.SerializationUtils;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class DelimitedStringListTest {
+
+    @Test
+    public void testSameElementsAsSplit() {
+        String[] strings = {"", ",", ",,", "a", "a,b", "a,,b", ",a", "a,", "a,b,,", ",,a,,b,,", " a , b "};
+        for (String string : strings) {
+            assertEquals(string, toStrings(string.split(",")), toStrings(new DelimitedStringList(string, false)));
+        }
+    }
+
+    @Test
+    public void testSerializesOnlyTheString() {
+        DelimitedStringList list = new DelimitedStringList("1,2,3", false);
+        list.size();
+
+        DelimitedStringList deserialized = SerializationUtils.clone(list);
+
+        assertEquals(toStrings(list), toStrings(deserialized));
+    }
+
+    private List<String> toStrings(String[] strings) {
+        List<String> result = new ArrayList<>();
+        for (String string : strings) {
+            result.add(string);
+        }
+        return result;
+    }
+
+    private List<String> toStrings(List<Value> values) {
+        List<String> result = new ArrayList<>();
+        for (Value value : values) {
+            result.add((String) value.get());
+        }
+        return result;
+    }
+}
@@ -0,0 +1,119 @@
+/*******************************************************************************
+ * (c) Copyright 2016 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.lang.runtime.env;
+
+import io.cloudslang.lang.entities.bindings.values.Value;
+import io.cloudslang.lang.entities.bindings.values.ValueFactory;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.apache.commons.lang3.SerializationUtils;
+import org.apache.commons.lang3.tuple.Pair;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ForLoopConditionTest {
+
+    private static final int[] SIZES = {1000, 10000, 100000};
+
+    /**
+     * ForLoopCondition over ["a", "b", "c"] after one iteration, as serialized by the previous implementation.
+     */
+    private static final String PERSISTED_LOOP_CONDITION = "rO0ABXNyAC9pby5jbG91ZHNsYW5nLmxhbmcucnVudGltZS5lbnYuRm9y" +
+            "TG9vcENvbmRpdGlvbta5CeIL7FiPAgACSQAFaW5kZXhMAAhpdGVyYWJsZXQAFExqYXZhL2xhbmcvSXRlcmFibGU7eHAAAAABc3IAE2ph" +
+            "dmEudXRpbC5BcnJheUxpc3R4gdIdmcdhnQMAAUkABHNpemV4cAAAAAN3BAAAAAN0AAFhdAABYnQAAWN4";
+
+    @Test(timeout = 10000)
+    public void testIterateLists() {
+        for (int size : SIZES) {
+            List<Value> values = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                values.add(ValueFactory.create(i));
+            }
+            assertIteratesInOrder(new ForLoopCondition(values), size);
+        }
+    }
+
+    @Test(timeout = 10000)
+    public void testIterateMapEntries() {
+        for (int size : SIZES) {
+            List<Value> entries = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                entries.add(ValueFactory.create(Pair.of(ValueFactory.create("key" + i), ValueFactory.create(i))));
+            }
+            ForLoopCondition forLoopCondition = new ForLoopCondition(entries);
+            for (int i = 0; i < size; i++) {
+                assertTrue(forLoopCondition.hasMore());
+                @SuppressWarnings("unchecked") Map.Entry<Value, Value> entry =
+                        (Map.Entry<Value, Value>) forLoopCondition.next().get();
+                assertEquals("key" + i, entry.getKey().get());
+                assertEquals(i, entry.getValue().get());
+            }
+            assertFalse(forLoopCondition.hasMore());
+        }
+    }
+
+    @Test(timeout = 10000)
+    public void testIterateNonRandomAccessCollections() {
+        for (int size : SIZES) {
+            Set<Value> values = new LinkedHashSet<>(size);
+            for (int i = 0; i < size; i++) {
+                values.add(ValueFactory.create(i));
+            }
+            assertIteratesInOrder(new ForLoopCondition(values), size);
+        }
+    }
+
+    @Test
+    public void testResumesAfterSerialization() {
+        Set<Serializable> values = new LinkedHashSet<>();
+        for (int i = 0; i < 10; i++) {
+            values.add(i);
+        }
+        ForLoopCondition forLoopCondition = new ForLoopCondition(values);
+        for (int i = 0; i < 4; i++) {
+            assertEquals(i, forLoopCondition.next().get());
+        }
+
+        ForLoopCondition deserialized = SerializationUtils.clone(forLoopCondition);
+
+        assertEquals(forLoopCondition, deserialized);
+        for (int i = 4; i < 10; i++) {
+            assertTrue(deserialized.hasMore());
+            assertEquals(i, deserialized.next().get());
+        }
+        assertFalse(deserialized.hasMore());
+    }
+
+    @Test
+    public void testReadsPreviouslyPersistedLoopCondition() {
+        ForLoopCondition forLoopCondition =
+                SerializationUtils.deserialize(Base64.getDecoder().decode(PERSISTED_LOOP_CONDITION));
+
+        assertEquals("b", forLoopCondition.next().get());
+        assertEquals("c", forLoopCondition.next().get());
+        assertFalse(forLoopCondition.hasMore());
+    }
+
+    private void assertIteratesInOrder(ForLoopCondition forLoopCondition, int size) {
+        for (int i = 0; i < size; i++) {
+            assertTrue(forLoopCondition.hasMore());
+            assertEquals(i, forLoopCondition.next().get());
+        }
+        assertFalse(forLoopCondition.hasMore());
+    }
+}
@@ -0,0 +1,73 @@
+/*******************************************************************************
+ * (c) Copyright 2016 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.lang.runtime.env;
+
+import io.cloudslang.lang.entities.bindings.values.Value;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class RangeListTest {
+
+    @Test
+    public void testPythonRangeSemantics() {
+        assertEquals(Arrays.asList(0, 1, 2), toNumbers(RangeList.create(0, 3, 1, false)));
+        assertEquals(Arrays.asList(1, 4, 7), toNumbers(RangeList.create(1, 10, 3, false)));
+        assertEquals(Arrays.asList(1, 4, 7, 10), toNumbers(RangeList.create(1, 11, 3, false)));
+        assertEquals(Arrays.asList(5, 3, 1), toNumbers(RangeList.create(5, 0, -2, false)));
+        assertEquals(Arrays.asList(), toNumbers(RangeList.create(3, 3, 1, false)));
+        assertEquals(Arrays.asList(), toNumbers(RangeList.create(3, 0, 1, false)));
+    }
+
+    @Test
+    public void testLargeNumbers() {
+        RangeList range = RangeList.create(Integer.MAX_VALUE, Integer.MAX_VALUE + 2L, 1, false);
+
+        assertEquals(Arrays.asList(Integer.MAX_VALUE, Integer.MAX_VALUE + 1L), toNumbers(range));
+    }
+
+    @Test
+    public void testTooLargeRange() {
+        assertNull(RangeList.create(0, Long.MAX_VALUE, 1, false));
+    }
+
+    @Test
+    public void testExactSize() {
+        // (2^60 + 1) / 2^30 rounds to exactly 2^30 in double arithmetic
+        RangeList range = RangeList.create(0, (1L << 60) + 1, 1L << 30, false);
+
+        assertEquals((1 << 30) + 1, range.size());
+        assertEquals(1L << 60, range.get(range.size() - 1).get());
+    }
+
+    @Test
+    public void testOverflowingBounds() {
+        assertNull(RangeList.create(Long.MIN_VALUE, Long.MAX_VALUE, Long.MAX_VALUE, false));
+        assertEquals(Arrays.asList(), toNumbers(RangeList.create(Long.MAX_VALUE, Long.MIN_VALUE, 1, false)));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testZeroStep() {
+        RangeList.create(0, 1, 0, false);
+    }
+
+    private List<Serializable> toNumbers(List<Value> values) {
+        List<Serializable> result = new ArrayList<>();
+        for (Value value : values) {
+            result.add(value.get());
+        }
+        return result;
+    }
+}
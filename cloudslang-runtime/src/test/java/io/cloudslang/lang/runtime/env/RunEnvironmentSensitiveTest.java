@@ -32,6 +32,7 @@ import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 /**
@@ -185,6 +186,37 @@ public class RunEnvironmentSensitiveTest {
         testEncrypted(systemProperty1, systemProperty2, callValue1, callValue2, output1, output2, true);
     }
 
+    @Test
+    public void testRunEnvironmentContextsSensitive() {
+        RunEnvironment runEnvironment = new RunEnvironment(Sets.<SystemProperty>newHashSet());
+        Map<String, Value> variables = Maps.newHashMap();
+        variables.put("plain", ValueFactory.create("plain"));
+        final Context outerContext = new Context(variables);
+        Context innerContext = new Context(Maps.<String, Value>newHashMap());
+        runEnvironment.getStack().pushContext(outerContext);
+        runEnvironment.getStack().pushContext(innerContext);
+        assertFalse(runEnvironment.containsSensitiveData());
+
+        Value variable = ValueFactory.create("variable", true);
+        innerContext.putVariable("variable", variable);
+        Value languageVariable = ValueFactory.create("languageVariable", true);
+        outerContext.putLanguageVariable("languageVariable", languageVariable);
+        assertTrue(runEnvironment.containsSensitiveData());
+
+        runEnvironment.decryptSensitiveData();
+        assertEquals("variable", ((SensitiveValue) variable).getContent());
+        assertEquals("languageVariable", ((SensitiveValue) languageVariable).getContent());
+        runEnvironment.encryptSensitiveData();
+        assertEquals("{Encrypted}~1Svariable", ((SensitiveValue) variable).getContent());
+        assertEquals("{Encrypted}~1SlanguageVariable", ((SensitiveValue) languageVariable).getContent());
+        assertSame(innerContext, runEnvironment.getStack().popContext());
+        runEnvironment.getStack().pushContext(innerContext);
+
+        innerContext.putVariable("variable", ValueFactory.create("variable"));
+        outerContext.removeLanguageVariable("languageVariable");
+        assertFalse(runEnvironment.containsSensitiveData());
+    }
+
     private void testEncrypted(SystemProperty systemProperty1, SystemProperty systemProperty2,
                                Value callValue1, Value callValue2,
                                Value output1, Value output2, boolean encrypted) {
@@ -209,8 +241,8 @@ public class RunEnvironmentSensitiveTest {
         String ca2 = callValue2.get().toString();
         assertEquals("callValue2", ca2);
 
-        assertEquals(encrypted ? "{Encrypted}rO0ABXQACmNhbGxWYWx1ZTE=" : ca1, callValue1Content);
-        assertEquals(encrypted ? "{Encrypted}rO0ABXQACmNhbGxWYWx1ZTI=" : ca2, callValue2Content);
+        assertEquals(encrypted ? "{Encrypted}~1ScallValue1" : ca1, callValue1Content);
+        assertEquals(encrypted ? "{Encrypted}~1ScallValue2" : ca2, callValue2Content);
 
         final String output1Content = ((SensitiveValue) output1).getContent();
         final String output2Content = ((SensitiveValue) output2).getContent();
@@ -220,8 +252,8 @@ public class RunEnvironmentSensitiveTest {
         String o2 = output2.get().toString();
         assertEquals("output2", o2);
 
-        assertEquals(encrypted ? "{Encrypted}rO0ABXQAB291dHB1dDE=" : o1, output1Content);
-        assertEquals(encrypted ? "{Encrypted}rO0ABXQAB291dHB1dDI=" : o2, output2Content);
+        assertEquals(encrypted ? "{Encrypted}~1Soutput1" : o1, output1Content);
+        assertEquals(encrypted ? "{Encrypted}~1Soutput2" : o2, output2Content);
     }
 
     @Configuration
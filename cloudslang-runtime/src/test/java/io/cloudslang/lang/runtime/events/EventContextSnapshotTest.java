@@ -0,0 +1,188 @@
+/*******************************************************************************
+ * (c) Copyright 2016 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.lang.runtime.events;
+
+import io.cloudslang.lang.entities.ScoreLangConstants;
+import io.cloudslang.lang.entities.bindings.values.Value;
+import io.cloudslang.lang.entities.bindings.values.ValueFactory;
+import io.cloudslang.lang.entities.properties.EventVerbosityLevel;
+import io.cloudslang.lang.entities.utils.ValueUtils;
+import io.cloudslang.lang.runtime.env.RunEnvironment;
+import io.cloudslang.lang.runtime.steps.AbstractExecutionData;
+import io.cloudslang.score.lang.ExecutionRuntimeServices;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.After;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import static io.cloudslang.lang.entities.properties.SlangSystemPropertyConstant.CSLANG_RUNTIME_EVENTS_VERBOSITY;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class EventContextSnapshotTest {
+
+    private static final Long EXECUTION_ID = 1L;
+
+    private final EventContextSnapshot contextSnapshot = new EventContextSnapshot();
+    private final EventContextReconstructor contextReconstructor = new EventContextReconstructor();
+
+    private final Object stepListener = new Object();
+    private final Object actionListener = new Object();
+
+    @After
+    public void tearDown() {
+        LanguageEventSubscriptions.unsubscribe(stepListener);
+        LanguageEventSubscriptions.unsubscribe(actionListener);
+        System.clearProperty(CSLANG_RUNTIME_EVENTS_VERBOSITY.getValue());
+        LanguageEventSubscriptions.refreshVerbosityLevel();
+    }
+
+    @Test
+    public void testFirstEventHasFullContext() {
+        Map<String, Value> context = new HashMap<>();
+        context.put("var1", ValueFactory.create("value1"));
+        context.put("var2", ValueFactory.create("value2"));
+
+        LanguageEventData eventData = createEventData(context, 10);
+
+        assertEquals(LanguageEventData.ContextSnapshot.FULL, eventData.getContextSnapshot());
+        assertEquals(ValueUtils.flatten(context), eventData.getContext());
+    }
+
+    @Test
+    public void testEventHasChangedVariables() {
+        Map<String, Value> context = new HashMap<>();
+        context.put("var1", ValueFactory.create("value1"));
+        context.put("var2", ValueFactory.create("value2"));
+        context.put("var3", ValueFactory.create("value3"));
+        createEventData(context, 10);
+
+        context.put("var2", ValueFactory.create("newValue2"));
+        context.remove("var3");
+        context.put("var4", ValueFactory.create("value4"));
+        LanguageEventData eventData = createEventData(context, 10);
+
+        Map<String, String> expectedContext = new HashMap<>();
+        expectedContext.put("var2", "newValue2");
+        expectedContext.put("var4", "value4");
+        assertEquals(LanguageEventData.ContextSnapshot.DELTA, eventData.getContextSnapshot());
+        assertEquals(expectedContext, eventData.getContext());
+        assertEquals(Collections.singletonList("var3"), eventData.getRemovedContext());
+    }
+
+    @Test
+    public void testFullContextEveryInterval() {
+        Map<String, Value> context = new HashMap<>();
+        context.put("var1", ValueFactory.create("value1"));
+
+        assertEquals(LanguageEventData.ContextSnapshot.FULL, createEventData(context, 3).getContextSnapshot());
+        assertEquals(LanguageEventData.ContextSnapshot.DELTA, createEventData(context, 3).getContextSnapshot());
+        assertEquals(LanguageEventData.ContextSnapshot.DELTA, createEventData(context, 3).getContextSnapshot());
+        assertEquals(LanguageEventData.ContextSnapshot.FULL, createEventData(context, 3).getContextSnapshot());
+    }
+
+    @Test
+    public void testReconstructFullContext() {
+        Map<String, Value> context = new HashMap<>();
+        context.put("var1", ValueFactory.create("value1"));
+        context.put("var2", ValueFactory.create("value2"));
+        assertEquals(ValueUtils.flatten(context), contextReconstructor.reconstruct(createEventData(context, 3)));
+
+        context.put("var1", ValueFactory.create("newValue1"));
+        assertEquals(ValueUtils.flatten(context), contextReconstructor.reconstruct(createEventData(context, 3)));
+
+        context.remove("var2");
+        context.put("var3", ValueFactory.create("value3"));
+        assertEquals(ValueUtils.flatten(context), contextReconstructor.reconstruct(createEventData(context, 3)));
+
+        context.put("var3", ValueFactory.create("newValue3"));
+        assertEquals(ValueUtils.flatten(context), contextReconstructor.reconstruct(createEventData(context, 3)));
+    }
+
+    @Test
+    public void testReconstructDeltaWithoutFullContext() {
+        Map<String, Value> context = new HashMap<>();
+        context.put("var1", ValueFactory.create("value1"));
+        createEventData(context, 10);
+
+        context.put("var1", ValueFactory.create("newValue1"));
+
+        assertNull(contextReconstructor.reconstruct(createEventData(context, 10)));
+    }
+
+    @Test
+    public void testFullContextWhenListenersChange() {
+        Map<String, Value> context = new HashMap<>();
+        context.put("var1", ValueFactory.create("value1"));
+        LanguageEventData eventData = new LanguageEventData();
+        contextSnapshot.setContext(eventData, context, Collections.singleton(stepListener), 10);
+
+        eventData = new LanguageEventData();
+        contextSnapshot.setContext(eventData, context, Collections.singleton(actionListener), 10);
+
+        assertEquals(LanguageEventData.ContextSnapshot.FULL, eventData.getContextSnapshot());
+    }
+
+    @Test
+    public void testReconstructFullContextOfSubscribedEvents() {
+        System.setProperty(CSLANG_RUNTIME_EVENTS_VERBOSITY.getValue(), EventVerbosityLevel.DELTA.getValue());
+        LanguageEventSubscriptions.refreshVerbosityLevel();
+        LanguageEventSubscriptions.subscribe(stepListener, Collections.singleton(ScoreLangConstants.EVENT_INPUT_END));
+        LanguageEventSubscriptions.subscribe(actionListener,
+                Collections.singleton(ScoreLangConstants.EVENT_ACTION_START));
+        ExecutionRuntimeServices runtimeServices = mock(ExecutionRuntimeServices.class);
+        when(runtimeServices.getExecutionId()).thenReturn(EXECUTION_ID);
+        RunEnvironment runEnvironment = new RunEnvironment();
+
+        Map<String, Value> context = new HashMap<>();
+        context.put("var1", ValueFactory.create("value1"));
+        List<Map<String, Value>> stepContexts = new ArrayList<>();
+        String[] eventTypes = {ScoreLangConstants.EVENT_INPUT_END, ScoreLangConstants.EVENT_INPUT_END,
+            ScoreLangConstants.EVENT_ACTION_START, ScoreLangConstants.EVENT_INPUT_END};
+        for (int i = 0; i < eventTypes.length; i++) {
+            context.put("var" + i, ValueFactory.create("value" + i));
+            if (ScoreLangConstants.EVENT_INPUT_END.equals(eventTypes[i])) {
+                stepContexts.add(new HashMap<>(context));
+            }
+            AbstractExecutionData.fireEvent(runtimeServices, runEnvironment, eventTypes[i], "description",
+                    LanguageEventData.StepType.STEP, "step", context);
+        }
+
+        ArgumentCaptor<LanguageEventData> events = ArgumentCaptor.forClass(LanguageEventData.class);
+        verify(runtimeServices, times(eventTypes.length)).addEvent(anyString(), events.capture());
+        int stepEvents = 0;
+        for (LanguageEventData eventData : events.getAllValues()) {
+            // the step listener only receives the input events
+            if (ScoreLangConstants.EVENT_INPUT_END.equals(eventData.getEventType())) {
+                assertEquals(ValueUtils.flatten(stepContexts.get(stepEvents++)),
+                        contextReconstructor.reconstruct(eventData));
+            }
+        }
+        assertEquals(stepContexts.size(), stepEvents);
+    }
+
+    private LanguageEventData createEventData(Map<String, Value> context, int fullContextInterval) {
+        LanguageEventData eventData = new LanguageEventData();
+        eventData.setExecutionId(EXECUTION_ID);
+        contextSnapshot.setContext(eventData, context, null, fullContextInterval);
+        return eventData;
+    }
+}
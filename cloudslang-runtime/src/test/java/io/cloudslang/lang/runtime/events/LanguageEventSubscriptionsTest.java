@@ -0,0 +1,133 @@
+/*******************************************************************************
+ * (c) Copyright 2016 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.lang.runtime.events;
+
+import io.cloudslang.lang.entities.ScoreLangConstants;
+import io.cloudslang.lang.entities.bindings.values.Value;
+import io.cloudslang.lang.entities.bindings.values.ValueFactory;
+import io.cloudslang.lang.entities.properties.EventVerbosityLevel;
+import io.cloudslang.lang.runtime.env.RunEnvironment;
+import io.cloudslang.lang.runtime.steps.AbstractExecutionData;
+import io.cloudslang.score.lang.ExecutionRuntimeServices;
+
+import java.util.Collections;
+import java.util.Map;
+
+import org.junit.After;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import static io.cloudslang.lang.entities.properties.SlangSystemPropertyConstant.CSLANG_RUNTIME_EVENTS_SUBSCRIBED_ONLY;
+import static io.cloudslang.lang.entities.properties.SlangSystemPropertyConstant.CSLANG_RUNTIME_EVENTS_VERBOSITY;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+public class LanguageEventSubscriptionsTest {
+
+    private final Object firstListener = new Object();
+    private final Object secondListener = new Object();
+
+    @After
+    public void tearDown() {
+        LanguageEventSubscriptions.unsubscribe(firstListener);
+        LanguageEventSubscriptions.unsubscribe(secondListener);
+        System.clearProperty(CSLANG_RUNTIME_EVENTS_VERBOSITY.getValue());
+        System.clearProperty(CSLANG_RUNTIME_EVENTS_SUBSCRIBED_ONLY.getValue());
+        LanguageEventSubscriptions.refreshVerbosityLevel();
+    }
+
+    @Test
+    public void testAllEventTypesSubscribedWithoutListeners() {
+        assertTrue(LanguageEventSubscriptions.isSubscribed(ScoreLangConstants.EVENT_ACTION_START));
+        assertTrue(LanguageEventSubscriptions.isSubscribed(ScoreLangConstants.EVENT_OUTPUT_START));
+    }
+
+    @Test
+    public void testOnlySubscribedEventTypes() {
+        enableSubscribedOnly();
+        LanguageEventSubscriptions.subscribe(firstListener,
+                Collections.singleton(ScoreLangConstants.EVENT_ACTION_START));
+        LanguageEventSubscriptions.subscribe(secondListener,
+                Collections.singleton(ScoreLangConstants.EVENT_ACTION_END));
+
+        assertTrue(LanguageEventSubscriptions.isSubscribed(ScoreLangConstants.EVENT_ACTION_START));
+        assertTrue(LanguageEventSubscriptions.isSubscribed(ScoreLangConstants.EVENT_ACTION_END));
+        assertFalse(LanguageEventSubscriptions.isSubscribed(ScoreLangConstants.EVENT_OUTPUT_START));
+
+        LanguageEventSubscriptions.unsubscribe(firstListener);
+
+        assertFalse(LanguageEventSubscriptions.isSubscribed(ScoreLangConstants.EVENT_ACTION_START));
+        assertTrue(LanguageEventSubscriptions.isSubscribed(ScoreLangConstants.EVENT_ACTION_END));
+    }
+
+    @Test
+    public void testAllEventTypesSubscribedAfterLastListenerUnsubscribes() {
+        enableSubscribedOnly();
+        LanguageEventSubscriptions.subscribe(firstListener,
+                Collections.singleton(ScoreLangConstants.EVENT_ACTION_START));
+        LanguageEventSubscriptions.unsubscribe(firstListener);
+
+        assertTrue(LanguageEventSubscriptions.isSubscribed(ScoreLangConstants.EVENT_OUTPUT_START));
+    }
+
+    @Test
+    public void testEventsOfOtherTypesAreFiredWithoutContext() {
+        System.setProperty(CSLANG_RUNTIME_EVENTS_VERBOSITY.getValue(), EventVerbosityLevel.ALL.getValue());
+        enableSubscribedOnly();
+        LanguageEventSubscriptions.subscribe(firstListener,
+                Collections.singleton(ScoreLangConstants.EVENT_ACTION_START));
+        ExecutionRuntimeServices runtimeServices = mock(ExecutionRuntimeServices.class);
+        Map<String, Value> context = Collections.singletonMap("var", ValueFactory.create("value"));
+
+        AbstractExecutionData.fireEvent(runtimeServices, new RunEnvironment(), ScoreLangConstants.EVENT_ACTION_START,
+                "description", LanguageEventData.StepType.ACTION, "step", context);
+        AbstractExecutionData.fireEvent(runtimeServices, new RunEnvironment(), ScoreLangConstants.EVENT_OUTPUT_START,
+                "description", LanguageEventData.StepType.ACTION, "step", context);
+
+        ArgumentCaptor<LanguageEventData> subscribedEvent = ArgumentCaptor.forClass(LanguageEventData.class);
+        verify(runtimeServices, times(1)).addEvent(eq(ScoreLangConstants.EVENT_ACTION_START),
+                subscribedEvent.capture());
+        ArgumentCaptor<LanguageEventData> otherEvent = ArgumentCaptor.forClass(LanguageEventData.class);
+        verify(runtimeServices, times(1)).addEvent(eq(ScoreLangConstants.EVENT_OUTPUT_START), otherEvent.capture());
+        assertEquals("value", subscribedEvent.getValue().getContext().get("var"));
+        assertNotNull(otherEvent.getValue());
+        assertNull(otherEvent.getValue().getContext());
+    }
+
+    @Test
+    public void testAllEventTypesSubscribedByDefault() {
+        System.setProperty(CSLANG_RUNTIME_EVENTS_VERBOSITY.getValue(), EventVerbosityLevel.ALL.getValue());
+        LanguageEventSubscriptions.refreshVerbosityLevel();
+        LanguageEventSubscriptions.subscribe(firstListener,
+                Collections.singleton(ScoreLangConstants.EVENT_ACTION_START));
+        ExecutionRuntimeServices runtimeServices = mock(ExecutionRuntimeServices.class);
+        Map<String, Value> context = Collections.singletonMap("var", ValueFactory.create("value"));
+
+        AbstractExecutionData.fireEvent(runtimeServices, new RunEnvironment(), ScoreLangConstants.EVENT_OUTPUT_START,
+                "description", LanguageEventData.StepType.ACTION, "step", context);
+
+        assertTrue(LanguageEventSubscriptions.isSubscribed(ScoreLangConstants.EVENT_ACTION_END));
+        ArgumentCaptor<LanguageEventData> otherEvent = ArgumentCaptor.forClass(LanguageEventData.class);
+        verify(runtimeServices).addEvent(eq(ScoreLangConstants.EVENT_OUTPUT_START), otherEvent.capture());
+        assertEquals("value", otherEvent.getValue().getContext().get("var"));
+    }
+
+    private void enableSubscribedOnly() {
+        System.setProperty(CSLANG_RUNTIME_EVENTS_SUBSCRIBED_ONLY.getValue(), Boolean.TRUE.toString());
+        LanguageEventSubscriptions.refreshVerbosityLevel();
+    }
+}
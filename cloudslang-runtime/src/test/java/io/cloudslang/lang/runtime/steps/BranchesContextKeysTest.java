@@ -0,0 +1,72 @@
+/*******************************************************************************
+ * (c) Copyright 2016 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.lang.runtime.steps;
+
+import io.cloudslang.lang.entities.bindings.Output;
+import io.cloudslang.lang.entities.bindings.values.ValueFactory;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import org.junit.Test;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class BranchesContextKeysTest {
+
+    @Test
+    public void testLiteralKeysAreExtracted() {
+        assertEquals(new HashSet<>(asList("name", "int_output")), BranchesContextKeys.getReferencedKeys(outputs(
+                "${ str(map(lambda x:str(x['name']), branches_context)) }",
+                "${ branches_context[-1]['int_output'] }")));
+        assertEquals(new HashSet<>(asList("result", "+++", "result_version_mul")),
+                BranchesContextKeys.getReferencedKeys(outputs(
+                        "${str(sum(map(lambda x:int(x['result']), branches_context)))}",
+                        "${'+++'.join(map(lambda x:x['result_version_mul'], branches_context))}")));
+        assertEquals(new HashSet<>(asList("a", "b")), BranchesContextKeys.getReferencedKeys(outputs(
+                "${ [x[\"a\"] for x in branches_context if x.get('b')] }")));
+        assertEquals(new HashSet<>(asList("a", "default")), BranchesContextKeys.getReferencedKeys(outputs(
+                "${ branches_context[0].get('a', 'default') }")));
+        assertEquals(new HashSet<>(), BranchesContextKeys.getReferencedKeys(outputs()));
+    }
+
+    @Test
+    public void testWholeContextAccessKeepsAllKeys() {
+        String[] expressions = {
+            "${ str(branches_context) }",
+            "${ len(branches_context) }",
+            "${ branches_context[0] }",
+            "${ branches_context[0].keys() }",
+            "${ map(lambda x: x, branches_context) }",
+            "${ map(str, branches_context) }",
+            "${ map(lambda x: x[key], branches_context) }",
+            "${ [str(x) for x in branches_context] }",
+            "${ [v for k, v in branches_context[0].items()] }",
+            "${ reduce(lambda a, x: a + x['a'], branches_context, 0) }",
+            "${ branches_context[0].get('a' + 'b') }",
+            "${ map(lambda x: x.get('a' + str(1)), branches_context) }",
+            "${ map(lambda x: x['a' + 'b'], branches_context) }",
+            "${ str(filter(lambda b: b['x'] == '1', branches_context)) }",
+            "not_an_expression"
+        };
+        for (String expression : expressions) {
+            assertNull(expression, BranchesContextKeys.getReferencedKeys(outputs(expression)));
+        }
+    }
+
+    private List<Output> outputs(String... expressions) {
+        List<Output> outputs = new ArrayList<>();
+        for (String expression : expressions) {
+            outputs.add(new Output("output", ValueFactory.create(expression)));
+        }
+        return outputs;
+    }
+}
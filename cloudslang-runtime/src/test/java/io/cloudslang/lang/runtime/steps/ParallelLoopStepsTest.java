@@ -28,6 +28,7 @@ import io.cloudslang.lang.runtime.bindings.OutputsBinding;
 import io.cloudslang.lang.runtime.bindings.ParallelLoopBinding;
 import io.cloudslang.lang.runtime.bindings.scripts.ScriptEvaluator;
 import io.cloudslang.lang.runtime.env.Context;
+import io.cloudslang.lang.runtime.env.ParallelLoopWaves;
 import io.cloudslang.lang.runtime.env.ReturnValues;
 import io.cloudslang.lang.runtime.env.RunEnvironment;
 import io.cloudslang.lang.runtime.events.LanguageEventData;
@@ -46,6 +47,8 @@ import org.junit.Test;
 import org.junit.rules.ExpectedException;
 import org.junit.runner.RunWith;
 import org.mockito.ArgumentCaptor;
+import org.python.core.Py;
+import org.python.core.PyList;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -135,7 +138,8 @@ public class ParallelLoopStepsTest {
             1234L,
             5L,
             branchBeginStepId,
-            refId
+            refId,
+            null
         );
 
         // verify expected behaviour
@@ -159,6 +163,84 @@ public class ParallelLoopStepsTest {
         Assert.assertEquals(5, (long) runEnvironment.removeNextStepPosition());
     }
 
+    @Test
+    public void testBranchesDoNotShareState() throws Exception {
+        ListLoopStatement parallelLoopStatement = new ListLoopStatement("varName", "expression",
+            new HashSet<ScriptFunction>(), new HashSet<String>(), true);
+
+        RunEnvironment runEnvironment = new RunEnvironment();
+        Map<String, Value> variables = new HashMap<>();
+        variables.put("shared", ValueFactory.create("value"));
+        Context context = new Context(variables);
+        runEnvironment.getStack().pushContext(context);
+
+        ExecutionRuntimeServices executionRuntimeServices = mock(ExecutionRuntimeServices.class);
+        when(parallelLoopBinding.bindParallelLoopList(eq(parallelLoopStatement),
+            eq(context), eq(runEnvironment.getSystemProperties()), eq("nodeName")))
+            .thenReturn(newArrayList(ValueFactory.create(1), ValueFactory.create(2)));
+
+        parallelLoopSteps.addBranches(parallelLoopStatement, runEnvironment, executionRuntimeServices, "nodeName",
+            1234L, 5L, 3L, "branch_id", null);
+
+        ArgumentCaptor<Map> branchContextArgumentCaptor = ArgumentCaptor.forClass(Map.class);
+        //noinspection unchecked
+        verify(executionRuntimeServices, times(2))
+            .addBranch(eq(3L), eq("branch_id"), branchContextArgumentCaptor.capture());
+        List<Map> branchContexts = branchContextArgumentCaptor.getAllValues();
+        RunEnvironment branch1 = (RunEnvironment) branchContexts.get(0).get(ScoreLangConstants.RUN_ENV);
+        RunEnvironment branch2 = (RunEnvironment) branchContexts.get(1).get(ScoreLangConstants.RUN_ENV);
+
+        Assert.assertEquals("0.0.0", branch1.getExecutionPath().getCurrentPath());
+        Assert.assertEquals("0.1.0", branch2.getExecutionPath().getCurrentPath());
+        Assert.assertEquals("0.2", runEnvironment.getExecutionPath().getCurrentPath());
+
+        Context branchContext1 = branch1.getStack().popContext();
+        Context branchContext2 = branch2.getStack().popContext();
+        branchContext1.putVariable("shared", ValueFactory.create("changed"));
+        Assert.assertEquals(ValueFactory.create("value"), branchContext2.getVariable("shared"));
+        Assert.assertEquals(ValueFactory.create("value"),
+            runEnvironment.getStack().popContext().getVariable("shared"));
+        Assert.assertEquals(ValueFactory.create(2), branchContext2.getVariable("varName"));
+        Assert.assertNull(runEnvironment.getStack().popContext());
+    }
+
+    @Test
+    public void testBranchesDoNotShareMutableValues() throws Exception {
+        final ListLoopStatement parallelLoopStatement = new ListLoopStatement("varName", "expression",
+            new HashSet<ScriptFunction>(), new HashSet<String>(), true);
+
+        RunEnvironment runEnvironment = new RunEnvironment();
+        PyList items = new PyList();
+        items.append(Py.newString("item"));
+        Map<String, Value> variables = new HashMap<>();
+        variables.put("items", ValueFactory.createPyObjectValue(items, false, false));
+        Context context = new Context(variables);
+        runEnvironment.getStack().pushContext(context);
+
+        ExecutionRuntimeServices executionRuntimeServices = mock(ExecutionRuntimeServices.class);
+        when(parallelLoopBinding.bindParallelLoopList(eq(parallelLoopStatement),
+            eq(context), eq(runEnvironment.getSystemProperties()), eq("nodeName")))
+            .thenReturn(newArrayList(ValueFactory.create(1), ValueFactory.create(2)));
+
+        parallelLoopSteps.addBranches(parallelLoopStatement, runEnvironment, executionRuntimeServices, "nodeName",
+            1234L, 5L, 3L, "branch_id", null);
+
+        ArgumentCaptor<Map> branchContextArgumentCaptor = ArgumentCaptor.forClass(Map.class);
+        //noinspection unchecked
+        verify(executionRuntimeServices, times(2))
+            .addBranch(eq(3L), eq("branch_id"), branchContextArgumentCaptor.capture());
+        List<Map> branchContexts = branchContextArgumentCaptor.getAllValues();
+        RunEnvironment branch1 = (RunEnvironment) branchContexts.get(0).get(ScoreLangConstants.RUN_ENV);
+        RunEnvironment branch2 = (RunEnvironment) branchContexts.get(1).get(ScoreLangConstants.RUN_ENV);
+
+        PyList branchItems1 = (PyList) branch1.getStack().popContext().getVariable("items").get();
+        branchItems1.append(Py.newString("added"));
+
+        Assert.assertEquals(2, branchItems1.size());
+        Assert.assertEquals(1, ((PyList) branch2.getStack().popContext().getVariable("items").get()).size());
+        Assert.assertEquals(1, ((PyList) runEnvironment.getStack().popContext().getVariable("items").get()).size());
+    }
+
     @Test
     public void testAddBranchesEventsAreFired() throws Exception {
         // prepare arguments
@@ -191,7 +273,8 @@ public class ParallelLoopStepsTest {
             1234L,
             5L,
             branchBeginStepId,
-            refId
+            refId,
+            null
         );
 
         // verify expected behaviour
@@ -249,7 +332,7 @@ public class ParallelLoopStepsTest {
 
         // call method
         parallelLoopSteps.joinBranches(runEnvironment, executionRuntimeServices,
-            stepPublishValues, stepNavigationValues, nodeName);
+            stepPublishValues, stepNavigationValues, nodeName, 2L);
 
         // verify expected behaviour
         ArgumentCaptor<Map> aggregateContextArgumentCaptor = ArgumentCaptor.forClass(Map.class);
@@ -273,6 +356,98 @@ public class ParallelLoopStepsTest {
         Assert.assertEquals(expectedBranchContexts, actualBranchesContexts);
     }
 
+    @Test
+    public void testJoinBranchesKeepsOnlyPublishedVariables() throws Exception {
+        RunEnvironment runEnvironment = new RunEnvironment();
+        runEnvironment.getExecutionPath().down();
+        runEnvironment.getStack().pushContext(new Context(new HashMap<String, Value>()));
+
+        Map<String, ResultNavigation> stepNavigationValues = new HashMap<>();
+        stepNavigationValues.put(SUCCESS_RESULT, new ResultNavigation(0L, SUCCESS_RESULT));
+
+        Map<String, Serializable> runtimeContext1 = new HashMap<>();
+        runtimeContext1.put("name", "john");
+        runtimeContext1.put("unused", "value");
+        runtimeContext1.put(ScoreLangConstants.BRANCH_RESULT_KEY, SUCCESS_RESULT);
+        Map<String, Serializable> runtimeContext2 = new HashMap<>();
+        runtimeContext2.put("name", "jane");
+        runtimeContext2.put("unused", "value");
+        runtimeContext2.put(ScoreLangConstants.BRANCH_RESULT_KEY, SUCCESS_RESULT);
+        Map<String, Serializable> runtimeContext3 = new HashMap<>();
+        runtimeContext3.put("unused", "value");
+        runtimeContext3.put(ScoreLangConstants.BRANCH_RESULT_KEY, SUCCESS_RESULT);
+
+        List<Output> stepPublishValues = newArrayList(new Output("names",
+            ValueFactory.create("${ str(map(lambda x:str(x['name']), branches_context)) }")));
+        ExecutionRuntimeServices executionRuntimeServices =
+            createAndConfigureExecutionRuntimeServicesMock(runtimeContext1, runtimeContext2, runtimeContext3);
+
+        parallelLoopSteps.joinBranches(runEnvironment, executionRuntimeServices,
+            stepPublishValues, stepNavigationValues, "nodeName", 2L);
+
+        ArgumentCaptor<Map> aggregateContextArgumentCaptor = ArgumentCaptor.forClass(Map.class);
+        //noinspection unchecked
+        verify(outputsBinding).bindOutputs(
+            aggregateContextArgumentCaptor.capture(),
+            eq(runEnvironment.getSystemProperties()),
+            eq(stepPublishValues)
+        );
+        runtimeContext1.remove("unused");
+        runtimeContext2.remove("unused");
+        runtimeContext3.remove("unused");
+        @SuppressWarnings("unchecked")
+        List<Map<String, Serializable>> actualBranchesContexts = (List<Map<String, Serializable>>)
+            ((Map<String, Value>) aggregateContextArgumentCaptor.getValue())
+                .get(RuntimeConstants.BRANCHES_CONTEXT_KEY).get();
+        Assert.assertEquals(newArrayList(runtimeContext1, runtimeContext2, runtimeContext3),
+            actualBranchesContexts);
+    }
+
+    @Test
+    public void testJoinBranchesKeepsWholeContextsForFilter() throws Exception {
+        RunEnvironment runEnvironment = new RunEnvironment();
+        runEnvironment.getExecutionPath().down();
+        runEnvironment.getStack().pushContext(new Context(new HashMap<String, Value>()));
+
+        Map<String, ResultNavigation> stepNavigationValues = new HashMap<>();
+        stepNavigationValues.put(SUCCESS_RESULT, new ResultNavigation(0L, SUCCESS_RESULT));
+
+        Map<String, Serializable> runtimeContext1 = new HashMap<>();
+        runtimeContext1.put("name", "john");
+        runtimeContext1.put("unused", "value");
+        runtimeContext1.put(ScoreLangConstants.BRANCH_RESULT_KEY, SUCCESS_RESULT);
+        Map<String, Serializable> runtimeContext2 = new HashMap<>();
+        runtimeContext2.put("name", "jane");
+        runtimeContext2.put("unused", "value");
+        runtimeContext2.put(ScoreLangConstants.BRANCH_RESULT_KEY, SUCCESS_RESULT);
+        Map<String, Serializable> runtimeContext3 = new HashMap<>();
+        runtimeContext3.put("unused", "value");
+        runtimeContext3.put(ScoreLangConstants.BRANCH_RESULT_KEY, SUCCESS_RESULT);
+
+        // filter returns the branch contexts themselves, so they are published whole
+        List<Output> stepPublishValues = newArrayList(new Output("johns",
+            ValueFactory.create("${ str(filter(lambda x: x['name'] == 'john', branches_context)) }")));
+        ExecutionRuntimeServices executionRuntimeServices =
+            createAndConfigureExecutionRuntimeServicesMock(runtimeContext1, runtimeContext2, runtimeContext3);
+
+        parallelLoopSteps.joinBranches(runEnvironment, executionRuntimeServices,
+            stepPublishValues, stepNavigationValues, "nodeName", 2L);
+
+        ArgumentCaptor<Map> aggregateContextArgumentCaptor = ArgumentCaptor.forClass(Map.class);
+        //noinspection unchecked
+        verify(outputsBinding).bindOutputs(
+            aggregateContextArgumentCaptor.capture(),
+            eq(runEnvironment.getSystemProperties()),
+            eq(stepPublishValues)
+        );
+        @SuppressWarnings("unchecked")
+        List<Map<String, Serializable>> actualBranchesContexts = (List<Map<String, Serializable>>)
+            ((Map<String, Value>) aggregateContextArgumentCaptor.getValue())
+                .get(RuntimeConstants.BRANCHES_CONTEXT_KEY).get();
+        Assert.assertEquals(newArrayList(runtimeContext1, runtimeContext2, runtimeContext3),
+            actualBranchesContexts);
+    }
+
     @Test
     public void testJoinBranchesNavigationAllBranchesSucced() throws Exception {
         // prepare arguments
@@ -313,7 +488,8 @@ public class ParallelLoopStepsTest {
             executionRuntimeServices,
             stepPublishValues,
             stepNavigationValues,
-            nodeName
+            nodeName,
+            2L
         );
 
         // verify expected behaviour
@@ -373,7 +549,8 @@ public class ParallelLoopStepsTest {
             executionRuntimeServices,
             stepPublishValues,
             stepNavigationValues,
-            nodeName
+            nodeName,
+            2L
         );
 
         // verify expected behaviour
@@ -424,7 +601,8 @@ public class ParallelLoopStepsTest {
             executionRuntimeServices,
             stepPublishValues,
             stepNavigationValues,
-            nodeName
+            nodeName,
+            2L
         );
 
         // verify expected behaviour
@@ -462,10 +640,79 @@ public class ParallelLoopStepsTest {
             executionRuntimeServices,
             new ArrayList<Output>(0),
             new HashMap<String, ResultNavigation>(),
-            "nodeName"
+            "nodeName",
+            2L
         );
     }
 
+    @Test
+    public void testBranchesRunInWavesWithMaxConcurrency() throws Exception {
+        ListLoopStatement parallelLoopStatement = new ListLoopStatement("varName", "expression",
+            new HashSet<ScriptFunction>(), new HashSet<String>(), true);
+
+        RunEnvironment runEnvironment = new RunEnvironment();
+        Context context = new Context(new HashMap<String, Value>());
+        runEnvironment.getStack().pushContext(context);
+
+        List<Value> splitData = newArrayList(ValueFactory.create(1), ValueFactory.create(2),
+            ValueFactory.create(3), ValueFactory.create(4), ValueFactory.create(5));
+        when(parallelLoopBinding.bindParallelLoopList(eq(parallelLoopStatement),
+            eq(context), eq(runEnvironment.getSystemProperties()), eq("nodeName")))
+            .thenReturn(splitData);
+
+        Map<String, ResultNavigation> stepNavigationValues = new HashMap<>();
+        stepNavigationValues.put(SUCCESS_RESULT, new ResultNavigation(7L, null));
+        List<Output> stepPublishValues = newArrayList(new Output("outputName", ValueFactory.create("expression")));
+
+        List<String> branchPaths = newArrayList();
+        List<Value> branchItems = newArrayList();
+        for (int wave = 0; wave < 3; wave++) {
+            ExecutionRuntimeServices addBranchesServices = mock(ExecutionRuntimeServices.class);
+            parallelLoopSteps.addBranches(parallelLoopStatement, runEnvironment, addBranchesServices, "nodeName",
+                1234L, 5L, 3L, "branch_id", 2);
+            Assert.assertEquals(5, (long) runEnvironment.removeNextStepPosition());
+
+            ArgumentCaptor<Map> branchContextArgumentCaptor = ArgumentCaptor.forClass(Map.class);
+            //noinspection unchecked
+            verify(addBranchesServices, times(wave < 2 ? 2 : 1))
+                .addBranch(eq(3L), eq("branch_id"), branchContextArgumentCaptor.capture());
+            List<EndBranchDataContainer> finishedBranches = newArrayList();
+            for (Map branchContext : branchContextArgumentCaptor.getAllValues()) {
+                RunEnvironment branchRunEnvironment = (RunEnvironment) branchContext.get(ScoreLangConstants.RUN_ENV);
+                branchPaths.add(branchRunEnvironment.getExecutionPath().getCurrentPath());
+                Context branchFlowContext = branchRunEnvironment.getStack().popContext();
+                branchItems.add(branchFlowContext.getVariable("varName"));
+                branchRunEnvironment.getStack().pushContext(branchFlowContext);
+                branchRunEnvironment.putReturnValues(new ReturnValues(new HashMap<String, Value>(), SUCCESS_RESULT));
+                //noinspection unchecked
+                finishedBranches.add(new EndBranchDataContainer(branchContext, new HashMap<String, Serializable>(),
+                    null));
+            }
+
+            ExecutionRuntimeServices joinBranchesServices = mock(ExecutionRuntimeServices.class);
+            when(joinBranchesServices.getFinishedChildBranchesData()).thenReturn(finishedBranches);
+            parallelLoopSteps.joinBranches(runEnvironment, joinBranchesServices, stepPublishValues,
+                stepNavigationValues, "nodeName", 2L);
+        }
+
+        verify(parallelLoopBinding, times(1)).bindParallelLoopList(eq(parallelLoopStatement),
+            eq(context), eq(runEnvironment.getSystemProperties()), eq("nodeName"));
+        Assert.assertEquals(newArrayList("0.0.0", "0.1.0", "0.2.0", "0.3.0", "0.4.0"), branchPaths);
+        Assert.assertEquals(splitData, branchItems);
+
+        ArgumentCaptor<Map> aggregateContextArgumentCaptor = ArgumentCaptor.forClass(Map.class);
+        //noinspection unchecked
+        verify(outputsBinding, times(1)).bindOutputs(aggregateContextArgumentCaptor.capture(),
+            eq(runEnvironment.getSystemProperties()), eq(stepPublishValues));
+        List branchesContext =
+            (List) ((Value) aggregateContextArgumentCaptor.getValue().get(RuntimeConstants.BRANCHES_CONTEXT_KEY)).get();
+        Assert.assertEquals(5, branchesContext.size());
+        Assert.assertEquals(7, (long) runEnvironment.removeNextStepPosition());
+        Assert.assertEquals("1", runEnvironment.getExecutionPath().getCurrentPath());
+        Assert.assertNull(runEnvironment.getStack().popContext()
+            .getLanguageVariable(ParallelLoopWaves.PARALLEL_LOOP_WAVES_KEY));
+    }
+
     private ExecutionRuntimeServices createAndConfigureExecutionRuntimeServicesMock(
         Map<String, Serializable> runtimeContext1,
         Map<String, Serializable> runtimeContext2,
@@ -19,6 +19,7 @@ import io.cloudslang.lang.entities.bindings.values.Value;
 import io.cloudslang.lang.entities.bindings.values.ValueFactory;
 import io.cloudslang.lang.entities.properties.EventVerbosityLevel;
 import io.cloudslang.lang.runtime.events.LanguageEventData;
+import io.cloudslang.lang.runtime.events.LanguageEventSubscriptions;
 import io.cloudslang.score.events.ScoreEvent;
 import org.apache.commons.collections4.MapUtils;
 import org.junit.After;
@@ -117,12 +118,14 @@ public class EventDataTest extends SystemsTestsParent {
     public void tearDown() throws Exception {
         // do not store context in events
         System.setProperty(CSLANG_RUNTIME_EVENTS_VERBOSITY.getValue(), EventVerbosityLevel.DEFAULT.getValue());
+        LanguageEventSubscriptions.refreshVerbosityLevel();
     }
 
     @Test(timeout = DEFAULT_TIMEOUT)
     public void testEventDataNoContext() throws Exception {
         // do not store context in events
         System.setProperty(CSLANG_RUNTIME_EVENTS_VERBOSITY.getValue(), EventVerbosityLevel.DEFAULT.getValue());
+        LanguageEventSubscriptions.refreshVerbosityLevel();
 
         Map<String, Value> inputs = new HashMap<>();
         inputs.put("flow01_input01", ValueFactory.create("xyz"));
@@ -142,6 +145,7 @@ public class EventDataTest extends SystemsTestsParent {
     public void testEventDataWithContext() throws Exception {
         // store context in events
         System.setProperty(CSLANG_RUNTIME_EVENTS_VERBOSITY.getValue(), EventVerbosityLevel.ALL.getValue());
+        LanguageEventSubscriptions.refreshVerbosityLevel();
 
         Map<String, Value> inputs = new HashMap<>();
         inputs.put("flow01_input01", ValueFactory.create("xyz"));
@@ -192,6 +196,7 @@ public class EventDataTest extends SystemsTestsParent {
     public void testEventDataWithException() throws Exception {
         // store context in events
         System.setProperty(CSLANG_RUNTIME_EVENTS_VERBOSITY.getValue(), EventVerbosityLevel.ALL.getValue());
+        LanguageEventSubscriptions.refreshVerbosityLevel();
 
         Map<String, Value> inputs = new HashMap<>();
         inputs.put("flow01_input01", ValueFactory.create("xyz"));
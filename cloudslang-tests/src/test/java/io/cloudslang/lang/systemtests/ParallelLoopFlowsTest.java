@@ -110,6 +110,29 @@ public class ParallelLoopFlowsTest extends SystemsTestsParent {
         verifyPublishValues(runtimeInformation, expectedNameOutputs);
     }
 
+    @Test
+    public void testFlowWithParallelLoopMaxConcurrency() throws Exception {
+        URI resource = getClass().getResource("/yaml/loops/parallel_loop/parallel_loop_max_concurrency.sl").toURI();
+        URI operation1 = getClass().getResource("/yaml/loops/parallel_loop/print_branch.sl").toURI();
+        Set<SlangSource> path = newHashSet(fromFile(operation1));
+
+        RuntimeInformation runtimeInformation = triggerWithData(fromFile(resource), path);
+
+        List<StepData> branchesData = extractParallelLoopData(runtimeInformation);
+        Assert.assertEquals("incorrect number of branches", 5, branchesData.size());
+
+        StepData parallelLoopStep = runtimeInformation.getParallelSteps().get(FIRST_STEP_PATH);
+        List<String> actualPublishNames =
+                getArrayListFromString((String) parallelLoopStep.getOutputs().get("name_list"));
+        // the branches of a wave finish in any order, the waves are aggregated in order
+        Assert.assertEquals(5, actualPublishNames.size());
+        Assert.assertTrue(containsSameElementsWithoutOrdering(
+                Lists.newArrayList(BRANCH_MESSAGE + 1, BRANCH_MESSAGE + 2), actualPublishNames.subList(0, 2)));
+        Assert.assertTrue(containsSameElementsWithoutOrdering(
+                Lists.newArrayList(BRANCH_MESSAGE + 3, BRANCH_MESSAGE + 4), actualPublishNames.subList(2, 4)));
+        Assert.assertEquals(BRANCH_MESSAGE + 5, actualPublishNames.get(4));
+    }
+
     @Test
     public void testFlowBranchResults() throws Exception {
         URI resource = getClass().getResource("/yaml/loops/parallel_loop/parallel_loop_branch_result.sl").toURI();
@@ -19,6 +19,7 @@ import io.cloudslang.lang.entities.SystemProperty;
 import io.cloudslang.lang.entities.bindings.values.SensitiveValue;
 import io.cloudslang.lang.entities.bindings.values.Value;
 import io.cloudslang.lang.entities.properties.EventVerbosityLevel;
+import io.cloudslang.lang.runtime.events.LanguageEventSubscriptions;
 import io.cloudslang.runtime.api.sequential.SequentialExecutionService;
 import io.cloudslang.runtime.impl.python.PythonExecutionCachedEngine;
 import io.cloudslang.score.events.ScoreEvent;
@@ -102,6 +103,7 @@ public abstract class SystemsTestsParent {
         assertNull("python.executor.engine was configured before this test!!!!!!!", provideralAlreadyConfigured);
 
         System.setProperty(CSLANG_RUNTIME_EVENTS_VERBOSITY.getValue(), EventVerbosityLevel.DEFAULT.getValue());
+        LanguageEventSubscriptions.refreshVerbosityLevel();
         System.setProperty("use.jython.expressions", "true");
     }
 